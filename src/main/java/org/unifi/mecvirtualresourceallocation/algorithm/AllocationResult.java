@@ -0,0 +1,212 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.Collections;
+import java.util.Set;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+/**
+ * This class represents the outcome of an allocation together with the statistics of the run that
+ * produced it: the selected conflict graph vertices and the corresponding {@link Placement}, the
+ * total weight of the selection, the time spent in each phase and the counters of the local search.
+ *
+ * <p>The times are wall-clock nanoseconds measured with {@link System#nanoTime()} at the phase
+ * boundaries only. A phase that a strategy does not run, or does not measure separately, has a time
+ * of zero; the total time always covers the whole allocation. The counters are zero for strategies
+ * without a local search phase.
+ */
+public final class AllocationResult {
+
+  private final Set<Vertex> vertices;
+  private final Placement placement;
+  private final double totalWeight;
+  private final long buildNanos;
+  private final long greedyNanos;
+  private final long localSearchNanos;
+  private final long totalNanos;
+  private final long examinedClaws;
+  private final long appliedSwaps;
+  private final int peakWorkingSetSize;
+  private final boolean complete;
+
+  /**
+   * Constructs an allocation result.
+   *
+   * @param vertices the selected conflict graph vertices
+   * @param placement the placement formed by the hyperedges of the selected vertices
+   * @param buildNanos the time spent building the conflict graph and its adjacency index
+   * @param greedyNanos the time spent computing the initial independent set
+   * @param localSearchNanos the time spent improving the independent set by local search
+   * @param totalNanos the time spent on the whole allocation
+   * @param examinedClaws the number of complete claws whose weight was evaluated
+   * @param appliedSwaps the number of improving claws swapped into the independent set
+   * @param peakWorkingSetSize the largest number of vertices waiting for a claw search at once
+   * @param complete whether the allocation ran to completion
+   */
+  AllocationResult(
+      Set<Vertex> vertices,
+      Placement placement,
+      long buildNanos,
+      long greedyNanos,
+      long localSearchNanos,
+      long totalNanos,
+      long examinedClaws,
+      long appliedSwaps,
+      int peakWorkingSetSize,
+      boolean complete) {
+    this.vertices = Collections.unmodifiableSet(vertices);
+    this.placement = placement;
+    double weight = 0;
+    for (Vertex vertex : vertices) {
+      weight += vertex.getWeight().doubleValue();
+    }
+    this.totalWeight = weight;
+    this.buildNanos = buildNanos;
+    this.greedyNanos = greedyNanos;
+    this.localSearchNanos = localSearchNanos;
+    this.totalNanos = totalNanos;
+    this.examinedClaws = examinedClaws;
+    this.appliedSwaps = appliedSwaps;
+    this.peakWorkingSetSize = peakWorkingSetSize;
+    this.complete = complete;
+  }
+
+  /**
+   * Gets the selected conflict graph vertices, as returned by {@link
+   * AllocationStrategy#allocate(org.unifi.mecvirtualresourceallocation.graph.HyperGraph)}.
+   *
+   * @return an unmodifiable set of the selected vertices
+   */
+  public Set<Vertex> getVertices() {
+    return vertices;
+  }
+
+  /**
+   * Gets the placement formed by the selected hyperedges.
+   *
+   * @return the placement
+   */
+  public Placement getPlacement() {
+    return placement;
+  }
+
+  /**
+   * Gets the selected hyperedges.
+   *
+   * @return an unmodifiable set of the selected hyperedges
+   */
+  public Set<HyperEdge> getHyperEdges() {
+    return placement.getHyperEdges();
+  }
+
+  /**
+   * Gets the total weight of the selected hyperedges, that is, the energy of the placement.
+   *
+   * @return the total weight
+   */
+  public double getTotalWeight() {
+    return totalWeight;
+  }
+
+  /**
+   * Gets the time spent building the conflict graph and its adjacency index, which is close to zero
+   * when the hypergraph already had them cached.
+   *
+   * @return the build time in nanoseconds
+   */
+  public long getBuildNanos() {
+    return buildNanos;
+  }
+
+  /**
+   * Gets the time spent computing the initial independent set greedily.
+   *
+   * @return the greedy phase time in nanoseconds
+   */
+  public long getGreedyNanos() {
+    return greedyNanos;
+  }
+
+  /**
+   * Gets the time spent improving the independent set by local search.
+   *
+   * @return the local search phase time in nanoseconds
+   */
+  public long getLocalSearchNanos() {
+    return localSearchNanos;
+  }
+
+  /**
+   * Gets the time spent on the whole allocation, including the phases not measured separately.
+   *
+   * @return the total time in nanoseconds
+   */
+  public long getTotalNanos() {
+    return totalNanos;
+  }
+
+  /**
+   * Gets the number of complete claws whose weight was evaluated by the local search.
+   *
+   * @return the number of examined claws
+   */
+  public long getExaminedClaws() {
+    return examinedClaws;
+  }
+
+  /**
+   * Gets the number of improving claws swapped into the independent set by the local search.
+   *
+   * @return the number of applied swaps
+   */
+  public long getAppliedSwaps() {
+    return appliedSwaps;
+  }
+
+  /**
+   * Gets the largest number of independent set vertices waiting for a claw search at the same time
+   * during the local search.
+   *
+   * @return the peak size of the working set
+   */
+  public int getPeakWorkingSetSize() {
+    return peakWorkingSetSize;
+  }
+
+  /**
+   * Checks if the allocation ran to completion, rather than being stopped by its time budget or by
+   * an interruption. An incomplete result is still a valid placement, but it may not be a local
+   * optimum.
+   *
+   * @return true if the allocation is complete, false otherwise
+   */
+  public boolean isComplete() {
+    return complete;
+  }
+
+  @Override
+  public String toString() {
+    return "AllocationResult{"
+        + "hyperEdges="
+        + vertices.size()
+        + ", totalWeight="
+        + totalWeight
+        + ", buildNanos="
+        + buildNanos
+        + ", greedyNanos="
+        + greedyNanos
+        + ", localSearchNanos="
+        + localSearchNanos
+        + ", totalNanos="
+        + totalNanos
+        + ", examinedClaws="
+        + examinedClaws
+        + ", appliedSwaps="
+        + appliedSwaps
+        + ", peakWorkingSetSize="
+        + peakWorkingSetSize
+        + ", complete="
+        + complete
+        + '}';
+  }
+}
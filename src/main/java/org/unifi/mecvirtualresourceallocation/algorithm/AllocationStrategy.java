@@ -2,6 +2,7 @@ package org.unifi.mecvirtualresourceallocation.algorithm;
 
 import java.util.HashSet;
 import java.util.Set;
+import org.unifi.mecvirtualresourceallocation.graph.CompactHyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
 import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.Vertex;
@@ -17,8 +18,59 @@ public interface AllocationStrategy {
    */
   Set<Vertex> allocate(HyperGraph hyperGraph);
 
+  /**
+   * Allocates resources on a compact hypergraph, such as one memory-mapped from a {@link
+   * org.unifi.mecvirtualresourceallocation.graph.HyperGraphFile}. The default implementation
+   * converts it into a {@link HyperGraph} first; strategies that can work on the compact incidences
+   * directly override this method to avoid the copy.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  default Set<Vertex> allocate(CompactHyperGraph hyperGraph) {
+    return allocate(hyperGraph.toHyperGraph());
+  }
+
+  /**
+   * Allocates resources and reports the statistics of the run. The default implementation only
+   * measures the total time of {@link #allocate(HyperGraph)}; strategies made of separate phases
+   * override this method to time each of them and to report their counters.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the result of the allocation
+   */
+  default AllocationResult solve(HyperGraph hyperGraph) {
+    long startTime = System.nanoTime();
+    Set<Vertex> vertices = allocate(hyperGraph);
+    long totalNanos = System.nanoTime() - startTime;
+    return new AllocationResult(
+        vertices,
+        new Placement(getHyperEdges(hyperGraph, vertices)),
+        0,
+        0,
+        0,
+        totalNanos,
+        0,
+        0,
+        0,
+        true);
+  }
+
+  /**
+   * Allocates resources and returns the resulting placement, which refers to the selected
+   * hyperedges of the hypergraph directly.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the placement selected by the allocation strategy
+   */
+  default Placement place(HyperGraph hyperGraph) {
+    return new Placement(getHyperEdges(hyperGraph, allocate(hyperGraph)));
+  }
+
   /**
    * Gets the hyperedges in the hypergraph associated with the given vertices in the conflict graph.
+   * Each vertex is looked up by ID in the hypergraph, so the cost is linear in the number of
+   * vertices.
    *
    * @param hyperGraph the hypergraph
    * @param vertices the set of vertices
@@ -26,13 +78,10 @@ public interface AllocationStrategy {
    */
   default Set<HyperEdge> getHyperEdges(HyperGraph hyperGraph, Set<Vertex> vertices) {
     Set<HyperEdge> resultingHyperEdges = new HashSet<>();
-    Set<HyperEdge> hyperEdges = hyperGraph.getHyperEdges();
-
     for (Vertex vertex : vertices) {
-      for (HyperEdge hyperedge : hyperEdges) {
-        if (vertex.getId().equals(hyperedge.getId())) {
-          resultingHyperEdges.add(hyperedge);
-        }
+      HyperEdge hyperEdge = hyperGraph.getHyperEdgeFromId(vertex.getIntId());
+      if (hyperEdge != null) {
+        resultingHyperEdges.add(hyperEdge);
       }
     }
     return resultingHyperEdges;
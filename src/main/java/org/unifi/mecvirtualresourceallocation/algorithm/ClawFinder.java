@@ -0,0 +1,300 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.Arrays;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+
+/**
+ * Searches for improving claws around the vertices of an independent set. The search works on the
+ * dense indices of an {@link AdjacencyIndex}: the neighbours of every vertex are pre-sorted by
+ * increasing weight into primitive arrays, and candidate claws are enumerated by index-based
+ * recursion into scratch buffers that are reused from one search to the next.
+ *
+ * <p>Branches are pruned with a bound on the weight a claw can still save. Every vertex a claw
+ * displaces from the independent set is a neighbour of one of its vertices, and therefore a
+ * neighbour of a neighbour of the centre. A partial claw whose weight, plus the lightest weights
+ * that the remaining candidates could still add, already reaches the weight of all the independent
+ * set vertices around the centre cannot become improving, and neither can any later sibling, since
+ * the candidates are sorted.
+ *
+ * <p>The searches can be given a time budget. The clock and the interrupt status of the allocating
+ * thread are read once every {@value #CHECK_INTERVAL} candidates, and once the budget is exhausted
+ * or the thread is interrupted every search fails immediately, leaving the independent set as it
+ * was after the last swap.
+ */
+final class ClawFinder {
+
+  private static final int DELTA = 0;
+  private static final int SLACK = 1;
+  private static final int TEST = 2;
+  private static final int CHECK_INTERVAL = 1024;
+
+  private final AdjacencyIndex adjacencyIndex;
+  private final int[][] sortedNeighbours;
+  private final WeightColumn weights;
+  private final boolean[] independent;
+  private final int delta;
+
+  private final int[] claw;
+  private int clawSize;
+  private int[] removed;
+  private int removedSize;
+  private final int[] marks;
+  private int mark;
+  private long examinedClaws;
+  private long startNanos;
+  private long budgetNanos;
+  private boolean limited;
+  private Thread thread;
+  private int steps = -1;
+  private boolean stopped;
+
+  /**
+   * Constructs a claw finder.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param sortedNeighbours the neighbours of each vertex, sorted by increasing weight
+   * @param weights the weights of the conflict graph vertices
+   * @param independent the membership flags of the independent set, read during the search
+   * @param delta the delta (δ) value used, which is the maximum size of a claw
+   */
+  ClawFinder(
+      AdjacencyIndex adjacencyIndex,
+      int[][] sortedNeighbours,
+      WeightColumn weights,
+      boolean[] independent,
+      int delta) {
+    this.adjacencyIndex = adjacencyIndex;
+    this.sortedNeighbours = sortedNeighbours;
+    this.weights = weights;
+    this.independent = independent;
+    this.delta = delta;
+    this.claw = new int[Math.max(delta, 0)];
+    this.removed = new int[16];
+    this.marks = new int[adjacencyIndex.size()];
+  }
+
+  /**
+   * Searches for an improving claw centred on the given independent set vertex, trying claws of
+   * size 2 up to delta (δ) and stopping at the first improving one. When a claw is found, its
+   * vertices and the independent set vertices it displaces are available through {@link #getClaw()}
+   * and {@link #getRemoved()}.
+   *
+   * @param centre the index of the independent set vertex
+   * @return true if an improving claw was found, false otherwise, in particular once the searches
+   *     have been stopped
+   */
+  boolean find(int centre) {
+    if (shouldStop()) {
+      return false;
+    }
+    int[] candidates = sortedNeighbours[centre];
+    weights.clear(SLACK);
+    nextMark();
+    for (int candidate : candidates) {
+      for (int neighbour : sortedNeighbours[candidate]) {
+        if (independent[neighbour] && marks[neighbour] != mark) {
+          marks[neighbour] = mark;
+          weights.subtract(SLACK, neighbour);
+        }
+      }
+    }
+
+    for (int phi = 2; phi <= delta; phi++) {
+      clawSize = 0;
+      if (generateClaw(candidates, 0, phi)) {
+        return true;
+      }
+    }
+    clawSize = 0;
+    removedSize = 0;
+    return false;
+  }
+
+  /**
+   * Limits the time the searches may take and makes them stop when the given thread is interrupted.
+   * The budget is shared by all the following searches.
+   *
+   * @param startNanos the value of {@link System#nanoTime()} the budget is counted from
+   * @param budgetNanos the budget in nanoseconds
+   * @param thread the thread whose interruption cancels the searches, which is the thread that
+   *     requested the allocation even when the searches run on a pool
+   */
+  void setTimeBudget(long startNanos, long budgetNanos, Thread thread) {
+    this.startNanos = startNanos;
+    this.budgetNanos = budgetNanos;
+    this.thread = thread;
+    this.limited = true;
+  }
+
+  /**
+   * Checks whether the searches must stop, reading the clock and the interrupt status of the
+   * allocating thread only once every {@value #CHECK_INTERVAL} calls.
+   *
+   * @return true if the time budget is exhausted or the thread was interrupted, false otherwise
+   */
+  private boolean shouldStop() {
+    if (!limited || stopped) {
+      return stopped;
+    }
+    if ((++steps & (CHECK_INTERVAL - 1)) == 0) {
+      stopped = System.nanoTime() - startNanos >= budgetNanos || thread.isInterrupted();
+    }
+    return stopped;
+  }
+
+  /**
+   * Checks whether the searches were stopped by the time budget or by an interruption.
+   *
+   * @return true if the searches were stopped, false otherwise
+   */
+  boolean isStopped() {
+    return stopped;
+  }
+
+  /**
+   * Generates claws recursively by adding candidates that are not adjacent to the vertices already
+   * in the claw, in order of increasing weight.
+   *
+   * @param candidates the neighbours of the centre, sorted by increasing weight
+   * @param start the position of the first candidate that can still be added
+   * @param phi the size of the claw
+   * @return true if an improving claw was found, false otherwise
+   */
+  private boolean generateClaw(int[] candidates, int start, int phi) {
+    if (clawSize == phi) {
+      return isValidClaw();
+    }
+    int missing = phi - clawSize;
+    for (int i = start; i + missing <= candidates.length; i++) {
+      if (shouldStop() || !canImprove(candidates, i, missing)) {
+        return false;
+      }
+      int vertex = candidates[i];
+      if (isValidToAdd(vertex)) {
+        claw[clawSize++] = vertex;
+        weights.add(SLACK, vertex);
+        boolean found = generateClaw(candidates, i + 1, phi);
+        if (found) {
+          return true;
+        }
+        weights.subtract(SLACK, vertex);
+        clawSize--;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether completing the current claw with candidates from the given position onwards can
+   * still improve the independent set, using the lightest candidates as a bound.
+   *
+   * @param candidates the neighbours of the centre, sorted by increasing weight
+   * @param start the position of the first candidate that can still be added
+   * @param missing the number of vertices still missing from the claw
+   * @return false if no such completion can be improving, true otherwise
+   */
+  private boolean canImprove(int[] candidates, int start, int missing) {
+    weights.copy(SLACK, TEST);
+    for (int i = start; i < start + missing; i++) {
+      weights.add(TEST, candidates[i]);
+    }
+    return weights.signum(TEST) < 0;
+  }
+
+  /**
+   * Checks if the given vertex is not adjacent to any vertex of the current claw.
+   *
+   * @param vertex the index of the vertex to be added
+   * @return true if the vertex can be added, false otherwise
+   */
+  private boolean isValidToAdd(int vertex) {
+    for (int i = 0; i < clawSize; i++) {
+      if (adjacencyIndex.areConnected(vertex, claw[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks if the current claw improves the weight of the independent set, scoring the swap by its
+   * delta and collecting the independent set vertices it displaces.
+   *
+   * @return true if the claw improves the weight, false otherwise
+   */
+  private boolean isValidClaw() {
+    examinedClaws++;
+    nextMark();
+    removedSize = 0;
+    weights.clear(DELTA);
+    for (int i = 0; i < clawSize; i++) {
+      weights.add(DELTA, claw[i]);
+      for (int neighbour : sortedNeighbours[claw[i]]) {
+        if (independent[neighbour] && marks[neighbour] != mark) {
+          marks[neighbour] = mark;
+          if (removedSize == removed.length) {
+            removed = Arrays.copyOf(removed, removedSize * 2);
+          }
+          removed[removedSize++] = neighbour;
+          weights.subtract(DELTA, neighbour);
+        }
+      }
+    }
+    return weights.signum(DELTA) < 0;
+  }
+
+  /** Starts a new generation of marks, clearing the marks array when the counter wraps around. */
+  private void nextMark() {
+    mark++;
+    if (mark == 0) {
+      Arrays.fill(marks, 0);
+      mark = 1;
+    }
+  }
+
+  /**
+   * Gets the number of complete claws whose weight was evaluated since the claw finder was created.
+   *
+   * @return the number of examined claws
+   */
+  long getExaminedClaws() {
+    return examinedClaws;
+  }
+
+  /**
+   * Gets the buffer holding the vertices of the claw found by the last search.
+   *
+   * @return the claw buffer, whose first {@link #getClawSize()} entries are valid
+   */
+  int[] getClaw() {
+    return claw;
+  }
+
+  /**
+   * Gets the size of the claw found by the last search.
+   *
+   * @return the size of the claw, or zero if no claw was found
+   */
+  int getClawSize() {
+    return clawSize;
+  }
+
+  /**
+   * Gets the buffer holding the independent set vertices displaced by the claw found by the last
+   * search.
+   *
+   * @return the removed buffer, whose first {@link #getRemovedSize()} entries are valid
+   */
+  int[] getRemoved() {
+    return removed;
+  }
+
+  /**
+   * Gets the number of independent set vertices displaced by the claw found by the last search.
+   *
+   * @return the number of displaced vertices
+   */
+  int getRemovedSize() {
+    return removedSize;
+  }
+}
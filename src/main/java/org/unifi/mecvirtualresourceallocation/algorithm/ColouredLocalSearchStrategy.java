@@ -0,0 +1,470 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.CompactHyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+/**
+ * The ColouredLocalSearchStrategy class implements the local search of {@link LocalSearchStrategy}
+ * with the claw searches spread over a {@link ForkJoinPool} by colouring.
+ *
+ * <p>A claw search centred on an independent set vertex reads, and a swap writes, only vertices
+ * within distance two of the centre. Two centres whose balls of radius two are disjoint, that is,
+ * at distance at least five, can therefore be searched and swapped concurrently without affecting
+ * each other. In each round the queued centres are coloured greedily, from the heaviest down, so
+ * that the balls of the centres of a colour class are pairwise disjoint; only the queued centres
+ * are coloured, since colouring the whole fourth power of the conflict graph would need far more
+ * colours. The classes are then processed one at a time: the centres of a class are searched in
+ * parallel without any locking, and their swaps, which cannot conflict, are all applied before the
+ * next class is searched against the updated independent set. Classes are typically small, so each
+ * centre of a class is searched by a fork-join task of its own rather than in ranges of {@link
+ * ParallelClawSearch#MIN_CENTRES_PER_TASK} centres, which would leave almost every class to a
+ * single thread.
+ *
+ * <p>As in the sequential search, a vertex leaves the work queue only after a failed search, and is
+ * queued again whenever a swap changes a vertex within distance two of it, so the search stops at a
+ * local optimum with the same guarantee for a given delta (δ). The colouring and the order of the
+ * swaps do not depend on the number of threads, so neither does the result.
+ *
+ * <p>As with {@link LocalSearchStrategy}, each run keeps its counters in its own {@link
+ * SearchStatistics}, so a strategy can be shared by concurrent allocations and the getters report
+ * the run that finished last.
+ */
+public class ColouredLocalSearchStrategy implements AllocationStrategy {
+
+  /** The minimum number of centres of a colour class searched by a single fork-join task. */
+  static final int CENTRES_PER_TASK = 1;
+
+  private final WeightMode weightMode;
+  private final ForkJoinPool pool;
+  private volatile SearchStatistics lastRun = new SearchStatistics();
+
+  /**
+   * Constructs a coloured local search strategy using the exact {@link WeightMode#BIG_DECIMAL} mode
+   * and the common pool.
+   */
+  public ColouredLocalSearchStrategy() {
+    this(WeightMode.BIG_DECIMAL, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a coloured local search strategy.
+   *
+   * @param weightMode the numeric representation used to compare weights
+   * @param pool the pool running the claw searches of each colour class
+   */
+  public ColouredLocalSearchStrategy(WeightMode weightMode, ForkJoinPool pool) {
+    this.weightMode = weightMode;
+    this.pool = pool;
+  }
+
+  /**
+   * Allocates resources based on the coloured local search strategy with a default delta (δ) value
+   * of 3.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  @Override
+  public Set<Vertex> allocate(HyperGraph hyperGraph) {
+    return allocate(hyperGraph, 3);
+  }
+
+  /**
+   * Allocates resources based on the coloured local search strategy.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  public Set<Vertex> allocate(HyperGraph hyperGraph, int delta) {
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    int[] initial = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    return LocalSearchStrategy.collect(
+        adjacencyIndex, optimize(adjacencyIndex, initial, delta, new SearchStatistics()));
+  }
+
+  /**
+   * Allocates resources based on the coloured local search strategy with a default delta (δ) value
+   * of 3, reporting the statistics of the run.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the result of the allocation
+   */
+  @Override
+  public AllocationResult solve(HyperGraph hyperGraph) {
+    return solve(hyperGraph, 3);
+  }
+
+  /**
+   * Allocates resources based on the coloured local search strategy, reporting the statistics of
+   * the run as {@link LocalSearchStrategy#solve(HyperGraph, int)} does. The applied swaps are the
+   * improved vertices and the peak working set size is the largest number of centres queued for a
+   * round.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @return the result of the allocation
+   */
+  public AllocationResult solve(HyperGraph hyperGraph, int delta) {
+    long startTime = System.nanoTime();
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    long builtTime = System.nanoTime();
+    int[] initial = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    long greedyTime = System.nanoTime();
+    SearchStatistics statistics = new SearchStatistics();
+    boolean[] independent = optimize(adjacencyIndex, initial, delta, statistics);
+    long endTime = System.nanoTime();
+    Set<Vertex> independentSet = LocalSearchStrategy.collect(adjacencyIndex, independent);
+    return new AllocationResult(
+        independentSet,
+        new Placement(getHyperEdges(hyperGraph, independentSet)),
+        builtTime - startTime,
+        greedyTime - builtTime,
+        endTime - greedyTime,
+        endTime - startTime,
+        statistics.examinedClaws,
+        statistics.improvedVertices,
+        statistics.peakWorkingSetSize,
+        true);
+  }
+
+  /**
+   * Allocates resources on a compact hypergraph based on the coloured local search strategy with a
+   * default delta (δ) value of 3.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  @Override
+  public Set<Vertex> allocate(CompactHyperGraph hyperGraph) {
+    return allocate(hyperGraph, 3);
+  }
+
+  /**
+   * Allocates resources on a compact hypergraph based on the coloured local search strategy. The
+   * adjacency of the conflict graph is built directly from the incidences of the compact
+   * hypergraph, which are not copied.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  public Set<Vertex> allocate(CompactHyperGraph hyperGraph, int delta) {
+    AdjacencyIndex adjacencyIndex = AdjacencyIndex.of(hyperGraph);
+    int[] initial = new SequentialSearchStrategy().selectIndices(adjacencyIndex);
+    return LocalSearchStrategy.collect(
+        adjacencyIndex, optimize(adjacencyIndex, initial, delta, new SearchStatistics()));
+  }
+
+  /**
+   * Gets the number of independent set vertices examined as claw centres during the last
+   * allocation.
+   *
+   * @return the number of examined vertices
+   */
+  public long getExaminedVertices() {
+    return lastRun.examinedVertices;
+  }
+
+  /**
+   * Gets the number of examined vertices whose claw search improved the independent set during the
+   * last allocation.
+   *
+   * @return the number of improved vertices
+   */
+  public long getImprovedVertices() {
+    return lastRun.improvedVertices;
+  }
+
+  /**
+   * Gets the number of colour classes processed during the last allocation, over all rounds.
+   *
+   * @return the number of colour classes
+   */
+  public long getColourClasses() {
+    return lastRun.colourClasses;
+  }
+
+  /**
+   * Gets the number of fork-join tasks that searched the centres of the colour classes during the
+   * last allocation, which exceeds the number of classes whenever a class was split across the
+   * pool.
+   *
+   * @return the number of search tasks
+   */
+  public long getSearchTasks() {
+    return lastRun.searchTasks;
+  }
+
+  /**
+   * Improves the given initial independent set with local search, recording the statistics of the
+   * run in the given instance and then publishing it as the statistics of the last run.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param initial the indices of the vertices of the initial independent set
+   * @param delta the delta (δ) value used
+   * @param statistics the statistics of this run
+   * @return the membership flags of the improved independent set
+   */
+  private boolean[] optimize(
+      AdjacencyIndex adjacencyIndex, int[] initial, int delta, SearchStatistics statistics) {
+    boolean[] independent = new boolean[adjacencyIndex.size()];
+    for (int index : initial) {
+      independent[index] = true;
+    }
+    optimizeIndependentSet(
+        independent,
+        adjacencyIndex,
+        WeightColumn.of(weightMode, adjacencyIndex),
+        delta,
+        statistics);
+    lastRun = statistics;
+    return independent;
+  }
+
+  /**
+   * Optimizes the given independent set by local search, one colour class at a time.
+   *
+   * @param independent the membership flags of the independent set to be optimized
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param weights the weights of the conflict graph vertices
+   * @param delta the delta (δ) value used
+   * @param statistics the statistics of this run
+   */
+  private void optimizeIndependentSet(
+      boolean[] independent,
+      AdjacencyIndex adjacencyIndex,
+      WeightColumn weights,
+      int delta,
+      SearchStatistics statistics) {
+    int[] order = LocalSearchStrategy.orderByWeight(adjacencyIndex);
+    int[][] sortedNeighbours = LocalSearchStrategy.sortNeighbours(adjacencyIndex, order);
+    ParallelClawSearch clawSearch =
+        new ParallelClawSearch(
+            pool, adjacencyIndex, sortedNeighbours, weights, independent, delta, CENTRES_PER_TASK);
+    PriorityQueue<Integer> workQueue =
+        new PriorityQueue<>((vertex1, vertex2) -> Integer.compare(order[vertex2], order[vertex1]));
+    boolean[] queued = new boolean[independent.length];
+    for (int i = 0; i < independent.length; i++) {
+      if (independent[i]) {
+        LocalSearchStrategy.enqueue(i, workQueue, queued);
+      }
+    }
+    statistics.peakWorkingSetSize = workQueue.size();
+    Colouring colouring = new Colouring(sortedNeighbours);
+    int[] centres = new int[independent.length];
+    int[] classCentres = new int[independent.length];
+
+    while (!workQueue.isEmpty()) {
+      statistics.peakWorkingSetSize = Math.max(statistics.peakWorkingSetSize, workQueue.size());
+      int count = 0;
+      while (!workQueue.isEmpty()) {
+        int centre = workQueue.poll();
+        queued[centre] = false;
+        centres[count++] = centre;
+      }
+      int[] classEnds = colouring.colour(centres, count);
+      statistics.colourClasses += classEnds.length;
+
+      int classStart = 0;
+      for (int classEnd : classEnds) {
+        int classSize = 0;
+        for (int k = classStart; k < classEnd; k++) {
+          if (independent[centres[k]]) {
+            classCentres[classSize++] = centres[k];
+          }
+        }
+        classStart = classEnd;
+        if (classSize == 0) {
+          continue;
+        }
+        statistics.examinedVertices += classSize;
+        clawSearch.search(classCentres, classSize);
+
+        for (int k = 0; k < classSize; k++) {
+          int[] claw = clawSearch.getClaw(k);
+          if (claw == null) {
+            continue;
+          }
+          int[] removed = clawSearch.getRemoved(k);
+          for (int vertex : removed) {
+            independent[vertex] = false;
+          }
+          for (int vertex : claw) {
+            independent[vertex] = true;
+          }
+          statistics.improvedVertices++;
+          LocalSearchStrategy.enqueueAffectedVertices(
+              claw,
+              claw.length,
+              removed,
+              removed.length,
+              independent,
+              sortedNeighbours,
+              workQueue,
+              queued);
+        }
+      }
+    }
+    statistics.searchTasks = clawSearch.getSearchedRanges();
+    statistics.examinedClaws = clawSearch.getExaminedClaws();
+  }
+
+  /**
+   * Greedy colouring of claw centres such that the balls of radius two around the centres of a
+   * class are pairwise disjoint. Each centre takes, in order, the lowest colour not yet claimed by
+   * a vertex of its ball, which gives the same classes as building one class at a time from the
+   * remaining centres but visits each ball only twice. The colours claimed by each vertex are kept
+   * as a bitmask of 64 colours, valid only when the vertex carries the current stamp, so the
+   * centres needing more colours are coloured by a further pass over the next 64.
+   */
+  static final class Colouring {
+
+    private final int[][] sortedNeighbours;
+    private final int[] marks;
+    private final long[] claimedColours;
+    private int mark;
+
+    /**
+     * Constructs a colouring of the vertices of the given graph.
+     *
+     * @param sortedNeighbours the neighbours of each vertex
+     */
+    Colouring(int[][] sortedNeighbours) {
+      this.sortedNeighbours = sortedNeighbours;
+      this.marks = new int[sortedNeighbours.length];
+      this.claimedColours = new long[sortedNeighbours.length];
+    }
+
+    /**
+     * Reorders the given centres into colour classes. Each class takes, in order, every remaining
+     * centre whose ball does not meet the balls of the centres already in the class, so the first
+     * class starts with the first centre and the relative order of the centres is kept within each
+     * class.
+     *
+     * @param centres the centres, reordered in place so that the classes are contiguous
+     * @param count the number of centres
+     * @return the end position of each class, exclusive
+     */
+    int[] colour(int[] centres, int count) {
+      int[] colours = new int[count];
+      int[] pending = new int[count];
+      for (int k = 0; k < count; k++) {
+        pending[k] = k;
+      }
+      int numPending = count;
+      int numColours = 0;
+      for (int base = 0; numPending > 0; base += Long.SIZE) {
+        nextMark();
+        int numDeferred = 0;
+        for (int p = 0; p < numPending; p++) {
+          int k = pending[p];
+          long free = ~claimedAround(centres[k]);
+          if (free == 0) {
+            pending[numDeferred++] = k;
+            continue;
+          }
+          long colour = Long.lowestOneBit(free);
+          claim(centres[k], colour);
+          colours[k] = base + Long.numberOfTrailingZeros(colour);
+          numColours = Math.max(numColours, colours[k] + 1);
+        }
+        numPending = numDeferred;
+      }
+
+      int[] classEnds = new int[numColours];
+      for (int k = 0; k < count; k++) {
+        classEnds[colours[k]]++;
+      }
+      for (int c = 1; c < numColours; c++) {
+        classEnds[c] += classEnds[c - 1];
+      }
+      int[] positions = new int[numColours];
+      for (int c = 1; c < numColours; c++) {
+        positions[c] = classEnds[c - 1];
+      }
+      int[] original = Arrays.copyOf(centres, count);
+      for (int k = 0; k < count; k++) {
+        centres[positions[colours[k]]++] = original[k];
+      }
+      return classEnds;
+    }
+
+    /**
+     * Gets the colours of the current pass claimed by the vertices of the ball of radius two around
+     * a centre.
+     *
+     * @param centre the centre
+     * @return the bitmask of the claimed colours
+     */
+    private long claimedAround(int centre) {
+      long claimed = claimedBy(centre);
+      for (int neighbour : sortedNeighbours[centre]) {
+        claimed |= claimedBy(neighbour);
+        for (int secondNeighbour : sortedNeighbours[neighbour]) {
+          claimed |= claimedBy(secondNeighbour);
+        }
+      }
+      return claimed;
+    }
+
+    /**
+     * Gets the colours of the current pass claimed by a vertex.
+     *
+     * @param vertex the vertex
+     * @return the bitmask of the claimed colours
+     */
+    private long claimedBy(int vertex) {
+      return marks[vertex] == mark ? claimedColours[vertex] : 0;
+    }
+
+    /**
+     * Claims the ball of radius two around a centre for the given colour.
+     *
+     * @param centre the centre
+     * @param colour the bitmask of the colour
+     */
+    private void claim(int centre, long colour) {
+      claimVertex(centre, colour);
+      for (int neighbour : sortedNeighbours[centre]) {
+        claimVertex(neighbour, colour);
+        for (int secondNeighbour : sortedNeighbours[neighbour]) {
+          claimVertex(secondNeighbour, colour);
+        }
+      }
+    }
+
+    /**
+     * Claims a vertex for the given colour.
+     *
+     * @param vertex the vertex
+     * @param colour the bitmask of the colour
+     */
+    private void claimVertex(int vertex, long colour) {
+      if (marks[vertex] == mark) {
+        claimedColours[vertex] |= colour;
+      } else {
+        marks[vertex] = mark;
+        claimedColours[vertex] = colour;
+      }
+    }
+
+    /** Starts a new pass, clearing the marks array when the counter wraps around. */
+    private void nextMark() {
+      mark++;
+      if (mark == 0) {
+        Arrays.fill(marks, 0);
+        mark = 1;
+      }
+    }
+  }
+}
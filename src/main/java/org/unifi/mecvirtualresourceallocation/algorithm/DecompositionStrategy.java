@@ -0,0 +1,404 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+/**
+ * The DecompositionStrategy class wraps another allocation strategy and applies it to each
+ * connected component of the hypergraph separately. Two hyperedges end up in the same component
+ * when they are linked by a chain of hyperedges sharing vertices, so the conflict graph of the
+ * hypergraph is the disjoint union of the conflict graphs of the components, and an independent set
+ * of the whole graph is the union of independent sets of the components.
+ *
+ * <p>The components are found with a union-find structure over the incidences of the hypergraph and
+ * are solved concurrently on an executor. Components whose conflict graph is a single vertex or a
+ * clique admit only one selected vertex, which the greedy choice already finds optimally, so they
+ * are solved greedily without running the wrapped strategy.
+ *
+ * <p>{@link #solve(HyperGraph)} aggregates the results of the components into a single {@link
+ * AllocationResult}, so the phase times and counters of the wrapped strategy are reported rather
+ * than left at zero.
+ *
+ * <p>A strategy can be shared by concurrent allocations: each run counts its components on its own,
+ * and {@link #getComponents()} and {@link #getGreedyComponents()} report the run that finished
+ * last.
+ */
+public class DecompositionStrategy implements AllocationStrategy {
+
+  private final Supplier<? extends AllocationStrategy> strategyFactory;
+  private final Executor executor;
+  private volatile ComponentCounts lastRun = new ComponentCounts(0, 0);
+
+  /**
+   * Constructs a decomposition strategy solving the components on the common fork-join pool.
+   *
+   * @param strategyFactory the factory of the strategy applied to each component
+   */
+  public DecompositionStrategy(Supplier<? extends AllocationStrategy> strategyFactory) {
+    this(strategyFactory, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Constructs a decomposition strategy solving the components on the given executor. A new
+   * strategy is obtained from the factory for each component, so strategies that keep state between
+   * calls are never shared between threads.
+   *
+   * @param strategyFactory the factory of the strategy applied to each component
+   * @param executor the executor on which the components are solved
+   */
+  public DecompositionStrategy(
+      Supplier<? extends AllocationStrategy> strategyFactory, Executor executor) {
+    if (strategyFactory == null || executor == null) {
+      throw new IllegalArgumentException("Strategy factory and executor cannot be null.");
+    }
+    this.strategyFactory = strategyFactory;
+    this.executor = executor;
+  }
+
+  /**
+   * Allocates resources by solving each connected component of the hypergraph independently and
+   * joining the results.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  @Override
+  public Set<Vertex> allocate(HyperGraph hyperGraph) {
+    List<HyperGraph> subGraphs = decompose(hyperGraph);
+    AtomicInteger greedyComponents = new AtomicInteger();
+
+    List<CompletableFuture<Set<Vertex>>> futures = new ArrayList<>();
+    for (HyperGraph subGraph : subGraphs) {
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> allocateComponent(subGraph, greedyComponents), executor));
+    }
+
+    Set<Vertex> selectedVertices = new HashSet<>();
+    try {
+      for (CompletableFuture<Set<Vertex>> future : futures) {
+        selectedVertices.addAll(future.join());
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    lastRun = new ComponentCounts(subGraphs.size(), greedyComponents.get());
+    return selectedVertices;
+  }
+
+  /**
+   * Allocates resources by solving each connected component of the hypergraph independently and
+   * aggregates the results of the components. The components are solved concurrently, so each phase
+   * time is the longest time any component spent in that phase, which bounds the wall-clock time of
+   * the phase when there are enough threads; the build time also includes the decomposition. The
+   * examined claws and applied swaps are summed over the components, the peak working set size is
+   * the largest of any component, and the result is complete only if every component is.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the aggregated result of the allocation
+   */
+  @Override
+  public AllocationResult solve(HyperGraph hyperGraph) {
+    long startTime = System.nanoTime();
+    List<HyperGraph> subGraphs = decompose(hyperGraph);
+    long decomposedTime = System.nanoTime();
+    AtomicInteger greedyComponents = new AtomicInteger();
+
+    List<CompletableFuture<AllocationResult>> futures = new ArrayList<>();
+    for (HyperGraph subGraph : subGraphs) {
+      futures.add(
+          CompletableFuture.supplyAsync(
+              () -> solveComponent(subGraph, greedyComponents), executor));
+    }
+
+    Set<Vertex> selectedVertices = new HashSet<>();
+    long buildNanos = 0;
+    long greedyNanos = 0;
+    long localSearchNanos = 0;
+    long examinedClaws = 0;
+    long appliedSwaps = 0;
+    int peakWorkingSetSize = 0;
+    boolean complete = true;
+    try {
+      for (CompletableFuture<AllocationResult> future : futures) {
+        AllocationResult result = future.join();
+        selectedVertices.addAll(result.getVertices());
+        buildNanos = Math.max(buildNanos, result.getBuildNanos());
+        greedyNanos = Math.max(greedyNanos, result.getGreedyNanos());
+        localSearchNanos = Math.max(localSearchNanos, result.getLocalSearchNanos());
+        examinedClaws += result.getExaminedClaws();
+        appliedSwaps += result.getAppliedSwaps();
+        peakWorkingSetSize = Math.max(peakWorkingSetSize, result.getPeakWorkingSetSize());
+        complete &= result.isComplete();
+      }
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+    long endTime = System.nanoTime();
+    lastRun = new ComponentCounts(subGraphs.size(), greedyComponents.get());
+    return new AllocationResult(
+        selectedVertices,
+        new Placement(getHyperEdges(hyperGraph, selectedVertices)),
+        decomposedTime - startTime + buildNanos,
+        greedyNanos,
+        localSearchNanos,
+        endTime - startTime,
+        examinedClaws,
+        appliedSwaps,
+        peakWorkingSetSize,
+        complete);
+  }
+
+  /**
+   * Gets the number of connected components found during the last allocation.
+   *
+   * @return the number of components
+   */
+  public int getComponents() {
+    return lastRun.components;
+  }
+
+  /**
+   * Gets the number of components of the last allocation that were solved greedily because their
+   * conflict graph is a single vertex or a clique.
+   *
+   * @return the number of greedily solved components
+   */
+  public int getGreedyComponents() {
+    return lastRun.greedyComponents;
+  }
+
+  /**
+   * Allocates the resources of a single connected component, bypassing the wrapped strategy when
+   * the conflict graph of the component is a single vertex or a clique.
+   *
+   * @param subGraph the hypergraph of the component
+   * @param greedyComponents the number of greedily solved components of the run
+   * @return the vertices selected in the conflict graph of the component
+   */
+  private Set<Vertex> allocateComponent(HyperGraph subGraph, AtomicInteger greedyComponents) {
+    if (!isTrivial(subGraph)) {
+      return strategyFactory.get().allocate(subGraph);
+    }
+    greedyComponents.incrementAndGet();
+    return selectGreedily(subGraph);
+  }
+
+  /**
+   * Solves a single connected component, as {@link #allocateComponent(HyperGraph, AtomicInteger)}
+   * does, and reports the statistics of the run. The conflict graph built to recognise the trivial
+   * components is counted in the build time of the component.
+   *
+   * @param subGraph the hypergraph of the component
+   * @param greedyComponents the number of greedily solved components of the run
+   * @return the result of the component
+   */
+  private AllocationResult solveComponent(HyperGraph subGraph, AtomicInteger greedyComponents) {
+    long startTime = System.nanoTime();
+    boolean trivial = isTrivial(subGraph);
+    long checkedTime = System.nanoTime();
+    if (!trivial) {
+      AllocationResult result = strategyFactory.get().solve(subGraph);
+      return new AllocationResult(
+          result.getVertices(),
+          result.getPlacement(),
+          checkedTime - startTime + result.getBuildNanos(),
+          result.getGreedyNanos(),
+          result.getLocalSearchNanos(),
+          checkedTime - startTime + result.getTotalNanos(),
+          result.getExaminedClaws(),
+          result.getAppliedSwaps(),
+          result.getPeakWorkingSetSize(),
+          result.isComplete());
+    }
+    greedyComponents.incrementAndGet();
+    Set<Vertex> selectedVertices = selectGreedily(subGraph);
+    long endTime = System.nanoTime();
+    return new AllocationResult(
+        selectedVertices,
+        new Placement(getHyperEdges(subGraph, selectedVertices)),
+        checkedTime - startTime,
+        endTime - checkedTime,
+        0,
+        endTime - startTime,
+        0,
+        0,
+        0,
+        true);
+  }
+
+  /**
+   * Checks if the conflict graph of a component is a single vertex or a clique, building it in the
+   * latter case.
+   *
+   * @param subGraph the hypergraph of the component
+   * @return true if the component can be solved greedily, false otherwise
+   */
+  private static boolean isTrivial(HyperGraph subGraph) {
+    return subGraph.getHyperEdges().size() == 1
+        || isClique(subGraph.getConflictGraph().getAdjacencyIndex());
+  }
+
+  /**
+   * Selects the vertices of a component whose conflict graph is a single vertex or a clique
+   * greedily.
+   *
+   * @param subGraph the hypergraph of the component
+   * @return the vertices selected in the conflict graph of the component
+   */
+  private static Set<Vertex> selectGreedily(HyperGraph subGraph) {
+    Set<Vertex> selectedVertices = new HashSet<>();
+    if (subGraph.getHyperEdges().size() == 1) {
+      HyperEdge hyperEdge = subGraph.getHyperEdges().iterator().next();
+      selectedVertices.add(new Vertex(hyperEdge.getIntId(), hyperEdge.getNegativeWeight()));
+      return selectedVertices;
+    }
+    ConflictGraph conflictGraph = subGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    for (int index : new SequentialSearchStrategy().selectIndices(conflictGraph)) {
+      selectedVertices.add(adjacencyIndex.getVertex(index));
+    }
+    return selectedVertices;
+  }
+
+  /**
+   * Splits the given hypergraph into its connected components, ordered by the smallest hyperedge ID
+   * they contain.
+   *
+   * @param hyperGraph the hypergraph to be decomposed
+   * @return the hypergraphs of the connected components
+   */
+  static List<HyperGraph> decompose(HyperGraph hyperGraph) {
+    List<HyperEdge> hyperEdgeList = new ArrayList<>(hyperGraph.getHyperEdges());
+    hyperEdgeList.sort(Comparator.comparingInt(HyperEdge::getIntId));
+
+    Map<Vertex, Integer> vertexIndices = new HashMap<>();
+    for (Vertex vertex : hyperGraph.getVertices()) {
+      vertexIndices.put(vertex, vertexIndices.size());
+    }
+    int[] parents = new int[vertexIndices.size()];
+    for (int i = 0; i < parents.length; i++) {
+      parents[i] = i;
+    }
+    for (HyperEdge hyperEdge : hyperEdgeList) {
+      int first = -1;
+      for (Vertex vertex : hyperEdge.getVertices()) {
+        int index = vertexIndices.get(vertex);
+        if (first < 0) {
+          first = index;
+        } else {
+          union(parents, first, index);
+        }
+      }
+    }
+
+    Map<Integer, Set<HyperEdge>> componentHyperEdges = new HashMap<>();
+    List<Set<HyperEdge>> orderedComponents = new ArrayList<>();
+    for (HyperEdge hyperEdge : hyperEdgeList) {
+      Vertex vertex = hyperEdge.getVertices().iterator().next();
+      int root = find(parents, vertexIndices.get(vertex));
+      Set<HyperEdge> component = componentHyperEdges.get(root);
+      if (component == null) {
+        component = new HashSet<>();
+        componentHyperEdges.put(root, component);
+        orderedComponents.add(component);
+      }
+      component.add(hyperEdge);
+    }
+
+    List<HyperGraph> subGraphs = new ArrayList<>();
+    for (Set<HyperEdge> component : orderedComponents) {
+      Set<Vertex> componentVertices = new HashSet<>();
+      for (HyperEdge hyperEdge : component) {
+        componentVertices.addAll(hyperEdge.getVertices());
+      }
+      subGraphs.add(new HyperGraph(componentVertices, component));
+    }
+    return subGraphs;
+  }
+
+  /**
+   * Finds the root of the set containing the given element, halving the path along the way.
+   *
+   * @param parents the parent of each element
+   * @param element the element
+   * @return the root of the set containing the element
+   */
+  private static int find(int[] parents, int element) {
+    while (parents[element] != element) {
+      parents[element] = parents[parents[element]];
+      element = parents[element];
+    }
+    return element;
+  }
+
+  /**
+   * Merges the sets containing the given elements.
+   *
+   * @param parents the parent of each element
+   * @param element1 the first element
+   * @param element2 the second element
+   */
+  private static void union(int[] parents, int element1, int element2) {
+    int root1 = find(parents, element1);
+    int root2 = find(parents, element2);
+    if (root1 != root2) {
+      parents[Math.max(root1, root2)] = Math.min(root1, root2);
+    }
+  }
+
+  /**
+   * Checks if every pair of vertices of the indexed graph is connected.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @return true if the conflict graph is a clique, false otherwise
+   */
+  private static boolean isClique(AdjacencyIndex adjacencyIndex) {
+    for (int i = 0; i < adjacencyIndex.size(); i++) {
+      if (adjacencyIndex.getDegree(i) != adjacencyIndex.size() - 1) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** The numbers of components found and solved greedily by a single run. */
+  private static final class ComponentCounts {
+
+    private final int components;
+    private final int greedyComponents;
+
+    /**
+     * Constructs the counts of a run.
+     *
+     * @param components the number of connected components
+     * @param greedyComponents the number of greedily solved components
+     */
+    private ComponentCounts(int components, int greedyComponents) {
+      this.components = components;
+      this.greedyComponents = greedyComponents;
+    }
+  }
+}
@@ -1,11 +1,14 @@
 package org.unifi.mecvirtualresourceallocation.algorithm;
 
-import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.PriorityQueue;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.CompactHyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
 import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.Vertex;
@@ -14,9 +17,58 @@ import org.unifi.mecvirtualresourceallocation.graph.Vertex;
  * The LocalSearchStrategy class implements an allocation strategy based on the (M*)-Perfect
  * Matching algorithm described in the paper "Virtual Resource Allocation for Mobile Edge Computing:
  * A Hypergraph Matching Approach".
+ *
+ * <p>The local search can also run as an anytime algorithm with a time budget. Every swap replaces
+ * an independent set with a heavier one, so when the budget runs out, or the allocating thread is
+ * interrupted, the search stops and returns the independent set reached after the last swap, which
+ * is always valid and never worse than the greedy solution it started from.
+ *
+ * <p>Given a {@link ForkJoinPool}, the local search runs in rounds. All the queued vertices of the
+ * independent set are searched for improving claws in parallel, against the independent set as it
+ * was at the start of the round. The claws found are then committed one at a time, from the
+ * heaviest centre down, skipping any claw whose closed neighbourhood was changed by a swap already
+ * committed in the same round; its centre is queued again for the next round. A claw that only
+ * becomes improving after a swap of the same round is found in a later round. Every committed swap
+ * is therefore still valid and improving on the independent set it is applied to, the outcome is
+ * deterministic for a given input and does not depend on the number of threads, and the search
+ * stops at a local optimum with the same guarantee as the sequential one. The swaps are committed
+ * in a different order from the sequential search, so the two may reach different local optima.
+ *
+ * <p>A strategy can be shared by concurrent allocations. Each run keeps its counters in its own
+ * {@link SearchStatistics}, which {@link #solve(HyperGraph)} copies into its result; the getters
+ * such as {@link #getImprovedVertices()} report the run that finished last.
  */
 public class LocalSearchStrategy implements AllocationStrategy {
 
+  private final WeightMode weightMode;
+  private final ForkJoinPool pool;
+  private volatile SearchStatistics lastRun = new SearchStatistics();
+
+  /** Constructs a local search strategy using the exact {@link WeightMode#BIG_DECIMAL} mode. */
+  public LocalSearchStrategy() {
+    this(WeightMode.BIG_DECIMAL);
+  }
+
+  /**
+   * Constructs a local search strategy using the given numeric representation for the weights.
+   *
+   * @param weightMode the numeric representation used to compare weights
+   */
+  public LocalSearchStrategy(WeightMode weightMode) {
+    this(weightMode, null);
+  }
+
+  /**
+   * Constructs a local search strategy that searches for claws in parallel on the given pool.
+   *
+   * @param weightMode the numeric representation used to compare weights
+   * @param pool the pool running the claw searches, or null to search in the calling thread
+   */
+  public LocalSearchStrategy(WeightMode weightMode, ForkJoinPool pool) {
+    this.weightMode = weightMode;
+    this.pool = pool;
+  }
+
   /**
    * Allocates resources based on the local search strategy with a default delta (δ) value of 3.
    *
@@ -37,188 +89,544 @@ public class LocalSearchStrategy implements AllocationStrategy {
    */
   public Set<Vertex> allocate(HyperGraph hyperGraph, int delta) {
     ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
-    Set<Vertex> independentSet = new SequentialSearchStrategy().allocate(hyperGraph);
-    optimizeIndependentSet(independentSet, conflictGraph, delta);
-    return independentSet;
+    return allocate(
+        conflictGraph.getAdjacencyIndex(),
+        new SequentialSearchStrategy().selectIndices(conflictGraph),
+        delta);
   }
 
   /**
-   * Optimizes the given independent set by searching for better sets using local search.
+   * Allocates resources based on the local search strategy within a time budget. The budget covers
+   * the whole call, but the construction of the conflict graph and the greedy phase always run to
+   * completion; only the local search is cut short. The search also stops when the current thread
+   * is interrupted, in which case the interrupt status is left set. Whether the search was stopped
+   * can be checked with {@link #isStopped()}.
    *
-   * @param independentSet the initial independent set to be optimized
-   * @param conflictGraph the conflict graph derived from the original hypergraph
+   * @param hyperGraph the hypergraph used to allocate resources
    * @param delta the delta (δ) value used
+   * @param timeBudget the maximum time the allocation should take
+   * @return the best independent set found before the budget ran out
+   * @throws IllegalArgumentException if the time budget is negative
    */
-  private void optimizeIndependentSet(
-      Set<Vertex> independentSet, ConflictGraph conflictGraph, int delta) {
-    PriorityQueue<Vertex> sortedIndependentSet =
-        new PriorityQueue<>(Comparator.comparing(Vertex::getNegativeWeight));
-    sortedIndependentSet.addAll(independentSet);
-
-    while (!sortedIndependentSet.isEmpty()) {
-      Vertex currentVertex = sortedIndependentSet.poll();
-      Set<Vertex> adjacentVertices = conflictGraph.getAdjacentVertices(currentVertex);
-
-      for (int phi = 2; phi <= delta; phi++) {
-        Set<Vertex> claw = findClaw(independentSet, adjacentVertices, conflictGraph, phi);
-        if (!claw.isEmpty()) {
-          Set<Vertex> adjacentVertexIndependentSet =
-              findAdjacentVertexIndependentSet(claw, independentSet, conflictGraph);
-          independentSet.removeAll(adjacentVertexIndependentSet);
-          independentSet.addAll(claw);
-          sortedIndependentSet.clear();
-          sortedIndependentSet.addAll(independentSet);
-          break;
-        }
+  public Set<Vertex> allocate(HyperGraph hyperGraph, int delta, Duration timeBudget) {
+    long startTime = System.nanoTime();
+    long budgetNanos = toNanos(timeBudget);
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    int[] initial = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    return collect(
+        adjacencyIndex,
+        optimize(adjacencyIndex, initial, delta, startTime, budgetNanos, new SearchStatistics()));
+  }
+
+  /**
+   * Allocates resources based on the local search strategy with a default delta (δ) value of 3,
+   * reporting the statistics of the run.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the result of the allocation
+   */
+  @Override
+  public AllocationResult solve(HyperGraph hyperGraph) {
+    return solve(hyperGraph, 3);
+  }
+
+  /**
+   * Allocates resources based on the local search strategy, reporting the statistics of the run.
+   * The conflict graph construction, the greedy phase and the local search phase are timed
+   * separately; the clock is read only at the phase boundaries and the counters are plain field
+   * increments, so the run costs the same as {@link #allocate(HyperGraph, int)}.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @return the result of the allocation
+   */
+  public AllocationResult solve(HyperGraph hyperGraph, int delta) {
+    return solve(hyperGraph, delta, System.nanoTime(), -1);
+  }
+
+  /**
+   * Allocates resources based on the local search strategy within a time budget, as {@link
+   * #allocate(HyperGraph, int, Duration)} does, reporting the statistics of the run. The result is
+   * not {@linkplain AllocationResult#isComplete() complete} if the search was stopped.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @param timeBudget the maximum time the allocation should take
+   * @return the result of the allocation
+   * @throws IllegalArgumentException if the time budget is negative
+   */
+  public AllocationResult solve(HyperGraph hyperGraph, int delta, Duration timeBudget) {
+    long startTime = System.nanoTime();
+    return solve(hyperGraph, delta, startTime, toNanos(timeBudget));
+  }
+
+  /**
+   * Allocates resources based on the local search strategy, timing each phase.
+   *
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @param startTime the value of {@link System#nanoTime()} when the allocation started
+   * @param budgetNanos the time budget in nanoseconds, counted from the start time, or a negative
+   *     value for no budget
+   * @return the result of the allocation
+   */
+  private AllocationResult solve(
+      HyperGraph hyperGraph, int delta, long startTime, long budgetNanos) {
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    long builtTime = System.nanoTime();
+    int[] initial = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    long greedyTime = System.nanoTime();
+    SearchStatistics statistics = new SearchStatistics();
+    boolean[] independent =
+        optimize(adjacencyIndex, initial, delta, startTime, budgetNanos, statistics);
+    long endTime = System.nanoTime();
+    Set<Vertex> independentSet = collect(adjacencyIndex, independent);
+    return new AllocationResult(
+        independentSet,
+        new Placement(getHyperEdges(hyperGraph, independentSet)),
+        builtTime - startTime,
+        greedyTime - builtTime,
+        endTime - greedyTime,
+        endTime - startTime,
+        statistics.examinedClaws,
+        statistics.improvedVertices,
+        statistics.peakWorkingSetSize,
+        !statistics.stopped);
+  }
+
+  /**
+   * Allocates resources on a compact hypergraph based on the local search strategy with a default
+   * delta (δ) value of 3.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  @Override
+  public Set<Vertex> allocate(CompactHyperGraph hyperGraph) {
+    return allocate(hyperGraph, 3);
+  }
+
+  /**
+   * Allocates resources on a compact hypergraph based on the local search strategy. The adjacency
+   * of the conflict graph is built directly from the incidences of the compact hypergraph, which
+   * are not copied.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @param delta the delta (δ) value used
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  public Set<Vertex> allocate(CompactHyperGraph hyperGraph, int delta) {
+    AdjacencyIndex adjacencyIndex = AdjacencyIndex.of(hyperGraph);
+    return allocate(
+        adjacencyIndex, new SequentialSearchStrategy().selectIndices(adjacencyIndex), delta);
+  }
+
+  /**
+   * Improves the given initial independent set with local search and collects the result.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param initial the indices of the vertices of the initial independent set
+   * @param delta the delta (δ) value used
+   * @return the vertices of the improved independent set
+   */
+  private Set<Vertex> allocate(AdjacencyIndex adjacencyIndex, int[] initial, int delta) {
+    return collect(
+        adjacencyIndex, optimize(adjacencyIndex, initial, delta, 0, -1, new SearchStatistics()));
+  }
+
+  /**
+   * Converts a time budget to nanoseconds, saturating budgets too long to be represented.
+   *
+   * @param timeBudget the time budget
+   * @return the time budget in nanoseconds
+   * @throws IllegalArgumentException if the time budget is negative
+   */
+  private static long toNanos(Duration timeBudget) {
+    if (timeBudget.isNegative()) {
+      throw new IllegalArgumentException("Time budget must not be negative: " + timeBudget);
+    }
+    try {
+      return timeBudget.toNanos();
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  /**
+   * Improves the given initial independent set with local search, recording the statistics of the
+   * run in the given instance and then publishing it as the statistics of the last run.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param initial the indices of the vertices of the initial independent set
+   * @param delta the delta (δ) value used
+   * @param startTime the value of {@link System#nanoTime()} the time budget is counted from
+   * @param budgetNanos the time budget in nanoseconds, or a negative value for no budget
+   * @param statistics the statistics of this run
+   * @return the membership flags of the improved independent set
+   */
+  private boolean[] optimize(
+      AdjacencyIndex adjacencyIndex,
+      int[] initial,
+      int delta,
+      long startTime,
+      long budgetNanos,
+      SearchStatistics statistics) {
+    boolean[] independent = new boolean[adjacencyIndex.size()];
+    for (int index : initial) {
+      independent[index] = true;
+    }
+    WeightColumn weights = WeightColumn.of(weightMode, adjacencyIndex);
+    if (pool == null) {
+      optimizeIndependentSet(
+          independent, adjacencyIndex, weights, delta, startTime, budgetNanos, statistics);
+    } else {
+      optimizeIndependentSetInParallel(
+          independent, adjacencyIndex, weights, delta, startTime, budgetNanos, statistics);
+    }
+    lastRun = statistics;
+    return independent;
+  }
+
+  /**
+   * Collects the vertices of an independent set given by membership flags.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param independent the membership flags of the independent set
+   * @return the vertices of the independent set
+   */
+  static Set<Vertex> collect(AdjacencyIndex adjacencyIndex, boolean[] independent) {
+    Set<Vertex> independentSet = new HashSet<>();
+    for (int i = 0; i < independent.length; i++) {
+      if (independent[i]) {
+        independentSet.add(adjacencyIndex.getVertex(i));
       }
     }
+    return independentSet;
+  }
+
+  /**
+   * Gets the number of independent set vertices examined as claw centres during the last
+   * allocation.
+   *
+   * @return the number of examined vertices
+   */
+  public long getExaminedVertices() {
+    return lastRun.examinedVertices;
+  }
+
+  /**
+   * Gets the number of examined vertices whose claw search improved the independent set during the
+   * last allocation.
+   *
+   * @return the number of improved vertices
+   */
+  public long getImprovedVertices() {
+    return lastRun.improvedVertices;
   }
 
   /**
-   * Finds a phi-claw from the sorted adjacent vertices.
+   * Checks if the last allocation was stopped by its time budget or by an interruption before
+   * reaching a local optimum.
    *
-   * @param independentSet the current independent set
-   * @param adjacentVertices the set of adjacent vertices
-   * @param conflictGraph the conflict graph
-   * @param phi the size of the claw
-   * @return a set of vertices representing the claw
+   * @return true if the last allocation was stopped, false otherwise
    */
-  private Set<Vertex> findClaw(
-      Set<Vertex> independentSet,
-      Set<Vertex> adjacentVertices,
-      ConflictGraph conflictGraph,
-      int phi) {
-    Set<Vertex> result = new HashSet<>();
-    PriorityQueue<Vertex> sortedAdjacentVertices =
-        new PriorityQueue<>(Comparator.comparing(Vertex::getNegativeWeight).reversed());
-    sortedAdjacentVertices.addAll(adjacentVertices);
-    generateClaw(
-        independentSet, result, sortedAdjacentVertices, conflictGraph, new HashSet<>(), phi);
-    return result;
+  public boolean isStopped() {
+    return lastRun.stopped;
   }
 
   /**
-   * Generates a claw recursively by adding valid vertices.
+   * Optimizes the given independent set by searching for better sets using local search. The
+   * vertices of the independent set are kept in a work queue ordered by weight. A vertex whose claw
+   * search fails leaves the queue and is not looked at again until a swap changes its
+   * neighbourhood, so after an improvement only the vertices around the swap are re-examined.
    *
-   * @param independentSet the current independent set
-   * @param result the set to store the valid claw
-   * @param remaining the priority queue of vertices that can still be added to the claw
-   * @param conflictGraph the conflict graph
-   * @param currentGroup the current group being formed
-   * @param phi the size of the claw
+   * @param independent the membership flags of the independent set to be optimized
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param weights the weights of the conflict graph vertices
+   * @param delta the delta (δ) value used
+   * @param startTime the value of {@link System#nanoTime()} the time budget is counted from
+   * @param budgetNanos the time budget in nanoseconds, or a negative value for no budget
+   * @param statistics the statistics of this run
    */
-  private void generateClaw(
-      Set<Vertex> independentSet,
-      Set<Vertex> result,
-      PriorityQueue<Vertex> remaining,
-      ConflictGraph conflictGraph,
-      Set<Vertex> currentGroup,
-      int phi) {
-    if (currentGroup.size() == phi) {
-      if (isValidClaw(currentGroup, independentSet, conflictGraph, result)) {
-        return;
+  private void optimizeIndependentSet(
+      boolean[] independent,
+      AdjacencyIndex adjacencyIndex,
+      WeightColumn weights,
+      int delta,
+      long startTime,
+      long budgetNanos,
+      SearchStatistics statistics) {
+    int[] order = orderByWeight(adjacencyIndex);
+    int[][] sortedNeighbours = sortNeighbours(adjacencyIndex, order);
+    ClawFinder clawFinder =
+        new ClawFinder(adjacencyIndex, sortedNeighbours, weights, independent, delta);
+    if (budgetNanos >= 0) {
+      clawFinder.setTimeBudget(startTime, budgetNanos, Thread.currentThread());
+    }
+    PriorityQueue<Integer> workQueue =
+        new PriorityQueue<>((vertex1, vertex2) -> Integer.compare(order[vertex2], order[vertex1]));
+    boolean[] queued = new boolean[independent.length];
+    for (int i = 0; i < independent.length; i++) {
+      if (independent[i]) {
+        enqueue(i, workQueue, queued);
       }
-    } else {
-      while (!remaining.isEmpty()) {
-        Vertex vertex = remaining.poll();
-        if (isValidToAdd(currentGroup, vertex, conflictGraph)) {
-          currentGroup.add(vertex);
-          generateClaw(
-              independentSet,
-              result,
-              new PriorityQueue<>(remaining),
-              conflictGraph,
-              currentGroup,
-              phi);
-          if (result.size() == phi) {
-            return;
+    }
+    statistics.peakWorkingSetSize = workQueue.size();
+
+    while (!workQueue.isEmpty() && !clawFinder.isStopped()) {
+      int currentVertex = workQueue.poll();
+      queued[currentVertex] = false;
+      if (!independent[currentVertex]) {
+        continue;
+      }
+      statistics.examinedVertices++;
+      if (clawFinder.find(currentVertex)) {
+        int[] removed = clawFinder.getRemoved();
+        int[] claw = clawFinder.getClaw();
+        for (int i = 0; i < clawFinder.getRemovedSize(); i++) {
+          independent[removed[i]] = false;
+        }
+        for (int i = 0; i < clawFinder.getClawSize(); i++) {
+          independent[claw[i]] = true;
+        }
+        statistics.improvedVertices++;
+        enqueueAffectedVertices(
+            claw,
+            clawFinder.getClawSize(),
+            removed,
+            clawFinder.getRemovedSize(),
+            independent,
+            sortedNeighbours,
+            workQueue,
+            queued);
+        statistics.peakWorkingSetSize = Math.max(statistics.peakWorkingSetSize, workQueue.size());
+      }
+    }
+    statistics.examinedClaws = clawFinder.getExaminedClaws();
+    statistics.stopped = clawFinder.isStopped();
+  }
+
+  /**
+   * Optimizes the given independent set by local search, running the claw searches of each round in
+   * parallel on the pool and committing the non-conflicting swaps in order of decreasing weight of
+   * their centres.
+   *
+   * @param independent the membership flags of the independent set to be optimized
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param weights the weights of the conflict graph vertices
+   * @param delta the delta (δ) value used
+   * @param startTime the value of {@link System#nanoTime()} the time budget is counted from
+   * @param budgetNanos the time budget in nanoseconds, or a negative value for no budget
+   * @param statistics the statistics of this run
+   */
+  private void optimizeIndependentSetInParallel(
+      boolean[] independent,
+      AdjacencyIndex adjacencyIndex,
+      WeightColumn weights,
+      int delta,
+      long startTime,
+      long budgetNanos,
+      SearchStatistics statistics) {
+    int[] order = orderByWeight(adjacencyIndex);
+    int[][] sortedNeighbours = sortNeighbours(adjacencyIndex, order);
+    ParallelClawSearch clawSearch =
+        new ParallelClawSearch(pool, adjacencyIndex, sortedNeighbours, weights, independent, delta);
+    if (budgetNanos >= 0) {
+      clawSearch.setTimeBudget(startTime, budgetNanos, Thread.currentThread());
+    }
+    PriorityQueue<Integer> workQueue =
+        new PriorityQueue<>((vertex1, vertex2) -> Integer.compare(order[vertex2], order[vertex1]));
+    boolean[] queued = new boolean[independent.length];
+    for (int i = 0; i < independent.length; i++) {
+      if (independent[i]) {
+        enqueue(i, workQueue, queued);
+      }
+    }
+    statistics.peakWorkingSetSize = workQueue.size();
+    int[] centres = new int[independent.length];
+    int[] changed = new int[independent.length];
+    int round = 0;
+
+    while (!workQueue.isEmpty() && !clawSearch.isStopped()) {
+      statistics.peakWorkingSetSize = Math.max(statistics.peakWorkingSetSize, workQueue.size());
+      int count = 0;
+      while (!workQueue.isEmpty()) {
+        int centre = workQueue.poll();
+        queued[centre] = false;
+        if (independent[centre]) {
+          centres[count++] = centre;
+        }
+      }
+      statistics.examinedVertices += count;
+      clawSearch.search(centres, count);
+
+      round++;
+      for (int k = 0; k < count; k++) {
+        int[] claw = clawSearch.getClaw(k);
+        if (claw == null) {
+          continue;
+        }
+        if (isChanged(claw, sortedNeighbours, changed, round)) {
+          if (independent[centres[k]]) {
+            enqueue(centres[k], workQueue, queued);
           }
-          currentGroup.remove(vertex);
+          continue;
         }
+        int[] removed = clawSearch.getRemoved(k);
+        for (int vertex : removed) {
+          independent[vertex] = false;
+          changed[vertex] = round;
+        }
+        for (int vertex : claw) {
+          independent[vertex] = true;
+          changed[vertex] = round;
+        }
+        statistics.improvedVertices++;
+        enqueueAffectedVertices(
+            claw,
+            claw.length,
+            removed,
+            removed.length,
+            independent,
+            sortedNeighbours,
+            workQueue,
+            queued);
       }
     }
+    statistics.examinedClaws = clawSearch.getExaminedClaws();
+    statistics.stopped = clawSearch.isStopped();
   }
 
   /**
-   * Checks if the given claw improves the weight of the independent set.
+   * Checks whether a vertex of a claw, or one of its neighbours, was changed by a swap committed
+   * earlier in the current round. A claw found at the start of the round is still valid and still
+   * improving if none of them was changed, since the independent set vertices it displaces are
+   * exactly its neighbours in the independent set.
    *
-   * @param currentGroup the current group of vertices forming the claw
-   * @param independentSet the current independent set
-   * @param conflictGraph the conflict graph
-   * @param result the set to store the valid claw
-   * @return true if the claw improves the weight, false otherwise
+   * @param claw the vertices of the claw
+   * @param sortedNeighbours the neighbours of each vertex
+   * @param changed the last round in which each vertex entered or left the independent set
+   * @param round the current round
+   * @return true if the neighbourhood of the claw was changed, false otherwise
    */
-  private boolean isValidClaw(
-      Set<Vertex> currentGroup,
-      Set<Vertex> independentSet,
-      ConflictGraph conflictGraph,
-      Set<Vertex> result) {
-    Set<Vertex> adjacentVertexIndependentSet =
-        findAdjacentVertexIndependentSet(currentGroup, independentSet, conflictGraph);
-    Set<Vertex> resultingVertices = new HashSet<>(independentSet);
-    resultingVertices.removeAll(adjacentVertexIndependentSet);
-    resultingVertices.addAll(currentGroup);
-    if (isWeightImproved(resultingVertices, independentSet)) {
-      result.addAll(currentGroup);
-      return true;
+  private static boolean isChanged(int[] claw, int[][] sortedNeighbours, int[] changed, int round) {
+    for (int vertex : claw) {
+      if (changed[vertex] == round) {
+        return true;
+      }
+      for (int neighbour : sortedNeighbours[vertex]) {
+        if (changed[neighbour] == round) {
+          return true;
+        }
+      }
     }
     return false;
   }
 
   /**
-   * Determines if the new set of vertices has a better weight than the old set.
+   * Re-enqueues the vertices of the independent set whose claw search may have changed after a
+   * swap. The outcome of a claw search centred on a vertex depends on which neighbours of its
+   * neighbours belong to the independent set, so the affected vertices are the new claw vertices
+   * and the independent set vertices within distance two of a vertex that entered or left the set.
    *
-   * @param newSet the new set of vertices
-   * @param oldSet the old set of vertices
-   * @return true if the new set has a better weight, false otherwise
+   * @param claw the vertices that entered the independent set
+   * @param clawSize the number of vertices that entered the independent set
+   * @param removed the vertices that left the independent set
+   * @param removedSize the number of vertices that left the independent set
+   * @param independent the membership flags of the independent set
+   * @param sortedNeighbours the neighbours of each vertex
+   * @param workQueue the work queue
+   * @param queued the flags of the vertices currently in the work queue
    */
-  private boolean isWeightImproved(Set<Vertex> newSet, Set<Vertex> oldSet) {
-    BigDecimal oldWeightSquared = calculateWeight(oldSet).pow(2);
-    BigDecimal newWeightSquared = calculateWeight(newSet).pow(2);
-    return newWeightSquared.compareTo(oldWeightSquared) < 0;
+  static void enqueueAffectedVertices(
+      int[] claw,
+      int clawSize,
+      int[] removed,
+      int removedSize,
+      boolean[] independent,
+      int[][] sortedNeighbours,
+      PriorityQueue<Integer> workQueue,
+      boolean[] queued) {
+    for (int i = 0; i < clawSize; i++) {
+      enqueue(claw[i], workQueue, queued);
+    }
+    for (int i = 0; i < clawSize + removedSize; i++) {
+      int changedVertex = i < clawSize ? claw[i] : removed[i - clawSize];
+      for (int neighbour : sortedNeighbours[changedVertex]) {
+        for (int affectedVertex : sortedNeighbours[neighbour]) {
+          if (independent[affectedVertex]) {
+            enqueue(affectedVertex, workQueue, queued);
+          }
+        }
+      }
+    }
   }
 
   /**
-   * Calculates the total weight of a set of vertices.
+   * Adds a vertex to the work queue unless it is already queued.
    *
-   * @param vertices the set of vertices
-   * @return the total weight of the vertices
+   * @param vertex the index of the vertex to be added
+   * @param workQueue the work queue
+   * @param queued the flags of the vertices currently in the work queue
    */
-  private BigDecimal calculateWeight(Set<Vertex> vertices) {
-    return vertices.stream()
-        .map(Vertex::getNegativeWeight)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+  static void enqueue(int vertex, PriorityQueue<Integer> workQueue, boolean[] queued) {
+    if (!queued[vertex]) {
+      queued[vertex] = true;
+      workQueue.add(vertex);
+    }
   }
 
   /**
-   * Checks if it is valid to add a vertex to the current group.
+   * Computes the position of each vertex in the order of increasing weight, breaking ties by index.
    *
-   * @param currentGroup the current group of vertices
-   * @param vertex the vertex to be added
-   * @param conflictGraph the conflict graph
-   * @return true if the vertex can be added, false otherwise
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @return the position of each vertex, indexed by vertex
    */
-  private boolean isValidToAdd(
-      Set<Vertex> currentGroup, Vertex vertex, ConflictGraph conflictGraph) {
-    return currentGroup.stream()
-        .noneMatch(groupVertex -> conflictGraph.areVerticesConnected(vertex, groupVertex));
+  static int[] orderByWeight(AdjacencyIndex adjacencyIndex) {
+    Integer[] vertices = new Integer[adjacencyIndex.size()];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = i;
+    }
+    Arrays.sort(
+        vertices,
+        Comparator.comparing(
+                (Integer vertex) -> adjacencyIndex.getVertex(vertex).getNegativeWeight())
+            .reversed()
+            .thenComparingInt(vertex -> vertex));
+    int[] order = new int[vertices.length];
+    for (int position = 0; position < vertices.length; position++) {
+      order[vertices[position]] = position;
+    }
+    return order;
   }
 
   /**
-   * Finds the set of vertices in the initial independent set that are adjacent to the given set of
-   * vertices.
+   * Sorts the neighbours of every vertex by increasing weight, using the given order of the
+   * vertices as a primitive sort key.
    *
-   * @param currentGroup the current group of vertices
-   * @param independentSet the current independent set
-   * @param conflictGraph the conflict graph
-   * @return a set of vertices from the initial independent set that are adjacent to the given set
-   *     of vertices
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param order the position of each vertex in the order of increasing weight
+   * @return the sorted neighbours of each vertex, indexed by vertex
    */
-  private Set<Vertex> findAdjacentVertexIndependentSet(
-      Set<Vertex> currentGroup, Set<Vertex> independentSet, ConflictGraph conflictGraph) {
-    return currentGroup.stream()
-        .flatMap(vertex -> conflictGraph.getAdjacentVertices(vertex).stream())
-        .filter(independentSet::contains)
-        .collect(Collectors.toSet());
+  static int[][] sortNeighbours(AdjacencyIndex adjacencyIndex, int[] order) {
+    int[] vertexAt = new int[order.length];
+    for (int i = 0; i < order.length; i++) {
+      vertexAt[order[i]] = i;
+    }
+    int[][] sortedNeighbours = new int[order.length][];
+    for (int i = 0; i < order.length; i++) {
+      int[] neighbours = adjacencyIndex.getNeighbours(i);
+      for (int k = 0; k < neighbours.length; k++) {
+        neighbours[k] = order[neighbours[k]];
+      }
+      Arrays.sort(neighbours);
+      for (int k = 0; k < neighbours.length; k++) {
+        neighbours[k] = vertexAt[neighbours[k]];
+      }
+      sortedNeighbours[i] = neighbours;
+    }
+    return sortedNeighbours;
   }
 }
@@ -0,0 +1,260 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+
+/**
+ * Runs the claw searches of one round of the local search in parallel. The searches only read the
+ * independent set, which is not modified while a round is in progress, so the centres of a round
+ * are split into ranges searched by fork-join tasks, each with its own {@link ClawFinder}. The claw
+ * finders, which own scratch buffers as large as the conflict graph, are recycled from one task and
+ * one round to the next, so at most one is created for each thread running the searches.
+ *
+ * <p>The claw found for each centre, if any, is stored at the position of the centre in the round,
+ * so the outcome of a round does not depend on how the ranges are scheduled. The minimum number of
+ * centres searched by a task can be lowered for callers whose rounds hold only a few centres, each
+ * costly enough to be worth a task of its own.
+ */
+final class ParallelClawSearch {
+
+  /** The minimum number of centres searched by a single fork-join task. */
+  static final int MIN_CENTRES_PER_TASK = 16;
+
+  private final ForkJoinPool pool;
+  private final AdjacencyIndex adjacencyIndex;
+  private final int[][] sortedNeighbours;
+  private final WeightColumn weights;
+  private final boolean[] independent;
+  private final int delta;
+  private final int minCentresPerTask;
+  private final AtomicLong searchedRanges = new AtomicLong();
+  private final Queue<ClawFinder> idleFinders = new ConcurrentLinkedQueue<>();
+  private final Queue<ClawFinder> allFinders = new ConcurrentLinkedQueue<>();
+
+  private long startNanos;
+  private long budgetNanos;
+  private Thread thread;
+
+  private int[] centres = new int[0];
+  private int[][] claws = new int[0][];
+  private int[][] removed = new int[0][];
+
+  /**
+   * Constructs a parallel claw search splitting the rounds into tasks of at least {@link
+   * #MIN_CENTRES_PER_TASK} centres.
+   *
+   * @param pool the pool running the searches
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param sortedNeighbours the neighbours of each vertex, sorted by increasing weight
+   * @param weights the weights of the conflict graph vertices, forked for each claw finder
+   * @param independent the membership flags of the independent set, read during the searches
+   * @param delta the delta (δ) value used, which is the maximum size of a claw
+   */
+  ParallelClawSearch(
+      ForkJoinPool pool,
+      AdjacencyIndex adjacencyIndex,
+      int[][] sortedNeighbours,
+      WeightColumn weights,
+      boolean[] independent,
+      int delta) {
+    this(pool, adjacencyIndex, sortedNeighbours, weights, independent, delta, MIN_CENTRES_PER_TASK);
+  }
+
+  /**
+   * Constructs a parallel claw search.
+   *
+   * @param pool the pool running the searches
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param sortedNeighbours the neighbours of each vertex, sorted by increasing weight
+   * @param weights the weights of the conflict graph vertices, forked for each claw finder
+   * @param independent the membership flags of the independent set, read during the searches
+   * @param delta the delta (δ) value used, which is the maximum size of a claw
+   * @param minCentresPerTask the minimum number of centres searched by a single fork-join task
+   * @throws IllegalArgumentException if the minimum number of centres per task is not positive
+   */
+  ParallelClawSearch(
+      ForkJoinPool pool,
+      AdjacencyIndex adjacencyIndex,
+      int[][] sortedNeighbours,
+      WeightColumn weights,
+      boolean[] independent,
+      int delta,
+      int minCentresPerTask) {
+    if (minCentresPerTask < 1) {
+      throw new IllegalArgumentException(
+          "Minimum number of centres per task must be positive: " + minCentresPerTask);
+    }
+    this.pool = pool;
+    this.adjacencyIndex = adjacencyIndex;
+    this.sortedNeighbours = sortedNeighbours;
+    this.weights = weights;
+    this.independent = independent;
+    this.delta = delta;
+    this.minCentresPerTask = minCentresPerTask;
+  }
+
+  /**
+   * Limits the time the searches may take and makes them stop when the given thread is interrupted,
+   * as {@link ClawFinder#setTimeBudget(long, long, Thread)} does.
+   *
+   * @param startNanos the value of {@link System#nanoTime()} the budget is counted from
+   * @param budgetNanos the budget in nanoseconds
+   * @param thread the thread whose interruption cancels the searches
+   */
+  void setTimeBudget(long startNanos, long budgetNanos, Thread thread) {
+    this.startNanos = startNanos;
+    this.budgetNanos = budgetNanos;
+    this.thread = thread;
+  }
+
+  /**
+   * Searches for an improving claw centred on each of the given independent set vertices. The claws
+   * found are then available through {@link #getClaw(int)} and {@link #getRemoved(int)}.
+   *
+   * @param roundCentres the indices of the independent set vertices, which are not modified
+   * @param count the number of centres
+   */
+  void search(int[] roundCentres, int count) {
+    centres = roundCentres;
+    if (claws.length < count) {
+      claws = new int[count][];
+      removed = new int[count][];
+    }
+    if (count <= minCentresPerTask) {
+      searchRange(0, count);
+    } else {
+      int centresPerTask = Math.max(minCentresPerTask, count / (4 * pool.getParallelism()) + 1);
+      pool.invoke(new SearchTask(0, count, centresPerTask));
+    }
+  }
+
+  /**
+   * Searches the centres of the given range with a claw finder taken from the idle ones.
+   *
+   * @param from the first position of the range, inclusive
+   * @param to the last position of the range, exclusive
+   */
+  private void searchRange(int from, int to) {
+    searchedRanges.incrementAndGet();
+    ClawFinder clawFinder = idleFinders.poll();
+    if (clawFinder == null) {
+      clawFinder =
+          new ClawFinder(adjacencyIndex, sortedNeighbours, weights.fork(), independent, delta);
+      if (thread != null) {
+        clawFinder.setTimeBudget(startNanos, budgetNanos, thread);
+      }
+      allFinders.add(clawFinder);
+    }
+    try {
+      for (int k = from; k < to; k++) {
+        if (clawFinder.find(centres[k])) {
+          claws[k] = Arrays.copyOf(clawFinder.getClaw(), clawFinder.getClawSize());
+          removed[k] = Arrays.copyOf(clawFinder.getRemoved(), clawFinder.getRemovedSize());
+        } else {
+          claws[k] = null;
+          removed[k] = null;
+        }
+      }
+    } finally {
+      idleFinders.add(clawFinder);
+    }
+  }
+
+  /**
+   * Gets the improving claw found for the centre at the given position of the last round.
+   *
+   * @param k the position of the centre
+   * @return the vertices of the claw, or null if no improving claw was found
+   */
+  int[] getClaw(int k) {
+    return claws[k];
+  }
+
+  /**
+   * Gets the independent set vertices displaced by the claw found for the centre at the given
+   * position of the last round.
+   *
+   * @param k the position of the centre
+   * @return the displaced vertices, or null if no improving claw was found
+   */
+  int[] getRemoved(int k) {
+    return removed[k];
+  }
+
+  /**
+   * Gets the number of complete claws whose weight was evaluated by all the searches so far.
+   *
+   * @return the number of examined claws
+   */
+  long getExaminedClaws() {
+    long examinedClaws = 0;
+    for (ClawFinder clawFinder : allFinders) {
+      examinedClaws += clawFinder.getExaminedClaws();
+    }
+    return examinedClaws;
+  }
+
+  /**
+   * Gets the number of ranges of centres searched by a single claw finder so far, which is the
+   * number of fork-join tasks run when a round is split, or one for a round searched inline.
+   *
+   * @return the number of searched ranges
+   */
+  long getSearchedRanges() {
+    return searchedRanges.get();
+  }
+
+  /**
+   * Checks whether the searches were stopped by the time budget or by an interruption.
+   *
+   * @return true if any claw finder was stopped, false otherwise
+   */
+  boolean isStopped() {
+    for (ClawFinder clawFinder : allFinders) {
+      if (clawFinder.isStopped()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** A fork-join task searching a range of the centres of a round. */
+  private final class SearchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final int centresPerTask;
+
+    /**
+     * Constructs a task for the given range of centres.
+     *
+     * @param from the first position of the range, inclusive
+     * @param to the last position of the range, exclusive
+     * @param centresPerTask the number of centres below which the range is not split further
+     */
+    private SearchTask(int from, int to, int centresPerTask) {
+      this.from = from;
+      this.to = to;
+      this.centresPerTask = centresPerTask;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= centresPerTask) {
+        searchRange(from, to);
+      } else {
+        int middle = (from + to) >>> 1;
+        invokeAll(
+            new SearchTask(from, middle, centresPerTask),
+            new SearchTask(middle, to, centresPerTask));
+      }
+    }
+  }
+}
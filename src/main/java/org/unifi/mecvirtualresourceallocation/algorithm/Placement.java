@@ -0,0 +1,68 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+/**
+ * This class represents the placement selected by an allocation strategy: the hyperedges of the
+ * hypergraph chosen as an independent set of the conflict graph. The hyperedges are held by
+ * reference, so no lookup in the hypergraph is needed to read the placement, and each VM can be
+ * mapped to the hyperedge hosting it in constant time.
+ */
+public final class Placement {
+
+  private final Set<HyperEdge> hyperEdges;
+  private final Map<Vertex, HyperEdge> hyperEdgesByVertex;
+
+  /**
+   * Constructs a placement from the selected hyperedges, which must be pairwise disjoint.
+   *
+   * @param hyperEdges the selected hyperedges
+   * @throws IllegalArgumentException if two hyperedges share a vertex
+   */
+  public Placement(Set<HyperEdge> hyperEdges) {
+    this.hyperEdges = Collections.unmodifiableSet(new HashSet<>(hyperEdges));
+    this.hyperEdgesByVertex = new HashMap<>();
+    for (HyperEdge hyperEdge : hyperEdges) {
+      for (Vertex vertex : hyperEdge.getVertices()) {
+        if (hyperEdgesByVertex.put(vertex, hyperEdge) != null) {
+          throw new IllegalArgumentException(
+              "Vertex " + vertex.getId() + " is placed by more than one HyperEdge");
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the selected hyperedges.
+   *
+   * @return an unmodifiable set of the selected hyperedges
+   */
+  public Set<HyperEdge> getHyperEdges() {
+    return hyperEdges;
+  }
+
+  /**
+   * Gets the selected hyperedge containing the given vertex.
+   *
+   * @param vertex the vertex
+   * @return the hyperedge hosting the vertex, or null if the vertex is not placed
+   */
+  public HyperEdge getHyperEdge(Vertex vertex) {
+    return hyperEdgesByVertex.get(vertex);
+  }
+
+  /**
+   * Gets the number of vertices placed by the selected hyperedges.
+   *
+   * @return the number of placed vertices
+   */
+  public int getNumPlacedVertices() {
+    return hyperEdgesByVertex.size();
+  }
+}
@@ -0,0 +1,30 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+/**
+ * The statistics of a single run of a local search. Each run fills its own instance on the thread
+ * that drives the search, so concurrent runs on a shared strategy never write to the same counters;
+ * the strategy only publishes the instance of the last run to finish once the run is complete.
+ */
+final class SearchStatistics {
+
+  /** The number of independent set vertices examined as claw centres. */
+  long examinedVertices;
+
+  /** The number of examined vertices whose claw search improved the independent set. */
+  long improvedVertices;
+
+  /** The number of complete claws whose weight was evaluated. */
+  long examinedClaws;
+
+  /** The largest number of vertices waiting in the work queue. */
+  int peakWorkingSetSize;
+
+  /** Whether the search was stopped before reaching a local optimum. */
+  boolean stopped;
+
+  /** The number of colour classes processed, over all rounds, by a coloured search. */
+  long colourClasses;
+
+  /** The number of fork-join tasks that searched the centres of the colour classes. */
+  long searchTasks;
+}
@@ -1,8 +1,14 @@
 package org.unifi.mecvirtualresourceallocation.algorithm;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.CompactHyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
 import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.Vertex;
@@ -23,28 +29,130 @@ public class SequentialSearchStrategy implements AllocationStrategy {
   @Override
   public Set<Vertex> allocate(HyperGraph hyperGraph) {
     ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
     Set<Vertex> selectedVertices = new HashSet<>();
-    Set<Vertex> vertices = new HashSet<>(conflictGraph.getVertices());
-    while (!vertices.isEmpty()) {
-      Vertex maxWeightVertex = findMaxWeightVertex(vertices);
-      Set<Vertex> adjacentVertices = conflictGraph.getAdjacentVertices(maxWeightVertex);
-      selectedVertices.add(maxWeightVertex);
-      vertices.remove(maxWeightVertex);
-      vertices.removeAll(adjacentVertices);
+    for (int index : selectIndices(conflictGraph)) {
+      selectedVertices.add(adjacencyIndex.getVertex(index));
     }
     return selectedVertices;
   }
 
   /**
-   * Finds the vertex with the maximum weight in the given set of vertices.
+   * Allocates resources based on the sequential search strategy, timing the construction of the
+   * conflict graph separately from the greedy selection.
    *
-   * @param vertices the set of vertices
-   * @return the vertex with the maximum weight
+   * @param hyperGraph the hypergraph used to allocate resources
+   * @return the result of the allocation
+   */
+  @Override
+  public AllocationResult solve(HyperGraph hyperGraph) {
+    long startTime = System.nanoTime();
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    long builtTime = System.nanoTime();
+    int[] selected = selectIndices(conflictGraph);
+    long endTime = System.nanoTime();
+    Set<Vertex> selectedVertices = new HashSet<>();
+    for (int index : selected) {
+      selectedVertices.add(adjacencyIndex.getVertex(index));
+    }
+    return new AllocationResult(
+        selectedVertices,
+        new Placement(getHyperEdges(hyperGraph, selectedVertices)),
+        builtTime - startTime,
+        endTime - builtTime,
+        0,
+        endTime - startTime,
+        0,
+        0,
+        0,
+        true);
+  }
+
+  /**
+   * Allocates resources on a compact hypergraph based on the sequential search strategy. The
+   * adjacency of the conflict graph is built directly from the incidences of the compact
+   * hypergraph, which are not copied, and ties between vertices of equal weight are broken by
+   * ascending ID.
+   *
+   * @param hyperGraph the compact hypergraph used to allocate resources
+   * @return a set of vertices in the conflict graph selected by the allocation strategy
+   */
+  @Override
+  public Set<Vertex> allocate(CompactHyperGraph hyperGraph) {
+    AdjacencyIndex adjacencyIndex = AdjacencyIndex.of(hyperGraph);
+    Set<Vertex> selectedVertices = new HashSet<>();
+    for (int index : selectIndices(adjacencyIndex)) {
+      selectedVertices.add(adjacencyIndex.getVertex(index));
+    }
+    return selectedVertices;
+  }
+
+  /**
+   * Selects an independent set of the conflict graph greedily. The vertices are sorted once by
+   * decreasing negative weight and then scanned in that order: each vertex that has not been
+   * removed yet is selected, and its neighbours are marked as removed in a bitmap. Ties are broken
+   * by the iteration order of {@link ConflictGraph#getVertices()}, which is the vertex a linear
+   * search for the maximum over the remaining vertices would return.
+   *
+   * @param conflictGraph the conflict graph
+   * @return the adjacency indices of the selected vertices, in selection order
+   */
+  int[] selectIndices(ConflictGraph conflictGraph) {
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    List<Vertex> sortedVertices = new ArrayList<>(conflictGraph.getVertices());
+    sortedVertices.sort(Comparator.comparing(Vertex::getNegativeWeight).reversed());
+    int[] scanOrder = new int[sortedVertices.size()];
+    for (int i = 0; i < scanOrder.length; i++) {
+      scanOrder[i] = adjacencyIndex.indexOf(sortedVertices.get(i));
+    }
+    return select(adjacencyIndex, scanOrder);
+  }
+
+  /**
+   * Selects an independent set of an indexed conflict graph greedily, as {@link
+   * #selectIndices(ConflictGraph)} does, breaking ties by index.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @return the adjacency indices of the selected vertices, in selection order
    */
-  private Vertex findMaxWeightVertex(Set<Vertex> vertices) {
-    return vertices.stream()
-        .max(Comparator.comparing(Vertex::getNegativeWeight))
-        .orElseThrow(
-            () -> new IllegalArgumentException("The set of vertices cannot be null or empty."));
+  int[] selectIndices(AdjacencyIndex adjacencyIndex) {
+    Integer[] sortedIndices = new Integer[adjacencyIndex.size()];
+    for (int i = 0; i < sortedIndices.length; i++) {
+      sortedIndices[i] = i;
+    }
+    Arrays.sort(
+        sortedIndices,
+        Comparator.comparing((Integer index) -> adjacencyIndex.getVertex(index).getNegativeWeight())
+            .reversed());
+    int[] scanOrder = new int[sortedIndices.length];
+    for (int i = 0; i < scanOrder.length; i++) {
+      scanOrder[i] = sortedIndices[i];
+    }
+    return select(adjacencyIndex, scanOrder);
+  }
+
+  /**
+   * Scans the vertices in the given order, selecting each vertex that has not been removed yet and
+   * marking its neighbours as removed.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param scanOrder the indices of the vertices, in the order in which they are scanned
+   * @return the adjacency indices of the selected vertices, in selection order
+   */
+  private static int[] select(AdjacencyIndex adjacencyIndex, int[] scanOrder) {
+    BitSet removed = new BitSet(adjacencyIndex.size());
+    int[] selected = new int[adjacencyIndex.size()];
+    int count = 0;
+    for (int index : scanOrder) {
+      if (!removed.get(index)) {
+        selected[count++] = index;
+        removed.set(index);
+        for (int neighbour : adjacencyIndex.getNeighbours(index)) {
+          removed.set(neighbour);
+        }
+      }
+    }
+    return Arrays.copyOf(selected, count);
   }
 }
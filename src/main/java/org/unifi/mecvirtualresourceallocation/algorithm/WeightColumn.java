@@ -0,0 +1,260 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+
+/**
+ * A column holding the weights of the vertices of an adjacency index in the representation of a
+ * {@link WeightMode}, together with a small set of accumulator registers. The strategies compare
+ * sums of weights by adding and subtracting vertices into a register and looking at its sign, so
+ * that the primitive modes never allocate.
+ */
+abstract class WeightColumn {
+
+  /** The number of accumulator registers of a column. */
+  static final int REGISTERS = 4;
+
+  /**
+   * Creates the weight column of the vertices of the given adjacency index.
+   *
+   * @param mode the numeric representation of the weights
+   * @param index the adjacency index whose vertex weights are converted
+   * @return the weight column
+   * @throws IllegalArgumentException if a weight cannot be represented in the given mode
+   */
+  static WeightColumn of(WeightMode mode, AdjacencyIndex index) {
+    BigDecimal[] weights = new BigDecimal[index.size()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = index.getVertex(i).getWeight();
+    }
+    return switch (mode) {
+      case BIG_DECIMAL -> new BigDecimalColumn(weights);
+      case FIXED_POINT -> new FixedPointColumn(weights, false);
+      case FIXED_POINT_ROUNDED -> new FixedPointColumn(weights, true);
+      case DOUBLE -> new DoubleColumn(weights);
+    };
+  }
+
+  /**
+   * Creates a column sharing the weights of this one with its own registers, so that several
+   * threads can accumulate sums over the same weights concurrently.
+   *
+   * @return the new column, with all registers set to zero
+   */
+  abstract WeightColumn fork();
+
+  /**
+   * Resets the given register to zero.
+   *
+   * @param register the register
+   */
+  abstract void clear(int register);
+
+  /**
+   * Adds the weight of a vertex to the given register.
+   *
+   * @param register the register
+   * @param vertex the index of the vertex
+   */
+  abstract void add(int register, int vertex);
+
+  /**
+   * Subtracts the weight of a vertex from the given register.
+   *
+   * @param register the register
+   * @param vertex the index of the vertex
+   */
+  abstract void subtract(int register, int vertex);
+
+  /**
+   * Copies the value of a register into another one.
+   *
+   * @param from the source register
+   * @param to the target register
+   */
+  abstract void copy(int from, int to);
+
+  /**
+   * Gets the sign of the given register.
+   *
+   * @param register the register
+   * @return -1, 0 or 1 as the register is negative, zero or positive
+   */
+  abstract int signum(int register);
+
+  /** A weight column using exact {@link BigDecimal} arithmetic. */
+  private static final class BigDecimalColumn extends WeightColumn {
+
+    private final BigDecimal[] weights;
+    private final BigDecimal[] registers = new BigDecimal[REGISTERS];
+
+    private BigDecimalColumn(BigDecimal[] weights) {
+      this.weights = weights;
+      for (int i = 0; i < REGISTERS; i++) {
+        registers[i] = BigDecimal.ZERO;
+      }
+    }
+
+    @Override
+    WeightColumn fork() {
+      return new BigDecimalColumn(weights);
+    }
+
+    @Override
+    void clear(int register) {
+      registers[register] = BigDecimal.ZERO;
+    }
+
+    @Override
+    void add(int register, int vertex) {
+      registers[register] = registers[register].add(weights[vertex]);
+    }
+
+    @Override
+    void subtract(int register, int vertex) {
+      registers[register] = registers[register].subtract(weights[vertex]);
+    }
+
+    @Override
+    void copy(int from, int to) {
+      registers[to] = registers[from];
+    }
+
+    @Override
+    int signum(int register) {
+      return registers[register].signum();
+    }
+  }
+
+  /** A weight column using exact {@code long} arithmetic on micro-units. */
+  private static final class FixedPointColumn extends WeightColumn {
+
+    private final long[] weights;
+    private final long[] registers = new long[REGISTERS];
+
+    private FixedPointColumn(long[] weights) {
+      this.weights = weights;
+    }
+
+    private FixedPointColumn(BigDecimal[] weights, boolean round) {
+      this.weights = new long[weights.length];
+      for (int i = 0; i < weights.length; i++) {
+        try {
+          BigDecimal weight = weights[i];
+          if (round) {
+            weight = weight.setScale(WeightMode.FIXED_POINT_DIGITS, RoundingMode.HALF_EVEN);
+          }
+          this.weights[i] = weight.movePointRight(WeightMode.FIXED_POINT_DIGITS).longValueExact();
+        } catch (ArithmeticException e) {
+          throw new IllegalArgumentException(
+              "Weight "
+                  + weights[i]
+                  + " cannot be represented exactly with "
+                  + WeightMode.FIXED_POINT_DIGITS
+                  + " decimal digits.",
+              e);
+        }
+      }
+    }
+
+    @Override
+    WeightColumn fork() {
+      return new FixedPointColumn(weights);
+    }
+
+    @Override
+    void clear(int register) {
+      registers[register] = 0;
+    }
+
+    @Override
+    void add(int register, int vertex) {
+      registers[register] = Math.addExact(registers[register], weights[vertex]);
+    }
+
+    @Override
+    void subtract(int register, int vertex) {
+      registers[register] = Math.subtractExact(registers[register], weights[vertex]);
+    }
+
+    @Override
+    void copy(int from, int to) {
+      registers[to] = registers[from];
+    }
+
+    @Override
+    int signum(int register) {
+      return Long.signum(registers[register]);
+    }
+  }
+
+  /**
+   * A weight column using {@code double} arithmetic. Besides its value, each register keeps the
+   * magnitudes of the weights added to and subtracted from it, against which the {@link
+   * WeightMode#DOUBLE_TOLERANCE} is applied.
+   */
+  private static final class DoubleColumn extends WeightColumn {
+
+    private final double[] weights;
+    private final double[] registers = new double[REGISTERS];
+    private final double[] added = new double[REGISTERS];
+    private final double[] subtracted = new double[REGISTERS];
+
+    private DoubleColumn(double[] weights) {
+      this.weights = weights;
+    }
+
+    private DoubleColumn(BigDecimal[] weights) {
+      this.weights = new double[weights.length];
+      for (int i = 0; i < weights.length; i++) {
+        this.weights[i] = weights[i].doubleValue();
+        if (!Double.isFinite(this.weights[i])) {
+          throw new IllegalArgumentException(
+              "Weight " + weights[i] + " cannot be represented as a finite double.");
+        }
+      }
+    }
+
+    @Override
+    WeightColumn fork() {
+      return new DoubleColumn(weights);
+    }
+
+    @Override
+    void clear(int register) {
+      registers[register] = 0;
+      added[register] = 0;
+      subtracted[register] = 0;
+    }
+
+    @Override
+    void add(int register, int vertex) {
+      registers[register] += weights[vertex];
+      added[register] += Math.abs(weights[vertex]);
+    }
+
+    @Override
+    void subtract(int register, int vertex) {
+      registers[register] -= weights[vertex];
+      subtracted[register] += Math.abs(weights[vertex]);
+    }
+
+    @Override
+    void copy(int from, int to) {
+      registers[to] = registers[from];
+      added[to] = added[from];
+      subtracted[to] = subtracted[from];
+    }
+
+    @Override
+    int signum(int register) {
+      double tolerance =
+          WeightMode.DOUBLE_TOLERANCE * Math.max(added[register], subtracted[register]);
+      if (Math.abs(registers[register]) <= tolerance) {
+        return 0;
+      }
+      return (int) Math.signum(registers[register]);
+    }
+  }
+}
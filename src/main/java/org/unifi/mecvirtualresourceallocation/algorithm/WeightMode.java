@@ -0,0 +1,49 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+/**
+ * This enum defines the numeric representation used by the allocation strategies for the weights of
+ * the conflict graph vertices in their inner loops. The weights are converted once, when a strategy
+ * starts, and every conversion is checked so that a mode never silently loses precision beyond what
+ * it promises.
+ */
+public enum WeightMode {
+
+  /**
+   * Exact {@link java.math.BigDecimal} arithmetic. This is the reference mode; it allocates on
+   * every addition and is the slowest.
+   */
+  BIG_DECIMAL,
+
+  /**
+   * Exact {@code long} arithmetic on weights scaled to micro-units ({@value #FIXED_POINT_DIGITS}
+   * decimal digits). Weights with more decimal digits are rejected, and overflowing sums throw an
+   * {@link ArithmeticException}. Use {@link #FIXED_POINT_ROUNDED} for weights such as those drawn
+   * from {@link java.util.Random#nextDouble()}.
+   */
+  FIXED_POINT,
+
+  /**
+   * Exact {@code long} arithmetic on weights rounded half-even to micro-units ({@value
+   * #FIXED_POINT_DIGITS} decimal digits). This is an explicit opt-in to the rounding: the search is
+   * exact on the rounded weights, so it still terminates, but it may treat swaps that differ by
+   * less than the rounding error as ties or miss them. Overflowing sums throw an {@link
+   * ArithmeticException}.
+   */
+  FIXED_POINT_ROUNDED,
+
+  /**
+   * Approximate {@code double} arithmetic. Weights must be finite; sums are subject to the usual
+   * floating-point rounding. A sum is taken to be zero unless its magnitude exceeds {@value
+   * #DOUBLE_TOLERANCE} times the larger of its added and subtracted parts, so a swap is accepted
+   * only if it improves the weight by more than that relative margin. Otherwise a swap and its
+   * reverse, whose sums are rounded in different orders, could both appear slightly improving and
+   * the search could alternate between them forever.
+   */
+  DOUBLE;
+
+  /** The number of decimal digits kept by the {@link #FIXED_POINT} mode. */
+  public static final int FIXED_POINT_DIGITS = 6;
+
+  /** The relative margin below which the {@link #DOUBLE} mode takes a sum to be zero. */
+  public static final double DOUBLE_TOLERANCE = 1e-12;
+}
@@ -46,7 +46,7 @@ public final class HyperGraphGenerator {
   private static Set<Vertex> generateVertices(int numVertices, Random rand) {
     Set<Vertex> vertices = new HashSet<>();
     for (int i = 1; i <= numVertices; i++) {
-      vertices.add(new Vertex(String.valueOf(i), rand.nextDouble() * 10));
+      vertices.add(new Vertex(i, rand.nextDouble() * 10));
     }
     return vertices;
   }
@@ -75,12 +75,12 @@ public final class HyperGraphGenerator {
       }
       if (i == 1) {
         uniqueHyperEdgeSets.add(edgeVertices);
-        hyperEdges.add(new HyperEdge(String.valueOf(i), edgeVertices));
+        hyperEdges.add(new HyperEdge(i, edgeVertices));
       } else if (uniqueHyperEdgeSets.contains(edgeVertices)) {
         i--;
       } else {
         uniqueHyperEdgeSets.add(edgeVertices);
-        hyperEdges.add(new HyperEdge(String.valueOf(i), edgeVertices));
+        hyperEdges.add(new HyperEdge(i, edgeVertices));
       }
     }
     return hyperEdges;
@@ -103,7 +103,7 @@ public final class HyperGraphGenerator {
                 .min(Comparator.comparingInt(hyperEdge -> hyperEdge.getVertices().size()));
 
         if (optionalTargetEdge.isPresent()) {
-          optionalTargetEdge.get().getVertices().add(vertex);
+          optionalTargetEdge.get().addVertex(vertex);
         } else {
           Map<Vertex, Long> vertexFrequency =
               hyperEdges.stream()
@@ -125,8 +125,8 @@ public final class HyperGraphGenerator {
                           new IllegalStateException(
                               "No hyperedge containing the most frequent vertex found."));
 
-          targetEdge.getVertices().remove(mostFrequentVertex);
-          targetEdge.getVertices().add(vertex);
+          targetEdge.removeVertex(mostFrequentVertex);
+          targetEdge.addVertex(vertex);
         }
       }
     }
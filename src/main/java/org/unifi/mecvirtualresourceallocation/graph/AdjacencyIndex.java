@@ -0,0 +1,195 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+
+/**
+ * This class represents the adjacency of a conflict graph over dense integer indices. Each vertex
+ * of the conflict graph is mapped to an index between zero and the number of vertices, in ascending
+ * order of ID, so that connectivity checks and neighbourhood intersections can be answered without
+ * hashing. Dense graphs are backed by {@code long[]} bitset rows, which turn intersections into
+ * word-parallel operations, while sparse graphs are backed by sorted {@code int[]} neighbour lists.
+ * The backend is chosen automatically from the edge density.
+ */
+public abstract class AdjacencyIndex {
+
+  /** The edge density at or above which the bitset backend is used. */
+  static final double DENSITY_THRESHOLD = 1.0 / 32;
+
+  private final Vertex[] vertices;
+  private final Map<Vertex, Integer> indices;
+
+  /**
+   * Constructs an adjacency index over the given vertices.
+   *
+   * @param vertices the vertices of the conflict graph, in index order
+   */
+  AdjacencyIndex(Vertex[] vertices) {
+    this.vertices = vertices;
+    this.indices = new HashMap<>();
+    for (int i = 0; i < vertices.length; i++) {
+      indices.put(vertices[i], i);
+    }
+  }
+
+  /**
+   * Creates the adjacency index of the given conflict graph.
+   *
+   * @param conflictGraph the conflict graph to be indexed
+   * @return the adjacency index of the conflict graph
+   */
+  public static AdjacencyIndex of(ConflictGraph conflictGraph) {
+    List<Vertex> vertexList = new ArrayList<>(conflictGraph.getVertices());
+    vertexList.sort(Comparator.comparingInt(Vertex::getIntId));
+    Vertex[] vertices = vertexList.toArray(new Vertex[0]);
+    Map<Vertex, Integer> positions = new HashMap<>();
+    for (int i = 0; i < vertices.length; i++) {
+      positions.put(vertices[i], i);
+    }
+
+    int[][] neighbours = new int[vertices.length][];
+    for (int i = 0; i < vertices.length; i++) {
+      int[] row =
+          conflictGraph.getAdjacentVertices(vertices[i]).stream()
+              .mapToInt(positions::get)
+              .toArray();
+      Arrays.sort(row);
+      neighbours[i] = row;
+    }
+    return of(vertices, neighbours);
+  }
+
+  /**
+   * Creates the adjacency index of the conflict graph of the given compact hypergraph, without
+   * materialising the conflict graph. The conflict vertex at index {@code j} corresponds to the
+   * hyperedge at index {@code j} of the compact hypergraph.
+   *
+   * @param hyperGraph the compact hypergraph
+   * @return the adjacency index of the conflict graph of the hypergraph
+   */
+  public static AdjacencyIndex of(CompactHyperGraph hyperGraph) {
+    int numHyperEdges = hyperGraph.getNumHyperEdges();
+    Vertex[] vertices = new Vertex[numHyperEdges];
+    int[][] neighbours = new int[numHyperEdges][];
+    int[] lastSeen = new int[numHyperEdges];
+    Arrays.fill(lastSeen, -1);
+    int[] buffer = new int[Math.max(1, numHyperEdges)];
+
+    for (int j = 0; j < numHyperEdges; j++) {
+      vertices[j] = new Vertex(hyperGraph.getHyperEdgeId(j), hyperGraph.getHyperEdgeWeight(j));
+      lastSeen[j] = j;
+      int count = 0;
+      PrimitiveIterator.OfInt members = hyperGraph.getHyperEdgeVertices(j);
+      while (members.hasNext()) {
+        PrimitiveIterator.OfInt incident = hyperGraph.getVertexHyperEdges(members.nextInt());
+        while (incident.hasNext()) {
+          int other = incident.nextInt();
+          if (lastSeen[other] != j) {
+            lastSeen[other] = j;
+            buffer[count++] = other;
+          }
+        }
+      }
+      int[] row = Arrays.copyOf(buffer, count);
+      Arrays.sort(row);
+      neighbours[j] = row;
+    }
+    return of(vertices, neighbours);
+  }
+
+  /**
+   * Creates an adjacency index from sorted neighbour lists, choosing the backend from the edge
+   * density.
+   *
+   * @param vertices the vertices, in index order
+   * @param neighbours the sorted neighbour indices of each vertex
+   * @return the adjacency index
+   */
+  static AdjacencyIndex of(Vertex[] vertices, int[][] neighbours) {
+    long degreeSum = 0;
+    for (int[] row : neighbours) {
+      degreeSum += row.length;
+    }
+    long n = vertices.length;
+    boolean dense = n > 1 && degreeSum >= DENSITY_THRESHOLD * n * (n - 1);
+    return dense
+        ? new BitSetAdjacencyIndex(vertices, neighbours)
+        : new SortedArrayAdjacencyIndex(vertices, neighbours);
+  }
+
+  /**
+   * Gets the number of indexed vertices.
+   *
+   * @return the number of vertices
+   */
+  public int size() {
+    return vertices.length;
+  }
+
+  /**
+   * Gets the vertex at the given index.
+   *
+   * @param index the index of the vertex
+   * @return the vertex
+   */
+  public Vertex getVertex(int index) {
+    return vertices[index];
+  }
+
+  /**
+   * Gets the index of the given vertex.
+   *
+   * @param vertex the vertex
+   * @return the index of the vertex, or -1 if the vertex is not indexed
+   */
+  public int indexOf(Vertex vertex) {
+    Integer index = indices.get(vertex);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * Checks whether this index is backed by bitset rows.
+   *
+   * @return true if the bitset backend is used, false if the sorted list backend is used
+   */
+  public abstract boolean isDense();
+
+  /**
+   * Checks if the vertices at the given indices are connected.
+   *
+   * @param index1 the index of the first vertex
+   * @param index2 the index of the second vertex
+   * @return true if the vertices are connected, false otherwise
+   */
+  public abstract boolean areConnected(int index1, int index2);
+
+  /**
+   * Gets the number of neighbours of the vertex at the given index.
+   *
+   * @param index the index of the vertex
+   * @return the degree of the vertex
+   */
+  public abstract int getDegree(int index);
+
+  /**
+   * Gets the indices of the neighbours of the vertex at the given index, in ascending order.
+   *
+   * @param index the index of the vertex
+   * @return a new array with the neighbour indices
+   */
+  public abstract int[] getNeighbours(int index);
+
+  /**
+   * Counts the neighbours shared by the vertices at the given indices.
+   *
+   * @param index1 the index of the first vertex
+   * @param index2 the index of the second vertex
+   * @return the size of the intersection of the two neighbourhoods
+   */
+  public abstract int countCommonNeighbours(int index1, int index2);
+}
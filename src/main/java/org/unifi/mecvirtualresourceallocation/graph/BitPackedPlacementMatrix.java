@@ -0,0 +1,216 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * This class represents a placement matrix with one bit per entry. Each row, which corresponds to a
+ * vertex, is stored as an array of {@code long} words, with column {@code j} held in bit {@code j %
+ * 64} of word {@code j / 64}. The matrix takes a thirty-second of the memory of the dense {@code
+ * int[][]} form, and the hyperedges of a vertex can be enumerated a word at a time.
+ */
+public final class BitPackedPlacementMatrix {
+
+  private final int numColumns;
+  private final long[][] rows;
+
+  /**
+   * Constructs a bit-packed placement matrix of the given dimensions with all entries set to zero.
+   *
+   * @param numRows the number of rows
+   * @param numColumns the number of columns
+   * @throws IllegalArgumentException if a dimension is negative
+   */
+  public BitPackedPlacementMatrix(int numRows, int numColumns) {
+    if (numRows < 0 || numColumns < 0) {
+      throw new IllegalArgumentException("Placement matrix dimensions must not be negative");
+    }
+    this.numColumns = numColumns;
+    this.rows = new long[numRows][(numColumns + 63) >>> 6];
+  }
+
+  /**
+   * Creates a bit-packed placement matrix from a dense one.
+   *
+   * @param placementMatrix the dense placement matrix, containing only 0s and 1s
+   * @return the bit-packed placement matrix
+   * @throws IllegalArgumentException if the matrix contains values other than 0 and 1 or if its
+   *     rows have different lengths
+   */
+  public static BitPackedPlacementMatrix fromDense(int[][] placementMatrix) {
+    int numColumns = placementMatrix.length == 0 ? 0 : placementMatrix[0].length;
+    BitPackedPlacementMatrix matrix =
+        new BitPackedPlacementMatrix(placementMatrix.length, numColumns);
+    for (int i = 0; i < placementMatrix.length; i++) {
+      if (placementMatrix[i].length != numColumns) {
+        throw new IllegalArgumentException("Placement matrix rows must have the same length");
+      }
+      for (int j = 0; j < numColumns; j++) {
+        if (placementMatrix[i][j] == 1) {
+          matrix.set(i, j);
+        } else if (placementMatrix[i][j] != 0) {
+          throw new IllegalArgumentException("Placement matrix must contain only 0 or 1 values");
+        }
+      }
+    }
+    return matrix;
+  }
+
+  /**
+   * Gets the number of rows, which is the number of vertices.
+   *
+   * @return the number of rows
+   */
+  public int getNumRows() {
+    return rows.length;
+  }
+
+  /**
+   * Gets the number of columns, which is the number of hyperedges.
+   *
+   * @return the number of columns
+   */
+  public int getNumColumns() {
+    return numColumns;
+  }
+
+  /**
+   * Checks whether the entry at the given position is one.
+   *
+   * @param row the row
+   * @param column the column
+   * @return true if the entry is one, false otherwise
+   */
+  public boolean get(int row, int column) {
+    checkColumn(column);
+    return (rows[row][column >>> 6] & (1L << column)) != 0;
+  }
+
+  /**
+   * Sets the entry at the given position to one.
+   *
+   * @param row the row
+   * @param column the column
+   */
+  public void set(int row, int column) {
+    checkColumn(column);
+    rows[row][column >>> 6] |= 1L << column;
+  }
+
+  /**
+   * Sets the entry at the given position to zero.
+   *
+   * @param row the row
+   * @param column the column
+   */
+  public void clear(int row, int column) {
+    checkColumn(column);
+    rows[row][column >>> 6] &= ~(1L << column);
+  }
+
+  /**
+   * Gets the words of the given row.
+   *
+   * @param row the row
+   * @return a copy of the words of the row
+   */
+  public long[] getRow(int row) {
+    return rows[row].clone();
+  }
+
+  /**
+   * Gets the number of non-zero entries.
+   *
+   * @return the number of non-zero entries
+   */
+  public long getNumNonZeros() {
+    long count = 0;
+    for (long[] row : rows) {
+      for (long word : row) {
+        count += Long.bitCount(word);
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Converts this matrix to the sparse form.
+   *
+   * @return the sparse placement matrix
+   */
+  public SparsePlacementMatrix toSparse() {
+    int[] columnOffsets = new int[numColumns + 1];
+    for (long[] row : rows) {
+      forEachColumn(row, column -> columnOffsets[column + 1]++);
+    }
+    for (int j = 0; j < numColumns; j++) {
+      columnOffsets[j + 1] += columnOffsets[j];
+    }
+    int[] rowIndices = new int[columnOffsets[numColumns]];
+    int[] positions = Arrays.copyOf(columnOffsets, numColumns);
+    for (int i = 0; i < rows.length; i++) {
+      int rowIndex = i;
+      forEachColumn(rows[i], column -> rowIndices[positions[column]++] = rowIndex);
+    }
+    return new SparsePlacementMatrix(rows.length, columnOffsets, rowIndices);
+  }
+
+  /**
+   * Converts this matrix to the dense form.
+   *
+   * @return the dense placement matrix
+   */
+  public int[][] toDense() {
+    int[][] placementMatrix = new int[rows.length][numColumns];
+    for (int i = 0; i < rows.length; i++) {
+      int[] denseRow = placementMatrix[i];
+      forEachColumn(rows[i], column -> denseRow[column] = 1);
+    }
+    return placementMatrix;
+  }
+
+  /**
+   * Calls the given action with the column of each set bit of a row, in ascending order.
+   *
+   * @param row the words of the row
+   * @param action the action to be called
+   */
+  private static void forEachColumn(long[] row, IntConsumer action) {
+    for (int w = 0; w < row.length; w++) {
+      long word = row[w];
+      while (word != 0) {
+        action.accept((w << 6) + Long.numberOfTrailingZeros(word));
+        word &= word - 1;
+      }
+    }
+  }
+
+  /**
+   * Checks that a column is within the bounds of the matrix.
+   *
+   * @param column the column
+   * @throws IndexOutOfBoundsException if the column is out of bounds
+   */
+  private void checkColumn(int column) {
+    if (column < 0 || column >= numColumns) {
+      throw new IndexOutOfBoundsException("Column " + column + " out of bounds");
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    BitPackedPlacementMatrix matrix = (BitPackedPlacementMatrix) o;
+    return numColumns == matrix.numColumns && Arrays.deepEquals(rows, matrix.rows);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * numColumns + Arrays.deepHashCode(rows);
+  }
+}
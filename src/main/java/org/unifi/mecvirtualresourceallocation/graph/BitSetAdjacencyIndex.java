@@ -0,0 +1,71 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+/**
+ * An adjacency index backed by one {@code long[]} bitset row per vertex. Connectivity checks are a
+ * single bit test and neighbourhood intersections are computed one 64-bit word at a time.
+ */
+final class BitSetAdjacencyIndex extends AdjacencyIndex {
+
+  private final long[][] rows;
+  private final int[] degrees;
+
+  /**
+   * Constructs a bitset adjacency index from sorted neighbour lists.
+   *
+   * @param vertices the vertices, in index order
+   * @param neighbours the sorted neighbour indices of each vertex
+   */
+  BitSetAdjacencyIndex(Vertex[] vertices, int[][] neighbours) {
+    super(vertices);
+    int words = (vertices.length + 63) >>> 6;
+    this.rows = new long[vertices.length][words];
+    this.degrees = new int[vertices.length];
+    for (int i = 0; i < vertices.length; i++) {
+      for (int neighbour : neighbours[i]) {
+        rows[i][neighbour >>> 6] |= 1L << neighbour;
+      }
+      degrees[i] = neighbours[i].length;
+    }
+  }
+
+  @Override
+  public boolean isDense() {
+    return true;
+  }
+
+  @Override
+  public boolean areConnected(int index1, int index2) {
+    return (rows[index1][index2 >>> 6] & (1L << index2)) != 0;
+  }
+
+  @Override
+  public int getDegree(int index) {
+    return degrees[index];
+  }
+
+  @Override
+  public int[] getNeighbours(int index) {
+    long[] row = rows[index];
+    int[] result = new int[degrees[index]];
+    int count = 0;
+    for (int word = 0; word < row.length; word++) {
+      long bits = row[word];
+      while (bits != 0) {
+        result[count++] = (word << 6) + Long.numberOfTrailingZeros(bits);
+        bits &= bits - 1;
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public int countCommonNeighbours(int index1, int index2) {
+    long[] row1 = rows[index1];
+    long[] row2 = rows[index2];
+    int count = 0;
+    for (int word = 0; word < row1.length; word++) {
+      count += Long.bitCount(row1[word] & row2[word]);
+    }
+    return count;
+  }
+}
@@ -0,0 +1,517 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+/**
+ * This class represents an immutable hypergraph stored in a compressed sparse row (CSR) layout.
+ * Vertices and hyperedges are identified by dense indices, sorted by their numeric IDs, and the
+ * incidences are kept in primitive {@code int[]} arrays of offsets and members, both from
+ * hyperedges to vertices and from vertices to hyperedges. Weights are kept in {@code double[]}
+ * columns; the weight of a hyperedge is the exact {@link BigDecimal} sum of the weights of its
+ * vertices, as in {@link HyperEdge#getWeight()}, rounded once to the nearest {@code double}. Since
+ * rounding preserves order, the strategies rank the hyperedges of a compact hypergraph as they rank
+ * those of the equivalent {@link HyperGraph}, except that two different exact sums may round to the
+ * same {@code double} and then be broken as a tie. Compared to {@link HyperGraph}, the memory cost
+ * is a few bytes per incidence, and all read access goes through primitive iterators so that no
+ * boxing is needed.
+ *
+ * <p>The columns are held in {@link IntBuffer} and {@link DoubleBuffer} views, which wrap heap
+ * arrays for hypergraphs built in memory and memory-mapped file regions for hypergraphs opened with
+ * {@link HyperGraphFile#map(java.nio.file.Path)}.
+ */
+public final class CompactHyperGraph {
+
+  private final IntBuffer vertexIds;
+  private final DoubleBuffer vertexWeights;
+  private final IntBuffer hyperEdgeIds;
+  private final DoubleBuffer hyperEdgeWeights;
+  private final IntBuffer hyperEdgeOffsets;
+  private final IntBuffer hyperEdgeMembers;
+  private final IntBuffer vertexOffsets;
+  private final IntBuffer vertexMembers;
+
+  /**
+   * Constructs a compact hypergraph from its CSR arrays. The arrays are not copied. The members of
+   * each hyperedge must be sorted in ascending order.
+   *
+   * @param vertexIds the IDs of the vertices, sorted in ascending order
+   * @param vertexWeights the weights of the vertices
+   * @param hyperEdgeIds the IDs of the hyperedges, sorted in ascending order
+   * @param hyperEdgeWeights the weights of the hyperedges
+   * @param hyperEdgeOffsets the offsets of each hyperedge in the members array, with one extra
+   *     trailing entry equal to the number of incidences
+   * @param hyperEdgeMembers the vertex indices of all hyperedges, one hyperedge after the other
+   */
+  CompactHyperGraph(
+      int[] vertexIds,
+      double[] vertexWeights,
+      int[] hyperEdgeIds,
+      double[] hyperEdgeWeights,
+      int[] hyperEdgeOffsets,
+      int[] hyperEdgeMembers) {
+    int[] vertexOffsets = new int[vertexIds.length + 1];
+    int[] vertexMembers = new int[hyperEdgeMembers.length];
+    transpose(vertexIds.length, hyperEdgeOffsets, hyperEdgeMembers, vertexOffsets, vertexMembers);
+    this.vertexIds = IntBuffer.wrap(vertexIds);
+    this.vertexWeights = DoubleBuffer.wrap(vertexWeights);
+    this.hyperEdgeIds = IntBuffer.wrap(hyperEdgeIds);
+    this.hyperEdgeWeights = DoubleBuffer.wrap(hyperEdgeWeights);
+    this.hyperEdgeOffsets = IntBuffer.wrap(hyperEdgeOffsets);
+    this.hyperEdgeMembers = IntBuffer.wrap(hyperEdgeMembers);
+    this.vertexOffsets = IntBuffer.wrap(vertexOffsets);
+    this.vertexMembers = IntBuffer.wrap(vertexMembers);
+  }
+
+  /**
+   * Constructs a compact hypergraph over existing buffers, including the vertex-to-hyperedge
+   * incidences. The buffers are neither copied nor read, so they can be views of a memory-mapped
+   * file that is paged in on first access.
+   *
+   * @param vertexIds the IDs of the vertices, sorted in ascending order
+   * @param vertexWeights the weights of the vertices
+   * @param hyperEdgeIds the IDs of the hyperedges, sorted in ascending order
+   * @param hyperEdgeWeights the weights of the hyperedges
+   * @param hyperEdgeOffsets the offsets of each hyperedge in the hyperedge members
+   * @param hyperEdgeMembers the vertex indices of all hyperedges, one hyperedge after the other
+   * @param vertexOffsets the offsets of each vertex in the vertex members
+   * @param vertexMembers the hyperedge indices of all vertices, one vertex after the other
+   */
+  CompactHyperGraph(
+      IntBuffer vertexIds,
+      DoubleBuffer vertexWeights,
+      IntBuffer hyperEdgeIds,
+      DoubleBuffer hyperEdgeWeights,
+      IntBuffer hyperEdgeOffsets,
+      IntBuffer hyperEdgeMembers,
+      IntBuffer vertexOffsets,
+      IntBuffer vertexMembers) {
+    this.vertexIds = vertexIds;
+    this.vertexWeights = vertexWeights;
+    this.hyperEdgeIds = hyperEdgeIds;
+    this.hyperEdgeWeights = hyperEdgeWeights;
+    this.hyperEdgeOffsets = hyperEdgeOffsets;
+    this.hyperEdgeMembers = hyperEdgeMembers;
+    this.vertexOffsets = vertexOffsets;
+    this.vertexMembers = vertexMembers;
+  }
+
+  /**
+   * Creates a compact copy of the given hypergraph.
+   *
+   * @param hyperGraph the hypergraph to be copied
+   * @return the compact representation of the hypergraph
+   */
+  public static CompactHyperGraph of(HyperGraph hyperGraph) {
+    List<Vertex> vertexList = new ArrayList<>(hyperGraph.getVertices());
+    vertexList.sort(Comparator.comparingInt(Vertex::getIntId));
+    List<HyperEdge> hyperEdgeList = new ArrayList<>(hyperGraph.getHyperEdges());
+    hyperEdgeList.sort(Comparator.comparingInt(HyperEdge::getIntId));
+
+    int numVertices = vertexList.size();
+    int[] vertexIds = new int[numVertices];
+    double[] vertexWeights = new double[numVertices];
+    Map<Vertex, Integer> vertexIndices = new HashMap<>();
+    for (int i = 0; i < numVertices; i++) {
+      Vertex vertex = vertexList.get(i);
+      vertexIds[i] = vertex.getIntId();
+      vertexWeights[i] = vertex.getWeight().doubleValue();
+      vertexIndices.put(vertex, i);
+    }
+
+    int numHyperEdges = hyperEdgeList.size();
+    int[] hyperEdgeIds = new int[numHyperEdges];
+    double[] hyperEdgeWeights = new double[numHyperEdges];
+    int[] hyperEdgeOffsets = new int[numHyperEdges + 1];
+    for (int j = 0; j < numHyperEdges; j++) {
+      HyperEdge hyperEdge = hyperEdgeList.get(j);
+      hyperEdgeIds[j] = hyperEdge.getIntId();
+      hyperEdgeWeights[j] = hyperEdge.getWeight().doubleValue();
+      hyperEdgeOffsets[j + 1] = hyperEdgeOffsets[j] + hyperEdge.getVertices().size();
+    }
+
+    int[] hyperEdgeMembers = new int[hyperEdgeOffsets[numHyperEdges]];
+    for (int j = 0; j < numHyperEdges; j++) {
+      int position = hyperEdgeOffsets[j];
+      for (Vertex vertex : hyperEdgeList.get(j).getVertices()) {
+        hyperEdgeMembers[position++] = vertexIndices.get(vertex);
+      }
+      Arrays.sort(hyperEdgeMembers, hyperEdgeOffsets[j], position);
+    }
+
+    return new CompactHyperGraph(
+        vertexIds,
+        vertexWeights,
+        hyperEdgeIds,
+        hyperEdgeWeights,
+        hyperEdgeOffsets,
+        hyperEdgeMembers);
+  }
+
+  /**
+   * Creates a compact hypergraph from a placement matrix and vertex weights, following the same
+   * conventions as {@link HyperGraph#HyperGraph(int[][], double[])}: row {@code i} becomes the
+   * vertex with ID {@code i + 1} and column {@code j} becomes the hyperedge with ID {@code j + 1}.
+   *
+   * @param placementMatrix the placement matrix where rows represent vertices and columns represent
+   *     hyperedges. Each element should be 1 if the corresponding vertex is part of the hyperedge,
+   *     otherwise 0
+   * @param weights the array of weights for the vertices. The order of weights must match the order
+   *     of rows in the placement matrix
+   * @return the compact hypergraph described by the placement matrix
+   * @throws IllegalArgumentException if the matrix contains values other than 0 and 1, if a column
+   *     is empty, or if the number of weights does not match the number of rows
+   */
+  public static CompactHyperGraph fromPlacementMatrix(int[][] placementMatrix, double[] weights) {
+    if (placementMatrix.length != weights.length) {
+      throw new IllegalArgumentException(
+          "Mismatch between number of weights and placement matrix rows");
+    }
+    return fromPlacementMatrix(SparsePlacementMatrix.fromDense(placementMatrix), weights);
+  }
+
+  /**
+   * Creates a compact hypergraph from a sparse placement matrix and vertex weights, following the
+   * same conventions as {@link #fromPlacementMatrix(int[][], double[])}. The columns of the matrix
+   * are used directly as the hyperedge-to-vertex incidences, so the cost is proportional to the
+   * number of non-zero entries.
+   *
+   * @param placementMatrix the sparse placement matrix
+   * @param weights the array of weights for the vertices, in the order of the rows
+   * @return the compact hypergraph described by the placement matrix
+   * @throws IllegalArgumentException if a column is empty, or if the number of weights does not
+   *     match the number of rows
+   */
+  public static CompactHyperGraph fromPlacementMatrix(
+      SparsePlacementMatrix placementMatrix, double[] weights) {
+    if (placementMatrix.getNumRows() != weights.length) {
+      throw new IllegalArgumentException(
+          "Mismatch between number of weights and placement matrix rows");
+    }
+    int numVertices = placementMatrix.getNumRows();
+    int numHyperEdges = placementMatrix.getNumColumns();
+
+    int[] hyperEdgeOffsets = placementMatrix.getColumnOffsets();
+    int[] hyperEdgeMembers = placementMatrix.getRowIndices();
+    double[] hyperEdgeWeights = new double[numHyperEdges];
+    int[] hyperEdgeIds = new int[numHyperEdges];
+    for (int j = 0; j < numHyperEdges; j++) {
+      if (hyperEdgeOffsets[j + 1] == hyperEdgeOffsets[j]) {
+        throw new IllegalArgumentException("Cannot add a HyperEdge with no vertices.");
+      }
+      BigDecimal hyperEdgeWeight = BigDecimal.ZERO;
+      for (int k = hyperEdgeOffsets[j]; k < hyperEdgeOffsets[j + 1]; k++) {
+        hyperEdgeWeight =
+            hyperEdgeWeight.add(BigDecimal.valueOf(Math.abs(weights[hyperEdgeMembers[k]])));
+      }
+      hyperEdgeWeights[j] = hyperEdgeWeight.doubleValue();
+      hyperEdgeIds[j] = j + 1;
+    }
+
+    int[] vertexIds = new int[numVertices];
+    double[] vertexWeights = new double[numVertices];
+    for (int i = 0; i < numVertices; i++) {
+      vertexIds[i] = i + 1;
+      vertexWeights[i] = Math.abs(weights[i]);
+    }
+
+    return new CompactHyperGraph(
+        vertexIds,
+        vertexWeights,
+        hyperEdgeIds,
+        hyperEdgeWeights,
+        hyperEdgeOffsets,
+        hyperEdgeMembers);
+  }
+
+  /**
+   * Builds the vertex-to-hyperedge incidences by transposing the hyperedge-to-vertex ones.
+   *
+   * @param numVertices the number of vertices
+   * @param hyperEdgeOffsets the offsets of each hyperedge in the hyperedge members
+   * @param hyperEdgeMembers the vertex indices of all hyperedges
+   * @param vertexOffsets the array receiving the offsets of each vertex
+   * @param vertexMembers the array receiving the hyperedge indices of all vertices
+   */
+  private static void transpose(
+      int numVertices,
+      int[] hyperEdgeOffsets,
+      int[] hyperEdgeMembers,
+      int[] vertexOffsets,
+      int[] vertexMembers) {
+    for (int member : hyperEdgeMembers) {
+      vertexOffsets[member + 1]++;
+    }
+    for (int i = 0; i < numVertices; i++) {
+      vertexOffsets[i + 1] += vertexOffsets[i];
+    }
+    int[] positions = Arrays.copyOf(vertexOffsets, numVertices);
+    for (int j = 0; j < hyperEdgeOffsets.length - 1; j++) {
+      for (int k = hyperEdgeOffsets[j]; k < hyperEdgeOffsets[j + 1]; k++) {
+        vertexMembers[positions[hyperEdgeMembers[k]]++] = j;
+      }
+    }
+  }
+
+  /**
+   * Gets the number of vertices.
+   *
+   * @return the number of vertices
+   */
+  public int getNumVertices() {
+    return vertexIds.limit();
+  }
+
+  /**
+   * Gets the number of hyperedges.
+   *
+   * @return the number of hyperedges
+   */
+  public int getNumHyperEdges() {
+    return hyperEdgeIds.limit();
+  }
+
+  /**
+   * Gets the number of incidences, that is, the number of non-zero elements of the placement
+   * matrix.
+   *
+   * @return the number of incidences
+   */
+  public int getNumIncidences() {
+    return hyperEdgeMembers.limit();
+  }
+
+  /**
+   * Gets the ID of the vertex at the given index.
+   *
+   * @param vertex the index of the vertex
+   * @return the ID of the vertex
+   */
+  public int getVertexId(int vertex) {
+    return vertexIds.get(vertex);
+  }
+
+  /**
+   * Gets the weight of the vertex at the given index.
+   *
+   * @param vertex the index of the vertex
+   * @return the weight of the vertex
+   */
+  public double getVertexWeight(int vertex) {
+    return vertexWeights.get(vertex);
+  }
+
+  /**
+   * Gets the number of hyperedges that contain the vertex at the given index.
+   *
+   * @param vertex the index of the vertex
+   * @return the degree of the vertex
+   */
+  public int getVertexDegree(int vertex) {
+    return vertexOffsets.get(vertex + 1) - vertexOffsets.get(vertex);
+  }
+
+  /**
+   * Gets the indices of the hyperedges that contain the vertex at the given index, in ascending
+   * order.
+   *
+   * @param vertex the index of the vertex
+   * @return a primitive iterator over the hyperedge indices
+   */
+  public PrimitiveIterator.OfInt getVertexHyperEdges(int vertex) {
+    return new RangeIterator(
+        vertexMembers, vertexOffsets.get(vertex), vertexOffsets.get(vertex + 1));
+  }
+
+  /**
+   * Finds the index of the vertex with the given ID.
+   *
+   * @param id the ID of the vertex
+   * @return the index of the vertex, or a negative value if no vertex has the given ID
+   */
+  public int indexOfVertex(int id) {
+    return binarySearch(vertexIds, id);
+  }
+
+  /**
+   * Gets the ID of the hyperedge at the given index.
+   *
+   * @param hyperEdge the index of the hyperedge
+   * @return the ID of the hyperedge
+   */
+  public int getHyperEdgeId(int hyperEdge) {
+    return hyperEdgeIds.get(hyperEdge);
+  }
+
+  /**
+   * Gets the weight of the hyperedge at the given index, which is the sum of the weights of its
+   * vertices.
+   *
+   * @param hyperEdge the index of the hyperedge
+   * @return the weight of the hyperedge
+   */
+  public double getHyperEdgeWeight(int hyperEdge) {
+    return hyperEdgeWeights.get(hyperEdge);
+  }
+
+  /**
+   * Gets the number of vertices of the hyperedge at the given index.
+   *
+   * @param hyperEdge the index of the hyperedge
+   * @return the size of the hyperedge
+   */
+  public int getHyperEdgeSize(int hyperEdge) {
+    return hyperEdgeOffsets.get(hyperEdge + 1) - hyperEdgeOffsets.get(hyperEdge);
+  }
+
+  /**
+   * Gets the indices of the vertices of the hyperedge at the given index, in ascending order.
+   *
+   * @param hyperEdge the index of the hyperedge
+   * @return a primitive iterator over the vertex indices
+   */
+  public PrimitiveIterator.OfInt getHyperEdgeVertices(int hyperEdge) {
+    return new RangeIterator(
+        hyperEdgeMembers, hyperEdgeOffsets.get(hyperEdge), hyperEdgeOffsets.get(hyperEdge + 1));
+  }
+
+  /**
+   * Finds the index of the hyperedge with the given ID.
+   *
+   * @param id the ID of the hyperedge
+   * @return the index of the hyperedge, or a negative value if no hyperedge has the given ID
+   */
+  public int indexOfHyperEdge(int id) {
+    return binarySearch(hyperEdgeIds, id);
+  }
+
+  /**
+   * Converts this compact hypergraph back into a {@link HyperGraph}, which also validates it.
+   *
+   * @return the equivalent hypergraph
+   */
+  public HyperGraph toHyperGraph() {
+    Vertex[] vertices = new Vertex[getNumVertices()];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = new Vertex(getVertexId(i), getVertexWeight(i));
+    }
+    Set<HyperEdge> hyperEdges = new HashSet<>();
+    for (int j = 0; j < getNumHyperEdges(); j++) {
+      Set<Vertex> members = new HashSet<>();
+      PrimitiveIterator.OfInt iterator = getHyperEdgeVertices(j);
+      while (iterator.hasNext()) {
+        members.add(vertices[iterator.nextInt()]);
+      }
+      hyperEdges.add(new HyperEdge(getHyperEdgeId(j), members));
+    }
+    return new HyperGraph(new HashSet<>(Arrays.asList(vertices)), hyperEdges);
+  }
+
+  /**
+   * Writes the columns of this compact hypergraph to the given sink, in the order of the sections
+   * of {@link HyperGraphFile}.
+   *
+   * @param sink the sink receiving the columns
+   * @throws IOException if an I/O error occurs
+   */
+  void writeColumns(ColumnSink sink) throws IOException {
+    sink.writeDoubles(vertexWeights.duplicate());
+    sink.writeDoubles(hyperEdgeWeights.duplicate());
+    sink.writeInts(vertexIds.duplicate());
+    sink.writeInts(hyperEdgeIds.duplicate());
+    sink.writeInts(hyperEdgeOffsets.duplicate());
+    sink.writeInts(hyperEdgeMembers.duplicate());
+    sink.writeInts(vertexOffsets.duplicate());
+    sink.writeInts(vertexMembers.duplicate());
+  }
+
+  /**
+   * Searches a sorted buffer for the given key.
+   *
+   * @param buffer the buffer, sorted in ascending order
+   * @param key the key to search for
+   * @return the index of the key, or {@code -(insertion point) - 1} if it is not found
+   */
+  private static int binarySearch(IntBuffer buffer, int key) {
+    int low = 0;
+    int high = buffer.limit() - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int value = buffer.get(middle);
+      if (value < key) {
+        low = middle + 1;
+      } else if (value > key) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -(low + 1);
+  }
+
+  /** Receives the columns of a compact hypergraph, one after the other. */
+  interface ColumnSink {
+
+    /**
+     * Writes a column of integers.
+     *
+     * @param column the remaining elements of the buffer
+     * @throws IOException if an I/O error occurs
+     */
+    void writeInts(IntBuffer column) throws IOException;
+
+    /**
+     * Writes a column of doubles.
+     *
+     * @param column the remaining elements of the buffer
+     * @throws IOException if an I/O error occurs
+     */
+    void writeDoubles(DoubleBuffer column) throws IOException;
+  }
+
+  /** A primitive iterator over a range of an {@link IntBuffer}. */
+  private static final class RangeIterator implements PrimitiveIterator.OfInt {
+
+    private final IntBuffer buffer;
+    private final int end;
+    private int position;
+
+    /**
+     * Constructs an iterator over the elements of the buffer between the given bounds.
+     *
+     * @param buffer the buffer to iterate over
+     * @param start the first position, inclusive
+     * @param end the last position, exclusive
+     */
+    private RangeIterator(IntBuffer buffer, int start, int end) {
+      this.buffer = buffer;
+      this.position = start;
+      this.end = end;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return position < end;
+    }
+
+    @Override
+    public int nextInt() {
+      if (position >= end) {
+        throw new NoSuchElementException();
+      }
+      return buffer.get(position++);
+    }
+  }
+}
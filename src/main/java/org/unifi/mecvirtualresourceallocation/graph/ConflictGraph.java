@@ -5,6 +5,7 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import javax.swing.JFrame;
@@ -14,12 +15,22 @@ import org.unifi.mecvirtualresourceallocation.graph.visualization.ConflictGraphP
  * This class represents a conflict graph derived from a hypergraph. The conflict graph is used to
  * model conflicts between hyperedges, where conflicts are defined by the presence of common
  * vertices.
+ *
+ * <p>The conflict graph cached by a {@link HyperGraph} is read-only for the callers of {@link
+ * HyperGraph#getConflictGraph()}: it is shared by every strategy run on the hypergraph and only the
+ * hypergraph itself updates it, so {@link #addVertex(Vertex)}, {@link #addEdge(Vertex, Vertex)} and
+ * {@link #removeVertex(Vertex)} throw an {@link UnsupportedOperationException} on it. A modifiable
+ * copy can be obtained with {@link #ConflictGraph(ConflictGraph)}. The lazily built adjacency index
+ * and edge set are published safely, so a conflict graph that is not being modified can be read by
+ * several threads at once.
  */
 public class ConflictGraph {
 
-  private Map<String, Vertex> vertices;
-  private Map<String, Set<Vertex>> adjacencyList;
-  private Set<Edge> edges;
+  private Map<Integer, Vertex> vertices;
+  private Map<Integer, Set<Vertex>> adjacencyList;
+  private volatile Set<Edge> edges;
+  private volatile AdjacencyIndex adjacencyIndex;
+  private boolean readOnly;
 
   /** Constructs an empty conflict graph. */
   public ConflictGraph() {
@@ -28,6 +39,41 @@ public class ConflictGraph {
     this.edges = new HashSet<>();
   }
 
+  /**
+   * Constructs a modifiable copy of the given conflict graph, for instance of the read-only
+   * conflict graph cached by a hypergraph.
+   *
+   * @param other the conflict graph to be copied
+   */
+  public ConflictGraph(ConflictGraph other) {
+    this();
+    for (Vertex vertex : other.getVertices()) {
+      vertices.put(vertex.getIntId(), vertex);
+      adjacencyList.put(vertex.getIntId(), new HashSet<>(other.getAdjacentVertices(vertex)));
+    }
+    edges = null;
+  }
+
+  /**
+   * Makes the conflict graph read-only for its public mutators, which is done by the hypergraph
+   * that caches it. The package-private mutators remain available to the hypergraph.
+   */
+  void setReadOnly() {
+    readOnly = true;
+  }
+
+  /**
+   * Checks that the conflict graph can be modified through its public mutators.
+   *
+   * @throws UnsupportedOperationException if the conflict graph is read-only
+   */
+  private void checkModifiable() {
+    if (readOnly) {
+      throw new UnsupportedOperationException(
+          "The conflict graph of a hypergraph cannot be modified; modify a copy instead.");
+    }
+  }
+
   /**
    * Gets the vertices of the conflict graph.
    *
@@ -44,6 +90,22 @@ public class ConflictGraph {
    * @return the vertex with the specified ID, or null if not found
    */
   public Vertex getVertexFromId(String id) {
+    int intId;
+    try {
+      intId = Vertex.parseId(id);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+    return getVertexFromId(intId);
+  }
+
+  /**
+   * Retrieves a vertex from the conflict graph by its integer ID.
+   *
+   * @param id the ID of the vertex to retrieve
+   * @return the vertex with the specified ID, or null if not found
+   */
+  public Vertex getVertexFromId(int id) {
     return vertices.get(id);
   }
 
@@ -51,13 +113,25 @@ public class ConflictGraph {
    * Adds a vertex to the conflict graph.
    *
    * @param vertex the vertex to be added
+   * @throws UnsupportedOperationException if the conflict graph is read-only
    */
   public void addVertex(Vertex vertex) {
-    if (vertices.containsKey(vertex.getId())) {
+    checkModifiable();
+    insertVertex(vertex);
+  }
+
+  /**
+   * Adds a vertex to the conflict graph, whether or not it is read-only.
+   *
+   * @param vertex the vertex to be added
+   */
+  void insertVertex(Vertex vertex) {
+    if (vertices.containsKey(vertex.getIntId())) {
       throw new IllegalArgumentException("Vertex with ID " + vertex.getId() + " already exists.");
     }
-    vertices.put(vertex.getId(), vertex);
-    adjacencyList.putIfAbsent(vertex.getId(), new HashSet<>());
+    vertices.put(vertex.getIntId(), vertex);
+    adjacencyList.putIfAbsent(vertex.getIntId(), new HashSet<>());
+    adjacencyIndex = null;
   }
 
   /**
@@ -65,30 +139,116 @@ public class ConflictGraph {
    *
    * @param vertex1 the first vertex
    * @param vertex2 the second vertex
+   * @throws UnsupportedOperationException if the conflict graph is read-only
    */
   public void addEdge(Vertex vertex1, Vertex vertex2) {
+    checkModifiable();
+    insertEdge(vertex1, vertex2);
+  }
+
+  /**
+   * Adds an edge between two vertices in the conflict graph, whether or not it is read-only.
+   *
+   * @param vertex1 the first vertex
+   * @param vertex2 the second vertex
+   */
+  void insertEdge(Vertex vertex1, Vertex vertex2) {
     if (vertex1 == null || vertex2 == null) {
       throw new IllegalArgumentException("Vertices cannot be null.");
     }
 
-    Edge edge = new Edge(vertex1, vertex2);
-    if (edges.contains(edge)) {
+    if (adjacencyList.get(vertex1.getIntId()).contains(vertex2)) {
       throw new IllegalArgumentException(
           "Edge between " + vertex1.getId() + " and " + vertex2.getId() + " already exists.");
     }
 
-    adjacencyList.get(vertex1.getId()).add(vertex2);
-    adjacencyList.get(vertex2.getId()).add(vertex1);
-    edges.add(new Edge(vertex1, vertex2));
+    adjacencyList.get(vertex1.getIntId()).add(vertex2);
+    adjacencyList.get(vertex2.getIntId()).add(vertex1);
+    Set<Edge> edgeSet = edges;
+    if (edgeSet != null) {
+      edgeSet.add(new Edge(vertex1, vertex2));
+    }
+    adjacencyIndex = null;
+  }
+
+  /**
+   * Removes a vertex from the conflict graph, together with all its edges.
+   *
+   * @param vertex the vertex to be removed
+   * @throws IllegalArgumentException if the vertex is not in the conflict graph
+   * @throws UnsupportedOperationException if the conflict graph is read-only
+   */
+  public void removeVertex(Vertex vertex) {
+    checkModifiable();
+    deleteVertex(vertex);
+  }
+
+  /**
+   * Removes a vertex from the conflict graph, together with all its edges, whether or not it is
+   * read-only.
+   *
+   * @param vertex the vertex to be removed
+   * @throws IllegalArgumentException if the vertex is not in the conflict graph
+   */
+  void deleteVertex(Vertex vertex) {
+    if (vertex == null || !vertices.containsKey(vertex.getIntId())) {
+      throw new IllegalArgumentException("Vertex not found in the conflict graph: " + vertex);
+    }
+    Set<Edge> edgeSet = edges;
+    for (Vertex adjacentVertex : adjacencyList.remove(vertex.getIntId())) {
+      adjacencyList.get(adjacentVertex.getIntId()).remove(vertex);
+      if (edgeSet != null) {
+        edgeSet.remove(new Edge(vertex, adjacentVertex));
+      }
+    }
+    vertices.remove(vertex.getIntId());
+    adjacencyIndex = null;
+  }
+
+  /**
+   * Replaces the contents of the conflict graph with the given vertices and adjacency. This is used
+   * by the {@link ConflictGraphBuilder}, which computes the neighbourhoods of all vertices in bulk;
+   * the edge set is then derived from the adjacency on first use.
+   *
+   * @param vertexArray the vertices of the conflict graph, in ascending order of ID
+   * @param adjacentVertices the adjacent vertices of each vertex, in the same order
+   * @param index the adjacency index of the given vertices and adjacency
+   */
+  void setAdjacency(
+      Vertex[] vertexArray, List<Set<Vertex>> adjacentVertices, AdjacencyIndex index) {
+    vertices = new HashMap<>();
+    adjacencyList = new HashMap<>();
+    for (int i = 0; i < vertexArray.length; i++) {
+      vertices.put(vertexArray[i].getIntId(), vertexArray[i]);
+      adjacencyList.put(vertexArray[i].getIntId(), adjacentVertices.get(i));
+    }
+    edges = null;
+    adjacencyIndex = index;
   }
 
   /**
-   * Gets the edges of the conflict graph.
+   * Gets the edges of the conflict graph. The edge set is derived from the adjacency on first use
+   * if the graph was built in bulk.
    *
-   * @return the edges
+   * @return an unmodifiable view of the edges
    */
   public Set<Edge> getEdges() {
-    return edges;
+    Set<Edge> edgeSet = edges;
+    if (edgeSet == null) {
+      synchronized (this) {
+        edgeSet = edges;
+        if (edgeSet == null) {
+          edgeSet = new HashSet<>();
+          for (Vertex vertex : vertices.values()) {
+            for (Vertex adjacentVertex : adjacencyList.get(vertex.getIntId())) {
+              edgeSet.add(new Edge(vertex, adjacentVertex));
+            }
+          }
+          edges = edgeSet;
+        }
+      }
+    }
+    return Collections.unmodifiableSet(edgeSet);
   }
 
   /**
@@ -99,17 +259,41 @@ public class ConflictGraph {
    * @return true if the vertices are connected, false otherwise
    */
   public boolean areVerticesConnected(Vertex vertex1, Vertex vertex2) {
-    return adjacencyList.getOrDefault(vertex1.getId(), Collections.emptySet()).contains(vertex2);
+    return adjacencyList.getOrDefault(vertex1.getIntId(), Collections.emptySet()).contains(vertex2);
   }
 
   /**
    * Retrieves the adjacent vertices for a given vertex.
    *
    * @param vertex the vertex for which to find adjacent vertices
-   * @return a set of adjacent vertices
+   * @return an unmodifiable view of the adjacent vertices
    */
   public Set<Vertex> getAdjacentVertices(Vertex vertex) {
-    return adjacencyList.getOrDefault(vertex.getId(), Collections.emptySet());
+    return Collections.unmodifiableSet(
+        adjacencyList.getOrDefault(vertex.getIntId(), Collections.emptySet()));
+  }
+
+  /**
+   * Gets the adjacency index of the conflict graph, which maps the vertices to dense integer
+   * indices. The index is built on first use and discarded by any modification, since its dense
+   * indices shift whenever a vertex is added or removed; the next call then rebuilds it from the
+   * whole graph, in time proportional to the number of vertices and edges, however small the
+   * modification was.
+   *
+   * @return the adjacency index of the conflict graph
+   */
+  public AdjacencyIndex getAdjacencyIndex() {
+    AdjacencyIndex index = adjacencyIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = adjacencyIndex;
+        if (index == null) {
+          index = AdjacencyIndex.of(this);
+          adjacencyIndex = index;
+        }
+      }
+    }
+    return index;
   }
 
   /**
@@ -123,12 +307,12 @@ public class ConflictGraph {
     sb.append("ConflictGraph {\n");
 
     sb.append("Vertices:\n");
-    for (Vertex vertex : vertices.values()) {
+    for (Vertex vertex : getVertices()) {
       sb.append(vertex).append("\n");
     }
 
     sb.append("Edges:\n");
-    for (Edge edge : edges) {
+    for (Edge edge : getEdges()) {
       sb.append(edge).append("\n");
     }
 
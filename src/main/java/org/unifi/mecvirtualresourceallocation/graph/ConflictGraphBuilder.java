@@ -0,0 +1,240 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class builds the conflict graph of a hypergraph from a vertex-to-hyperedge incidence index.
+ * Instead of testing every pair of hyperedges for a common vertex, the builder reads which
+ * hyperedges contain each vertex from the incidence index of the hypergraph, and then emits a
+ * conflict edge only between hyperedges that share at least one vertex. The cost of the
+ * construction therefore depends on the number of incidences and actual conflicts rather than on
+ * the square of the number of hyperedges.
+ *
+ * <p>The neighbourhood of each hyperedge is computed independently of the others, so the work can
+ * be split across a {@link ForkJoinPool}. Each task owns its scratch buffers and writes only the
+ * rows of its own range of hyperedges, so the rows are merged into the final adjacency without any
+ * locking, and the result does not depend on the number of threads.
+ */
+public class ConflictGraphBuilder {
+
+  /** The minimum number of hyperedges processed by a single fork-join task. */
+  static final int MIN_ROWS_PER_TASK = 256;
+
+  private long candidatePairs;
+  private long conflictPairs;
+  private long skippedPairs;
+
+  /**
+   * Builds the conflict graph of the given hypergraph. The resulting graph contains one vertex for
+   * each hyperedge and one edge for each pair of hyperedges that share at least one vertex.
+   *
+   * @param hyperGraph the hypergraph from which the conflict graph is derived
+   * @return the conflict graph of the hypergraph
+   */
+  public ConflictGraph build(HyperGraph hyperGraph) {
+    return build(hyperGraph, null);
+  }
+
+  /**
+   * Builds the conflict graph of the given hypergraph, splitting the computation of the
+   * neighbourhoods across the given pool. The resulting graph is identical to the one built
+   * sequentially.
+   *
+   * @param hyperGraph the hypergraph from which the conflict graph is derived
+   * @param pool the pool running the construction, or null to build in the calling thread
+   * @return the conflict graph of the hypergraph
+   */
+  public ConflictGraph build(HyperGraph hyperGraph, ForkJoinPool pool) {
+    List<HyperEdge> hyperEdgeList = new ArrayList<>(hyperGraph.getHyperEdges());
+    hyperEdgeList.sort(Comparator.comparingInt(HyperEdge::getIntId));
+    Rows rows = new Rows(hyperGraph, hyperEdgeList);
+
+    if (pool == null || rows.size() <= MIN_ROWS_PER_TASK) {
+      rows.compute(0, rows.size());
+    } else {
+      int rowsPerTask = Math.max(MIN_ROWS_PER_TASK, rows.size() / (4 * pool.getParallelism()) + 1);
+      pool.invoke(new RowTask(rows, 0, rows.size(), rowsPerTask));
+    }
+
+    candidatePairs = 0;
+    conflictPairs = 0;
+    for (int i = 0; i < rows.size(); i++) {
+      candidatePairs += rows.candidateCounts[i];
+      conflictPairs += rows.conflictCounts[i];
+    }
+    skippedPairs = (long) rows.size() * (rows.size() - 1) / 2 - conflictPairs;
+
+    ConflictGraph conflictGraph = new ConflictGraph();
+    conflictGraph.setAdjacency(
+        rows.conflictVertices,
+        rows.adjacentVertices,
+        AdjacencyIndex.of(rows.conflictVertices, rows.neighbours));
+    return conflictGraph;
+  }
+
+  /**
+   * Gets the number of hyperedge pairs visited through the incidence index during the last build. A
+   * pair sharing several vertices is visited once for each common vertex.
+   *
+   * @return the number of candidate pairs visited
+   */
+  public long getCandidatePairs() {
+    return candidatePairs;
+  }
+
+  /**
+   * Gets the number of conflict edges emitted during the last build.
+   *
+   * @return the number of conflicting hyperedge pairs
+   */
+  public long getConflictPairs() {
+    return conflictPairs;
+  }
+
+  /**
+   * Gets the number of hyperedge pairs that a pairwise comparison would have tested but that the
+   * last build never examined, because the two hyperedges do not share any vertex.
+   *
+   * @return the number of skipped hyperedge pairs
+   */
+  public long getSkippedPairs() {
+    return skippedPairs;
+  }
+
+  /**
+   * The incidence index of a hypergraph, translated to hyperedge positions, together with the
+   * per-hyperedge output rows of the construction. Each row is written by exactly one task.
+   */
+  private static final class Rows {
+
+    private final Vertex[] conflictVertices;
+    private final int[][] members;
+    private final int[][] incidences;
+    private final int[][] neighbours;
+    private final List<Set<Vertex>> adjacentVertices;
+    private final int[] candidateCounts;
+    private final int[] conflictCounts;
+
+    private Rows(HyperGraph hyperGraph, List<HyperEdge> hyperEdgeList) {
+      int numHyperEdges = hyperEdgeList.size();
+      conflictVertices = new Vertex[numHyperEdges];
+      int[] ids = new int[numHyperEdges];
+      for (int i = 0; i < numHyperEdges; i++) {
+        HyperEdge hyperEdge = hyperEdgeList.get(i);
+        conflictVertices[i] = new Vertex(hyperEdge.getIntId(), hyperEdge.getNegativeWeight());
+        ids[i] = hyperEdge.getIntId();
+      }
+
+      Map<Vertex, Integer> vertexIndices = new HashMap<>();
+      incidences = new int[hyperGraph.getVertices().size()][];
+      for (Vertex vertex : hyperGraph.getVertices()) {
+        List<HyperEdge> incident = hyperGraph.getIncidentHyperEdges(vertex);
+        int[] row = new int[incident.size()];
+        for (int k = 0; k < row.length; k++) {
+          row[k] = Arrays.binarySearch(ids, incident.get(k).getIntId());
+        }
+        incidences[vertexIndices.size()] = row;
+        vertexIndices.put(vertex, vertexIndices.size());
+      }
+
+      members = new int[numHyperEdges][];
+      for (int i = 0; i < numHyperEdges; i++) {
+        members[i] = new int[hyperEdgeList.get(i).getVertices().size()];
+        int k = 0;
+        for (Vertex vertex : hyperEdgeList.get(i).getVertices()) {
+          members[i][k++] = vertexIndices.get(vertex);
+        }
+      }
+
+      neighbours = new int[numHyperEdges][];
+      adjacentVertices = new ArrayList<>(Collections.nCopies(numHyperEdges, null));
+      candidateCounts = new int[numHyperEdges];
+      conflictCounts = new int[numHyperEdges];
+    }
+
+    private int size() {
+      return conflictVertices.length;
+    }
+
+    /**
+     * Computes the rows of the hyperedges in the given range.
+     *
+     * @param from the first hyperedge of the range, inclusive
+     * @param to the last hyperedge of the range, exclusive
+     */
+    private void compute(int from, int to) {
+      int[] lastSeen = new int[size()];
+      Arrays.fill(lastSeen, -1);
+      int[] buffer = new int[Math.max(1, size())];
+      for (int i = from; i < to; i++) {
+        lastSeen[i] = i;
+        int count = 0;
+        int candidates = 0;
+        for (int vertexIndex : members[i]) {
+          for (int j : incidences[vertexIndex]) {
+            if (j > i) {
+              candidates++;
+            }
+            if (lastSeen[j] != i) {
+              lastSeen[j] = i;
+              buffer[count++] = j;
+            }
+          }
+        }
+        int[] row = Arrays.copyOf(buffer, count);
+        Arrays.sort(row);
+        Set<Vertex> adjacent = new HashSet<>();
+        int conflicts = 0;
+        for (int j : row) {
+          adjacent.add(conflictVertices[j]);
+          if (j > i) {
+            conflicts++;
+          }
+        }
+        neighbours[i] = row;
+        adjacentVertices.set(i, adjacent);
+        candidateCounts[i] = candidates;
+        conflictCounts[i] = conflicts;
+      }
+    }
+  }
+
+  /** A fork-join task computing the rows of a range of hyperedges. */
+  private static final class RowTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Rows rows;
+    private final int from;
+    private final int to;
+    private final int rowsPerTask;
+
+    private RowTask(Rows rows, int from, int to, int rowsPerTask) {
+      this.rows = rows;
+      this.from = from;
+      this.to = to;
+      this.rowsPerTask = rowsPerTask;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= rowsPerTask) {
+        rows.compute(from, to);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(
+          new RowTask(rows, from, middle, rowsPerTask), new RowTask(rows, middle, to, rowsPerTask));
+    }
+  }
+}
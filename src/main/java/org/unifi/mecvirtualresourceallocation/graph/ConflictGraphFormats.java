@@ -0,0 +1,385 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * This class exchanges conflict graphs with external maximum-weight independent set solvers. A
+ * conflict graph can be exported in the METIS graph format with vertex weights or in the DIMACS
+ * edge format with {@code n} weight lines, and a solution file written by a solver can be read back
+ * into a set of vertices.
+ *
+ * <p>In both formats the vertices are numbered from 1 in the order of the {@link AdjacencyIndex} of
+ * the conflict graph, that is, by ascending ID. Solvers expect integer weights, so the weights,
+ * which are the energies compared by the allocation strategies, are scaled by a power of ten and
+ * rounded to the nearest integer. The files are written through a fixed-size buffer, formatting the
+ * numbers directly into bytes.
+ *
+ * <p>The allocation strategies minimize the total energy of the selected hyperedges, while an
+ * external solver maximizes the total weight of the independent set. The energies are therefore
+ * exported through a {@link WeightTransform}, which by default is {@link
+ * WeightTransform#COMPLEMENT}, so that both optimize in the same direction.
+ */
+public final class ConflictGraphFormats {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private ConflictGraphFormats() {}
+
+  /** The transform turning the energies of the vertices into the weights written to the files. */
+  public enum WeightTransform {
+
+    /**
+     * Writes {@code W - w} for each scaled energy {@code w}, where {@code W} is one more than the
+     * largest scaled energy, so that every weight is positive and lower energies weigh more. A
+     * solver maximizing the total weight {@code kW - E} of a set of {@code k} vertices with energy
+     * {@code E} then prefers, among sets of the same size, the one with the lowest energy, as the
+     * strategies do. Since every weight is positive, its optimum is also a maximal independent set;
+     * across sets of different sizes, however, one more vertex outweighs any energy difference
+     * smaller than {@code W}, so the optimum may place more hyperedges at a higher total energy
+     * than a minimum-energy maximal independent set would.
+     */
+    COMPLEMENT,
+
+    /**
+     * Writes the scaled energies unchanged. A solver maximizing the total weight then maximizes the
+     * energy, which is the opposite of the objective of the strategies, so this is only useful to
+     * inspect the graph or with a solver that minimizes.
+     */
+    ENERGY
+  }
+
+  /**
+   * Writes the conflict graph in METIS format with the {@link WeightTransform#COMPLEMENT} weights.
+   *
+   * @param conflictGraph the conflict graph to be written
+   * @param path the path of the file
+   * @param scale the number of decimal digits of the weights kept by the integer weights
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if a scaled weight does not fit in a {@code long}
+   */
+  public static void writeMetis(ConflictGraph conflictGraph, Path path, int scale)
+      throws IOException {
+    writeMetis(conflictGraph, path, scale, WeightTransform.COMPLEMENT);
+  }
+
+  /**
+   * Writes the conflict graph in METIS format. The header holds the number of vertices, the number
+   * of edges and the format code 10, and line {@code k + 1} holds the weight of vertex {@code k}
+   * followed by its neighbours.
+   *
+   * @param conflictGraph the conflict graph to be written
+   * @param path the path of the file
+   * @param scale the number of decimal digits of the weights kept by the integer weights
+   * @param transform the transform turning the energies into the written weights
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if a scaled weight does not fit in a {@code long}
+   */
+  public static void writeMetis(
+      ConflictGraph conflictGraph, Path path, int scale, WeightTransform transform)
+      throws IOException {
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    long[] weights = weights(adjacencyIndex, scale, transform);
+    try (Output output = new Output(path)) {
+      output.putLong(adjacencyIndex.size()).putByte(' ');
+      output.putLong(countEdges(adjacencyIndex)).putByte(' ');
+      output.putLong(10).putByte('\n');
+      for (int i = 0; i < adjacencyIndex.size(); i++) {
+        output.putLong(weights[i]);
+        for (int neighbour : adjacencyIndex.getNeighbours(i)) {
+          output.putByte(' ').putLong(neighbour + 1L);
+        }
+        output.putByte('\n');
+      }
+    }
+  }
+
+  /**
+   * Writes the conflict graph in DIMACS format with the {@link WeightTransform#COMPLEMENT} weights.
+   *
+   * @param conflictGraph the conflict graph to be written
+   * @param path the path of the file
+   * @param scale the number of decimal digits of the weights kept by the integer weights
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if a scaled weight does not fit in a {@code long}
+   */
+  public static void writeDimacs(ConflictGraph conflictGraph, Path path, int scale)
+      throws IOException {
+    writeDimacs(conflictGraph, path, scale, WeightTransform.COMPLEMENT);
+  }
+
+  /**
+   * Writes the conflict graph in DIMACS format: a {@code p edge} line with the number of vertices
+   * and edges, an {@code n} line with the weight of each vertex and an {@code e} line for each
+   * edge, with the smaller vertex first.
+   *
+   * @param conflictGraph the conflict graph to be written
+   * @param path the path of the file
+   * @param scale the number of decimal digits of the weights kept by the integer weights
+   * @param transform the transform turning the energies into the written weights
+   * @throws IOException if an I/O error occurs
+   * @throws IllegalArgumentException if a scaled weight does not fit in a {@code long}
+   */
+  public static void writeDimacs(
+      ConflictGraph conflictGraph, Path path, int scale, WeightTransform transform)
+      throws IOException {
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    long[] weights = weights(adjacencyIndex, scale, transform);
+    try (Output output = new Output(path)) {
+      output.putAscii("p edge ").putLong(adjacencyIndex.size()).putByte(' ');
+      output.putLong(countEdges(adjacencyIndex)).putByte('\n');
+      for (int i = 0; i < adjacencyIndex.size(); i++) {
+        output.putAscii("n ").putLong(i + 1L).putByte(' ');
+        output.putLong(weights[i]).putByte('\n');
+      }
+      for (int i = 0; i < adjacencyIndex.size(); i++) {
+        for (int neighbour : adjacencyIndex.getNeighbours(i)) {
+          if (neighbour > i) {
+            output.putAscii("e ").putLong(i + 1L).putByte(' ');
+            output.putLong(neighbour + 1L).putByte('\n');
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads a solution written by an external solver for a conflict graph exported by this class. Two
+   * layouts are accepted: one {@code 0} or {@code 1} per line for every vertex, as written by
+   * KaMIS, or the numbers of the selected vertices, one or more per line. Lines starting with
+   * {@code %}, {@code #} or {@code c} are skipped. The selected vertices must form an independent
+   * set of the conflict graph.
+   *
+   * @param conflictGraph the conflict graph the solution refers to
+   * @param path the path of the solution file
+   * @return the selected vertices
+   * @throws IOException if an I/O error occurs, the file is malformed, it refers to vertices that
+   *     do not exist or it selects two conflicting vertices
+   */
+  public static Set<Vertex> readSolution(ConflictGraph conflictGraph, Path path)
+      throws IOException {
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    int[] values = new int[16];
+    int numValues = 0;
+    int numLines = 0;
+    boolean indicator = true;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      TextScanner scanner = new TextScanner(channel);
+      while (scanner.nextLine()) {
+        if (scanner.peek() == 'c') {
+          scanner.skipLine();
+          continue;
+        }
+        int lineStart = numValues;
+        while (scanner.hasNext()) {
+          if (numValues == values.length) {
+            values = Arrays.copyOf(values, numValues + (numValues >> 1));
+          }
+          values[numValues++] = scanner.nextInt();
+        }
+        indicator &=
+            numValues == lineStart + 1 && (values[lineStart] == 0 || values[lineStart] == 1);
+        numLines++;
+      }
+    }
+
+    boolean[] selected = new boolean[adjacencyIndex.size()];
+    if (indicator && numLines == adjacencyIndex.size()) {
+      for (int i = 0; i < numValues; i++) {
+        selected[i] = values[i] == 1;
+      }
+    } else {
+      for (int i = 0; i < numValues; i++) {
+        if (values[i] < 1 || values[i] > adjacencyIndex.size()) {
+          throw new IOException("Vertex " + values[i] + " is not in the conflict graph");
+        }
+        if (selected[values[i] - 1]) {
+          throw new IOException("Vertex " + values[i] + " is repeated in the solution");
+        }
+        selected[values[i] - 1] = true;
+      }
+    }
+
+    Set<Vertex> selectedVertices = new HashSet<>();
+    for (int i = 0; i < selected.length; i++) {
+      if (selected[i]) {
+        for (int neighbour : adjacencyIndex.getNeighbours(i)) {
+          if (selected[neighbour]) {
+            throw new IOException(
+                "Vertices " + (i + 1) + " and " + (neighbour + 1) + " of the solution conflict");
+          }
+        }
+        selectedVertices.add(adjacencyIndex.getVertex(i));
+      }
+    }
+    return selectedVertices;
+  }
+
+  /**
+   * Counts the edges of the indexed conflict graph.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @return the number of edges
+   */
+  private static long countEdges(AdjacencyIndex adjacencyIndex) {
+    long degreeSum = 0;
+    for (int i = 0; i < adjacencyIndex.size(); i++) {
+      degreeSum += adjacencyIndex.getDegree(i);
+    }
+    return degreeSum / 2;
+  }
+
+  /**
+   * Computes the weights written for the indexed vertices.
+   *
+   * @param adjacencyIndex the adjacency index of the conflict graph
+   * @param scale the number of decimal digits kept
+   * @param transform the transform turning the energies into the written weights
+   * @return the written weight of each vertex, in index order
+   * @throws IllegalArgumentException if a scaled weight, or the complement bound, does not fit in a
+   *     {@code long}
+   */
+  static long[] weights(AdjacencyIndex adjacencyIndex, int scale, WeightTransform transform) {
+    long[] weights = new long[adjacencyIndex.size()];
+    long maxWeight = 0;
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = scaledWeight(adjacencyIndex.getVertex(i), scale);
+      maxWeight = Math.max(maxWeight, weights[i]);
+    }
+    if (transform == WeightTransform.COMPLEMENT) {
+      if (maxWeight == Long.MAX_VALUE) {
+        throw new IllegalArgumentException("Weights are too large to be complemented");
+      }
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] = maxWeight + 1 - weights[i];
+      }
+    }
+    return weights;
+  }
+
+  /**
+   * Scales the weight of a vertex to an integer.
+   *
+   * @param vertex the vertex
+   * @param scale the number of decimal digits kept
+   * @return the weight multiplied by ten to the power of the scale, rounded half to even
+   * @throws IllegalArgumentException if the scaled weight does not fit in a {@code long}
+   */
+  static long scaledWeight(Vertex vertex, int scale) {
+    BigDecimal scaled =
+        vertex.getWeight().movePointRight(scale).setScale(0, RoundingMode.HALF_EVEN);
+    try {
+      return scaled.longValueExact();
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Weight of vertex " + vertex.getId() + " is too large", e);
+    }
+  }
+
+  /** A buffered writer of ASCII text that formats numbers directly into bytes. */
+  private static final class Output implements AutoCloseable {
+
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+
+    /**
+     * Opens the file at the given path for writing, replacing it if it exists.
+     *
+     * @param path the path of the file
+     * @throws IOException if an I/O error occurs
+     */
+    private Output(Path path) throws IOException {
+      this.channel =
+          FileChannel.open(
+              path,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param b the byte
+     * @return this output
+     * @throws IOException if an I/O error occurs
+     */
+    private Output putByte(int b) throws IOException {
+      if (!buffer.hasRemaining()) {
+        flush();
+      }
+      buffer.put((byte) b);
+      return this;
+    }
+
+    /**
+     * Writes an ASCII string.
+     *
+     * @param text the string, which must contain only ASCII characters
+     * @return this output
+     * @throws IOException if an I/O error occurs
+     */
+    private Output putAscii(String text) throws IOException {
+      for (int i = 0; i < text.length(); i++) {
+        putByte(text.charAt(i));
+      }
+      return this;
+    }
+
+    /**
+     * Writes a number in decimal notation.
+     *
+     * @param value the number
+     * @return this output
+     * @throws IOException if an I/O error occurs
+     */
+    private Output putLong(long value) throws IOException {
+      if (value < 0) {
+        putByte('-');
+      }
+      int count = 0;
+      do {
+        digits[count++] = (byte) ('0' + Math.abs(value % 10));
+        value /= 10;
+      } while (value != 0);
+      if (buffer.remaining() < count) {
+        flush();
+      }
+      while (count > 0) {
+        buffer.put(digits[--count]);
+      }
+      return this;
+    }
+
+    /**
+     * Writes the buffered bytes to the channel.
+     *
+     * @throws IOException if an I/O error occurs
+     */
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        flush();
+      } finally {
+        channel.close();
+      }
+    }
+  }
+}
@@ -1,7 +1,5 @@
 package org.unifi.mecvirtualresourceallocation.graph;
 
-import java.util.Objects;
-
 /** Represents an edge in a conflict graph. Each edge connects two vertices. */
 public class Edge {
 
@@ -10,13 +8,13 @@ public class Edge {
 
   /**
    * Constructs an edge connecting the specified vertices. Ensures that the vertices are stored in a
-   * consistent order based on their IDs.
+   * consistent order, by ascending numeric ID.
    *
    * @param vertex1 the first vertex connected by the edge
    * @param vertex2 the second vertex connected by the edge
    */
   public Edge(Vertex vertex1, Vertex vertex2) {
-    if (vertex1.getId().compareTo(vertex2.getId()) < 0) {
+    if (vertex1.getIntId() < vertex2.getIntId()) {
       this.vertex1 = vertex1;
       this.vertex2 = vertex2;
     } else {
@@ -60,7 +58,8 @@ public class Edge {
     }
 
     Edge edge = (Edge) o;
-    return Objects.equals(vertex1, edge.vertex1) && Objects.equals(vertex2, edge.vertex2);
+    return vertex1.getIntId() == edge.vertex1.getIntId()
+        && vertex2.getIntId() == edge.vertex2.getIntId();
   }
 
   /**
@@ -71,7 +70,7 @@ public class Edge {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(vertex1, vertex2);
+    return 31 * vertex1.getIntId() + vertex2.getIntId();
   }
 
   /**
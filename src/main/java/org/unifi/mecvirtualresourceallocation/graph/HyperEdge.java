@@ -1,6 +1,8 @@
 package org.unifi.mecvirtualresourceallocation.graph;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -9,21 +11,50 @@ import java.util.Set;
  * than two vertices, which in this context corresponds to linking multiple virtual machine (VM)
  * instances. Each hyperedge can be used to model the relationships between multiple VMs and
  * physical machines (PMs) in a Mobile Edge Computing (MEC) environment.
+ *
+ * <p>Besides its set of vertices, a hyperedge keeps a canonical form of its members, the sorted
+ * array of their IDs, together with a 64-bit fingerprint of that array. Both are computed on first
+ * use and recomputed after the members change; they let a hypergraph detect hyperedges with the
+ * same vertices without hashing or comparing whole sets.
+ *
+ * <p>The set of vertices is only exposed as an unmodifiable view, so members are changed through
+ * {@link #addVertex(Vertex)} and {@link #removeVertex(Vertex)}, which keep the weight and the
+ * canonical form up to date. These two methods are only available until the hyperedge is added to a
+ * {@link HyperGraph}: from then on the hypergraph indexes the hyperedge by its members, and
+ * changing them would leave its indices and its cached conflict graph stale, so both methods throw
+ * an {@link IllegalStateException}. Changes to a hyperedge in a hypergraph go through the
+ * hypergraph instead, for instance {@link HyperGraph#removeVertex(Vertex)}, which replaces the
+ * affected hyperedges with new instances.
  */
 public final class HyperEdge {
 
+  private final int intId;
   private String id;
   private Set<Vertex> vertices;
   private BigDecimal weight;
+  private int[] memberIds;
+  private long fingerprint;
+  private boolean indexed;
 
   /**
    * Constructs a hyperedge with the specified id. Initializes an empty set of vertices and sets the
    * initial weight to zero.
    *
    * @param id the unique identifier of the hyperedge
+   * @throws IllegalArgumentException if the identifier is not a positive integer
    */
   public HyperEdge(String id) {
-    this.id = id;
+    this(Vertex.parseId(id));
+  }
+
+  /**
+   * Constructs a hyperedge with the specified integer id. Initializes an empty set of vertices and
+   * sets the initial weight to zero.
+   *
+   * @param id the unique identifier of the hyperedge, which must be positive
+   */
+  public HyperEdge(int id) {
+    this.intId = Vertex.checkId(id);
     this.vertices = new HashSet<>();
     this.weight = BigDecimal.ZERO;
   }
@@ -34,12 +65,24 @@ public final class HyperEdge {
    *
    * @param id the unique identifier of the hyperedge
    * @param vertices the set of vertices that this hyperedge connects
+   * @throws IllegalArgumentException if the identifier is not a positive integer
    */
   public HyperEdge(String id, Set<Vertex> vertices) {
+    this(Vertex.parseId(id), vertices);
+  }
+
+  /**
+   * Constructs a hyperedge with the specified integer id, vertices, and calculates the initial
+   * weight based on the sum of the weights of the vertices.
+   *
+   * @param id the unique identifier of the hyperedge, which must be positive
+   * @param vertices the set of vertices that this hyperedge connects
+   */
+  public HyperEdge(int id, Set<Vertex> vertices) {
     if (vertices == null) {
       throw new IllegalArgumentException("HyperEdge cannot be null.");
     }
-    this.id = id;
+    this.intId = Vertex.checkId(id);
     this.vertices = new HashSet<>(vertices);
     this.weight = calculateWeight();
   }
@@ -58,29 +101,136 @@ public final class HyperEdge {
   }
 
   /**
-   * Gets the unique identifier of the hyperedge.
+   * Gets the unique identifier of the hyperedge, in its canonical decimal form, so that an
+   * identifier given with leading zeros is returned without them.
    *
    * @return the unique identifier of the hyperedge
    */
   public String getId() {
+    if (id == null) {
+      id = Integer.toString(intId);
+    }
     return id;
   }
 
   /**
-   * Gets the set of vertices that this hyperedge connects.
+   * Gets the unique identifier of the hyperedge as an integer.
+   *
+   * @return the unique identifier of the hyperedge
+   */
+  public int getIntId() {
+    return intId;
+  }
+
+  /**
+   * Gets the set of vertices that this hyperedge connects. The set cannot be modified directly; use
+   * {@link #addVertex(Vertex)} and {@link #removeVertex(Vertex)} instead, before the hyperedge is
+   * added to a hypergraph.
    *
-   * @return the set of vertices
+   * @return an unmodifiable view of the set of vertices
    */
   public Set<Vertex> getVertices() {
-    return vertices;
+    return Collections.unmodifiableSet(vertices);
+  }
+
+  /**
+   * Gets the IDs of the vertices of this hyperedge in ascending order, which is the canonical form
+   * of its set of vertices.
+   *
+   * @return a new array with the sorted IDs of the vertices
+   */
+  public int[] getMemberIds() {
+    return sortedMemberIds().clone();
+  }
+
+  /**
+   * Gets the 64-bit fingerprint of the set of vertices of this hyperedge. Hyperedges with the same
+   * vertices always have the same fingerprint, while hyperedges with different vertices have the
+   * same fingerprint only by a hash collision.
+   *
+   * @return the fingerprint of the set of vertices
+   */
+  public long getFingerprint() {
+    sortedMemberIds();
+    return fingerprint;
+  }
+
+  /**
+   * Checks whether this hyperedge connects exactly the same vertices as the given one, comparing
+   * the fingerprints first and the canonical forms only when they match.
+   *
+   * @param other the hyperedge to compare with
+   * @return true if the two hyperedges have the same vertices, false otherwise
+   */
+  boolean hasSameVertices(HyperEdge other) {
+    return getFingerprint() == other.getFingerprint()
+        && Arrays.equals(sortedMemberIds(), other.sortedMemberIds());
+  }
+
+  /**
+   * Gets the canonical form of the set of vertices, computing it and the fingerprint if the members
+   * changed since the last call.
+   *
+   * @return the internal array with the sorted IDs of the vertices
+   */
+  private int[] sortedMemberIds() {
+    if (memberIds == null) {
+      int[] ids = new int[vertices.size()];
+      int i = 0;
+      for (Vertex vertex : vertices) {
+        ids[i++] = vertex.getIntId();
+      }
+      Arrays.sort(ids);
+      long hash = ids.length;
+      for (int id : ids) {
+        hash = mix(hash * 0x9E3779B97F4A7C15L + id);
+      }
+      fingerprint = hash;
+      memberIds = ids;
+    }
+    return memberIds;
+  }
+
+  /**
+   * Scrambles the bits of a 64-bit value with the finalizer of the SplitMix64 generator.
+   *
+   * @param value the value to be scrambled
+   * @return the scrambled value
+   */
+  private static long mix(long value) {
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+  /**
+   * Marks the hyperedge as indexed by a hypergraph, after which its vertices can no longer change.
+   */
+  void markIndexed() {
+    indexed = true;
+  }
+
+  /**
+   * Checks that the vertices of the hyperedge can still be changed.
+   *
+   * @throws IllegalStateException if the hyperedge has been added to a hypergraph
+   */
+  private void checkNotIndexed() {
+    if (indexed) {
+      throw new IllegalStateException(
+          "HyperEdge " + getId() + " belongs to a hypergraph and cannot be modified.");
+    }
   }
 
   /**
    * Adds a vertex to the hyperedge.
    *
    * @param vertex the vertex to be added to the hyperedge
+   * @throws IllegalArgumentException if the vertex is null or already part of the hyperedge
+   * @throws IllegalStateException if the hyperedge has been added to a hypergraph
    */
   public void addVertex(Vertex vertex) {
+    checkNotIndexed();
     if (vertex == null) {
       throw new IllegalArgumentException("Trying to add an uninitialized vertex.");
     }
@@ -88,6 +238,24 @@ public final class HyperEdge {
       throw new IllegalArgumentException("Duplicate vertex found: " + vertex.getId());
     }
     this.weight = this.weight.add(vertex.getNegativeWeight());
+    this.memberIds = null;
+  }
+
+  /**
+   * Removes a vertex from the hyperedge.
+   *
+   * @param vertex the vertex to be removed from the hyperedge
+   * @throws IllegalArgumentException if the vertex is not part of the hyperedge
+   * @throws IllegalStateException if the hyperedge has been added to a hypergraph
+   */
+  public void removeVertex(Vertex vertex) {
+    checkNotIndexed();
+    if (vertex == null || !vertices.remove(vertex)) {
+      throw new IllegalArgumentException(
+          "Vertex not found in HyperEdge " + getId() + ": " + vertex);
+    }
+    this.weight = this.weight.subtract(vertex.getNegativeWeight());
+    this.memberIds = null;
   }
 
   /**
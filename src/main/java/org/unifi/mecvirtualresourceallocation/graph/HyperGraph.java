@@ -2,10 +2,15 @@ package org.unifi.mecvirtualresourceallocation.graph;
 
 import java.awt.Dimension;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import javax.swing.JFrame;
 import org.unifi.mecvirtualresourceallocation.graph.visualization.HyperGraphPanel;
 
@@ -14,10 +19,27 @@ import org.unifi.mecvirtualresourceallocation.graph.visualization.HyperGraphPane
  * context of Mobile Edge Computing (MEC), a hypergraph is used to model the complex relationships
  * between virtual machine (VM) instances and physical machines (PMs). Each hyperedge connects
  * multiple vertices (VMs).
+ *
+ * <p>The hyperedges are indexed by ID and by the fingerprint of their vertices, so that duplicate
+ * IDs and duplicate sets of vertices are detected in time proportional to the size of the checked
+ * hyperedge, both when the hypergraph is constructed and when a hyperedge is added. The hypergraph
+ * also maintains the incidence index mapping each vertex to the hyperedges that contain it.
+ *
+ * <p>Vertices and hyperedges can be removed, for instance when a VM leaves or a placement becomes
+ * invalid. The indices and the cached conflict graph are updated in place, in time proportional to
+ * the hyperedges touched by the removal and their conflicts, rather than rebuilt. The adjacency
+ * index of the conflict graph is not patched: any change discards it, and the next allocation
+ * rebuilds it from the whole conflict graph, in time proportional to its size. A round of changes
+ * followed by an allocation therefore costs time proportional to the change plus one index build.
  */
 public final class HyperGraph {
   private Set<Vertex> vertices;
   private Set<HyperEdge> hyperEdges;
+  private Map<Integer, HyperEdge> hyperEdgesById;
+  private Map<Long, HyperEdge> hyperEdgesByFingerprint;
+  private List<HyperEdge> fingerprintCollisions;
+  private Map<Vertex, List<HyperEdge>> incidentHyperEdges;
+  private volatile ConflictGraph conflictGraph;
 
   /**
    * Constructs a hypergraph with the specified vertices and hyperedges.
@@ -52,22 +74,64 @@ public final class HyperGraph {
           "Mismatch between number of weights and placement matrix rows");
     }
 
-    List<Vertex> vertexList = new ArrayList<>();
+    initFromPlacementMatrix(SparsePlacementMatrix.fromDense(placementMatrix), weights);
+  }
+
+  /**
+   * Constructs a hypergraph from a sparse placement matrix and vertex weights. Row {@code i} of the
+   * matrix becomes the vertex with ID {@code i + 1} and column {@code j} the hyperedge with ID
+   * {@code j + 1}, as for the dense placement matrix.
+   *
+   * @param placementMatrix the sparse placement matrix
+   * @param weights the array of weights for the vertices, in the order of the rows
+   * @throws IllegalArgumentException if the number of weights does not match the number of rows in
+   *     the placement matrix
+   */
+  public HyperGraph(SparsePlacementMatrix placementMatrix, double[] weights) {
+    if (placementMatrix.getNumRows() != weights.length) {
+      throw new IllegalArgumentException(
+          "Mismatch between number of weights and placement matrix rows");
+    }
+
+    initFromPlacementMatrix(placementMatrix, weights);
+  }
+
+  /**
+   * Constructs a hypergraph from a bit-packed placement matrix and vertex weights. Row {@code i} of
+   * the matrix becomes the vertex with ID {@code i + 1} and column {@code j} the hyperedge with ID
+   * {@code j + 1}, as for the dense placement matrix.
+   *
+   * @param placementMatrix the bit-packed placement matrix
+   * @param weights the array of weights for the vertices, in the order of the rows
+   * @throws IllegalArgumentException if the number of weights does not match the number of rows in
+   *     the placement matrix
+   */
+  public HyperGraph(BitPackedPlacementMatrix placementMatrix, double[] weights) {
+    this(placementMatrix.toSparse(), weights);
+  }
+
+  /**
+   * Initializes the vertices and the hyperedges of the hypergraph from the columns of a sparse
+   * placement matrix.
+   *
+   * @param placementMatrix the sparse placement matrix
+   * @param weights the array of weights for the vertices, in the order of the rows
+   */
+  private void initFromPlacementMatrix(SparsePlacementMatrix placementMatrix, double[] weights) {
+    Vertex[] vertexArray = new Vertex[weights.length];
     for (int i = 0; i < weights.length; i++) {
-      vertexList.add(new Vertex(Integer.toString(i + 1), weights[i]));
+      vertexArray[i] = new Vertex(i + 1, weights[i]);
     }
 
-    Set<Vertex> tmpVertices = new HashSet<>(vertexList);
+    Set<Vertex> tmpVertices = new HashSet<>(Arrays.asList(vertexArray));
 
     Set<HyperEdge> tmpHyperEdges = new HashSet<>();
-    for (int j = 0; j < placementMatrix[0].length; j++) {
+    for (int j = 0; j < placementMatrix.getNumColumns(); j++) {
       Set<Vertex> verticesInHyperEdge = new HashSet<>();
-      for (int i = 0; i < placementMatrix.length; i++) {
-        if (placementMatrix[i][j] == 1) {
-          verticesInHyperEdge.add(vertexList.get(i));
-        }
+      for (int k = 0; k < placementMatrix.getColumnSize(j); k++) {
+        verticesInHyperEdge.add(vertexArray[placementMatrix.getRowIndex(j, k)]);
       }
-      tmpHyperEdges.add(new HyperEdge(Integer.toString(j + 1), verticesInHyperEdge));
+      tmpHyperEdges.add(new HyperEdge(j + 1, verticesInHyperEdge));
     }
 
     validate(tmpVertices, tmpHyperEdges);
@@ -92,17 +156,23 @@ public final class HyperGraph {
   }
 
   /**
-   * Validates that the union of all hyperedges exactly matches the set of vertices.
+   * Validates that the union of all hyperedges exactly matches the set of vertices and that no two
+   * hyperedges share an ID or a set of vertices, indexing the hyperedges along the way. The
+   * hyperedges are frozen only once every check has passed, so a failed validation leaves them
+   * modifiable.
    *
    * @param vertices the set of vertices
    * @param hyperEdges the set of hyperedges
    * @throws IllegalArgumentException if the union of all hyperedges does not exactly match the set
-   *     of vertices
+   *     of vertices, or if two hyperedges have the same ID or the same set of vertices
    */
   private void validate(Set<Vertex> vertices, Set<HyperEdge> hyperEdges) {
 
     Set<Vertex> allUniqueVertices = new HashSet<>();
-    Set<Set<Vertex>> uniqueVertexSets = new HashSet<>();
+    hyperEdgesById = new HashMap<>();
+    hyperEdgesByFingerprint = new HashMap<>();
+    fingerprintCollisions = new ArrayList<>();
+    incidentHyperEdges = new HashMap<>();
 
     for (HyperEdge hyperEdge : hyperEdges) {
       Set<Vertex> verticesInEdge = hyperEdge.getVertices();
@@ -112,16 +182,23 @@ public final class HyperGraph {
 
       allUniqueVertices.addAll(verticesInEdge);
 
-      if (!uniqueVertexSets.add(verticesInEdge)) {
+      if (findSameVertices(hyperEdge) != null) {
         throw new IllegalArgumentException(
             "Different HyperEdges with the same set of vertices found: " + verticesInEdge);
       }
+      if (hyperEdgesById.containsKey(hyperEdge.getIntId())) {
+        throw new IllegalArgumentException("Duplicate HyperEdge ID found: " + hyperEdge.getId());
+      }
+      index(hyperEdge);
     }
 
     if (!allUniqueVertices.equals(vertices)) {
       throw new IllegalArgumentException(
           "The union of all hyperedges do not exactly match the set of vertices.");
     }
+    for (HyperEdge hyperEdge : hyperEdges) {
+      hyperEdge.markIndexed();
+    }
   }
 
   /**
@@ -144,7 +221,9 @@ public final class HyperGraph {
 
   /**
    * Adds a hyperedge to the hypergraph, ensuring no duplicate hyperedge IDs exist. The vertices of
-   * the hyperedge are also added to the hypergraph if not already present.
+   * the hyperedge are also added to the hypergraph if not already present. If the conflict graph is
+   * cached, the conflict vertex of the hyperedge is added to it and connected to the hyperedges it
+   * shares a vertex with, without rebuilding the rest of the graph.
    *
    * @param hyperEdge the hyperedge to be added
    * @throws IllegalArgumentException if the hyperedge has no vertices or if there are duplicate IDs
@@ -155,66 +234,307 @@ public final class HyperGraph {
           "Cannot add an HyperEdge with no vertices: " + hyperEdge.getId());
     }
 
-    if (hyperEdges.stream().anyMatch(e -> e.getId().equals(hyperEdge.getId()))) {
+    if (hyperEdgesById.containsKey(hyperEdge.getIntId())) {
       throw new IllegalArgumentException("Duplicate HyperEdge ID found: " + hyperEdge.getId());
     }
 
-    Set<Vertex> verticesInNewEdge = new HashSet<>(hyperEdge.getVertices());
-    for (HyperEdge existingEdge : hyperEdges) {
-      Set<Vertex> verticesInExistingEdge = new HashSet<>(existingEdge.getVertices());
-      if (verticesInNewEdge.equals(verticesInExistingEdge)) {
-        throw new IllegalArgumentException(
-            "Duplicate HyperEdge with the same set of vertices found: " + hyperEdge.getId());
-      }
+    if (findSameVertices(hyperEdge) != null) {
+      throw new IllegalArgumentException(
+          "Duplicate HyperEdge with the same set of vertices found: " + hyperEdge.getId());
     }
 
     vertices.addAll(hyperEdge.getVertices());
 
     hyperEdges.add(hyperEdge);
+    hyperEdge.markIndexed();
+    index(hyperEdge);
+    if (conflictGraph != null) {
+      addConflictVertex(hyperEdge);
+    }
   }
 
   /**
-   * Generates a conflict graph based on the hypergraph. The conflict graph represents conflicts
-   * between hyperedges where conflicts are defined by the presence of common vertices.
+   * Removes a hyperedge from the hypergraph. Vertices that are no longer contained in any hyperedge
+   * are removed as well, and the hyperedge is removed from the cached conflict graph.
    *
-   * @return the generated conflict graph
+   * @param hyperEdge the hyperedge to be removed
+   * @throws IllegalArgumentException if the hyperedge does not belong to the hypergraph
    */
-  public ConflictGraph getConflictGraph() {
-    ConflictGraph conflictGraph = new ConflictGraph();
+  public void removeHyperEdge(HyperEdge hyperEdge) {
+    if (hyperEdge == null || hyperEdgesById.get(hyperEdge.getIntId()) != hyperEdge) {
+      throw new IllegalArgumentException("HyperEdge not found in the hypergraph: " + hyperEdge);
+    }
+    unindex(hyperEdge);
+    hyperEdges.remove(hyperEdge);
+    if (conflictGraph != null) {
+      conflictGraph.deleteVertex(conflictGraph.getVertexFromId(hyperEdge.getIntId()));
+    }
+    removeUncoveredVertices(hyperEdge);
+  }
 
-    for (HyperEdge hyperEdge : hyperEdges) {
-      conflictGraph.addVertex(new Vertex(hyperEdge.getId(), hyperEdge.getNegativeWeight()));
-    }
-
-    List<HyperEdge> hyperEdgeList = new ArrayList<>(hyperEdges);
-    for (int i = 0; i < hyperEdgeList.size(); i++) {
-      for (int j = i + 1; j < hyperEdgeList.size(); j++) {
-        HyperEdge hyperEdge1 = hyperEdgeList.get(i);
-        HyperEdge hyperEdge2 = hyperEdgeList.get(j);
-        if (hasIntersection(hyperEdge1, hyperEdge2)) {
-          Vertex v1 = conflictGraph.getVertexFromId(hyperEdge1.getId());
-          Vertex v2 = conflictGraph.getVertexFromId(hyperEdge2.getId());
-          conflictGraph.addEdge(v1, v2);
+  /**
+   * Removes a vertex from the hypergraph and from every hyperedge that contains it. The hyperedges
+   * themselves are never modified: each affected hyperedge is replaced in the hypergraph by a new
+   * instance with the same ID and the remaining vertices, so placements and results computed
+   * earlier keep the hyperedges they were computed on. A hyperedge left without vertices, or left
+   * with the same vertices as another hyperedge, is removed without a replacement and returned. The
+   * conflict vertices of the replaced hyperedges are updated in the cached conflict graph with
+   * their new weights and conflicts.
+   *
+   * @param vertex the vertex to be removed
+   * @return the hyperedges removed from the hypergraph without a replacement, in no particular
+   *     order
+   * @throws IllegalArgumentException if the vertex does not belong to the hypergraph
+   */
+  public List<HyperEdge> removeVertex(Vertex vertex) {
+    List<HyperEdge> incident = incidentHyperEdges.get(vertex);
+    if (incident == null) {
+      throw new IllegalArgumentException("Vertex not found in the hypergraph: " + vertex);
+    }
+    Vertex member = null;
+    for (Vertex candidate : incident.get(0).getVertices()) {
+      if (candidate.equals(vertex)) {
+        member = candidate;
+      }
+    }
+
+    List<HyperEdge> removedHyperEdges = new ArrayList<>();
+    for (HyperEdge hyperEdge : new ArrayList<>(incident)) {
+      unindex(hyperEdge);
+      hyperEdges.remove(hyperEdge);
+      Set<Vertex> remaining = new HashSet<>(hyperEdge.getVertices());
+      remaining.remove(member);
+      HyperEdge replacement =
+          remaining.isEmpty() ? null : new HyperEdge(hyperEdge.getId(), remaining);
+      if (replacement == null || findSameVertices(replacement) != null) {
+        removedHyperEdges.add(hyperEdge);
+        if (conflictGraph != null) {
+          conflictGraph.deleteVertex(conflictGraph.getVertexFromId(hyperEdge.getIntId()));
+        }
+        removeUncoveredVertices(hyperEdge);
+      } else {
+        hyperEdges.add(replacement);
+        replacement.markIndexed();
+        index(replacement);
+        if (conflictGraph != null) {
+          updateConflictVertex(replacement);
         }
       }
     }
-    return conflictGraph;
+    vertices.remove(member);
+    return removedHyperEdges;
   }
 
   /**
-   * Checks if two hyperedges have at least one vertex in common.
+   * Removes the vertices of a removed hyperedge that are no longer contained in any hyperedge.
    *
-   * @param hyperEdge1 the first hyperedge
-   * @param hyperEdge2 the second hyperedge
-   * @return true if there is an intersection; false otherwise
+   * @param hyperEdge the removed hyperedge
    */
-  private boolean hasIntersection(HyperEdge hyperEdge1, HyperEdge hyperEdge2) {
-    for (Vertex v : hyperEdge1.getVertices()) {
-      if (hyperEdge2.getVertices().contains(v)) {
-        return true;
+  private void removeUncoveredVertices(HyperEdge hyperEdge) {
+    for (Vertex vertex : hyperEdge.getVertices()) {
+      if (!incidentHyperEdges.containsKey(vertex)) {
+        vertices.remove(vertex);
       }
     }
-    return false;
+  }
+
+  /**
+   * Replaces the conflict vertex of a hyperedge whose vertices changed, recomputing its weight and
+   * its conflicts.
+   *
+   * @param hyperEdge the changed hyperedge
+   */
+  private void updateConflictVertex(HyperEdge hyperEdge) {
+    conflictGraph.deleteVertex(conflictGraph.getVertexFromId(hyperEdge.getIntId()));
+    addConflictVertex(hyperEdge);
+  }
+
+  /**
+   * Adds the conflict vertex of an indexed hyperedge to the cached conflict graph, connecting it to
+   * the hyperedges it shares a vertex with through the incidence index.
+   *
+   * @param hyperEdge the indexed hyperedge
+   */
+  private void addConflictVertex(HyperEdge hyperEdge) {
+    Vertex conflictVertex = new Vertex(hyperEdge.getIntId(), hyperEdge.getNegativeWeight());
+    conflictGraph.insertVertex(conflictVertex);
+    for (Vertex vertex : hyperEdge.getVertices()) {
+      for (HyperEdge other : incidentHyperEdges.get(vertex)) {
+        if (other != hyperEdge) {
+          Vertex otherVertex = conflictGraph.getVertexFromId(other.getIntId());
+          if (!conflictGraph.areVerticesConnected(conflictVertex, otherVertex)) {
+            conflictGraph.insertEdge(conflictVertex, otherVertex);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Finds an indexed hyperedge with the same set of vertices as the given one. Only the hyperedges
+   * with the same fingerprint are compared, so the cost is proportional to the size of the given
+   * hyperedge.
+   *
+   * @param hyperEdge the hyperedge to be looked up
+   * @return the indexed hyperedge with the same vertices, or null if there is none
+   */
+  private HyperEdge findSameVertices(HyperEdge hyperEdge) {
+    HyperEdge candidate = hyperEdgesByFingerprint.get(hyperEdge.getFingerprint());
+    if (candidate == null) {
+      return null;
+    }
+    if (candidate.hasSameVertices(hyperEdge)) {
+      return candidate;
+    }
+    for (HyperEdge collision : fingerprintCollisions) {
+      if (collision.hasSameVertices(hyperEdge)) {
+        return collision;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Adds a hyperedge to the ID, fingerprint and incidence indices. The caller freezes the hyperedge
+   * with {@link HyperEdge#markIndexed()} once it belongs to the hypergraph. A hyperedge whose
+   * fingerprint is already taken by a hyperedge with different vertices is kept in a separate
+   * collision list.
+   *
+   * @param hyperEdge the hyperedge to be indexed
+   */
+  private void index(HyperEdge hyperEdge) {
+    hyperEdgesById.put(hyperEdge.getIntId(), hyperEdge);
+    if (hyperEdgesByFingerprint.putIfAbsent(hyperEdge.getFingerprint(), hyperEdge) != null) {
+      fingerprintCollisions.add(hyperEdge);
+    }
+    for (Vertex vertex : hyperEdge.getVertices()) {
+      incidentHyperEdges.computeIfAbsent(vertex, v -> new ArrayList<>(2)).add(hyperEdge);
+    }
+  }
+
+  /**
+   * Removes a hyperedge from the ID, fingerprint and incidence indices. If another hyperedge with
+   * the same fingerprint is waiting in the collision list, it takes the place of the removed one.
+   *
+   * @param hyperEdge the hyperedge to be removed from the indices
+   */
+  private void unindex(HyperEdge hyperEdge) {
+    hyperEdgesById.remove(hyperEdge.getIntId());
+    long fingerprint = hyperEdge.getFingerprint();
+    if (hyperEdgesByFingerprint.get(fingerprint) == hyperEdge) {
+      hyperEdgesByFingerprint.remove(fingerprint);
+      for (int i = 0; i < fingerprintCollisions.size(); i++) {
+        if (fingerprintCollisions.get(i).getFingerprint() == fingerprint) {
+          hyperEdgesByFingerprint.put(fingerprint, fingerprintCollisions.remove(i));
+          break;
+        }
+      }
+    } else {
+      fingerprintCollisions.remove(hyperEdge);
+    }
+    for (Vertex vertex : hyperEdge.getVertices()) {
+      List<HyperEdge> incident = incidentHyperEdges.get(vertex);
+      incident.remove(hyperEdge);
+      if (incident.isEmpty()) {
+        incidentHyperEdges.remove(vertex);
+      }
+    }
+  }
+
+  /**
+   * Retrieves a hyperedge of the hypergraph by its integer ID, which is also the ID of its vertex
+   * in the conflict graph.
+   *
+   * @param id the ID of the hyperedge to retrieve
+   * @return the hyperedge with the specified ID, or null if not found
+   */
+  public HyperEdge getHyperEdgeFromId(int id) {
+    return hyperEdgesById.get(id);
+  }
+
+  /**
+   * Gets the hyperedges that contain the given vertex, in the order in which they were indexed.
+   *
+   * @param vertex the vertex
+   * @return an unmodifiable view of the hyperedges containing the vertex, empty if the vertex does
+   *     not belong to the hypergraph
+   */
+  public List<HyperEdge> getIncidentHyperEdges(Vertex vertex) {
+    List<HyperEdge> incident = incidentHyperEdges.get(vertex);
+    return incident == null ? Collections.emptyList() : Collections.unmodifiableList(incident);
+  }
+
+  /**
+   * Gets the number of hyperedges that contain the given vertex.
+   *
+   * @param vertex the vertex
+   * @return the degree of the vertex, zero if the vertex does not belong to the hypergraph
+   */
+  public int getDegree(Vertex vertex) {
+    List<HyperEdge> incident = incidentHyperEdges.get(vertex);
+    return incident == null ? 0 : incident.size();
+  }
+
+  /**
+   * Gets the conflict graph of the hypergraph. The conflict graph represents conflicts between
+   * hyperedges where conflicts are defined by the presence of common vertices. It is built on first
+   * use and cached, and every later change to the hypergraph patches it in place, so the allocation
+   * strategies share a single instance until the hypergraph changes. The returned conflict graph is
+   * therefore read-only, and {@link ConflictGraph#ConflictGraph(ConflictGraph)} gives a modifiable
+   * copy. Several threads may get the conflict graph at once, as long as the hypergraph is not
+   * being changed meanwhile.
+   *
+   * @return the read-only conflict graph
+   * @see ConflictGraphBuilder
+   */
+  public ConflictGraph getConflictGraph() {
+    ConflictGraph graph = conflictGraph;
+    if (graph == null) {
+      synchronized (this) {
+        graph = conflictGraph;
+        if (graph == null) {
+          graph = new ConflictGraphBuilder().build(this);
+          graph.setReadOnly();
+          conflictGraph = graph;
+        }
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * Gets the conflict graph of the hypergraph, computing the conflicts of the hyperedges in
+   * parallel on the given pool if it is not cached yet. The result is identical to {@link
+   * #getConflictGraph()}.
+   *
+   * @param pool the pool running the construction
+   * @return the read-only conflict graph
+   * @see ConflictGraphBuilder#build(HyperGraph, ForkJoinPool)
+   */
+  public ConflictGraph getConflictGraph(ForkJoinPool pool) {
+    ConflictGraph graph = conflictGraph;
+    if (graph == null) {
+      synchronized (this) {
+        graph = conflictGraph;
+        if (graph == null) {
+          graph = new ConflictGraphBuilder().build(this, pool);
+          graph.setReadOnly();
+          conflictGraph = graph;
+        }
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * Generates an implicit view of the conflict graph of the hypergraph, which answers adjacency
+   * queries through the hyperedges of each vertex instead of storing the conflicting pairs.
+   *
+   * @return the implicit conflict graph
+   * @see ImplicitConflictGraph
+   */
+  public ImplicitConflictGraph getImplicitConflictGraph() {
+    return new ImplicitConflictGraph(this);
   }
 
   /** Prints the placement matrix to the console. */
@@ -239,28 +559,49 @@ public final class HyperGraph {
    *     Each element is 1 if the corresponding vertex is part of the hyperedge, otherwise 0
    */
   public int[][] getPlacementMatrix() {
-    int numVertices = vertices.size();
-    int numHyperEdges = hyperEdges.size();
-
-    int[][] placementMatrix = new int[numVertices][numHyperEdges];
+    return getSparsePlacementMatrix().toDense();
+  }
 
+  /**
+   * Generates the placement matrix of the hypergraph in sparse form, with the vertices as rows and
+   * the hyperedges as columns, both in ascending order of ID. Only the non-zero entries are stored.
+   *
+   * @return the sparse placement matrix
+   */
+  public SparsePlacementMatrix getSparsePlacementMatrix() {
     List<Vertex> sortedVertices = new ArrayList<>(vertices);
-    sortedVertices.sort(Comparator.comparing(Vertex::getId));
+    sortedVertices.sort(Comparator.comparingInt(Vertex::getIntId));
+    Map<Vertex, Integer> rows = new HashMap<>();
+    for (int i = 0; i < sortedVertices.size(); i++) {
+      rows.put(sortedVertices.get(i), i);
+    }
 
     List<HyperEdge> sortedHyperEdges = new ArrayList<>(hyperEdges);
-    sortedHyperEdges.sort(Comparator.comparing(HyperEdge::getId));
-
-    for (int j = 0; j < placementMatrix[0].length; j++) {
-      for (int i = 0; i < placementMatrix.length; i++) {
-        if (sortedHyperEdges.get(j).getVertices().contains(sortedVertices.get(i))) {
-          placementMatrix[i][j] = 1;
-        } else {
-          placementMatrix[i][j] = 0;
-        }
+    sortedHyperEdges.sort(Comparator.comparingInt(HyperEdge::getIntId));
+    int[] columnOffsets = new int[sortedHyperEdges.size() + 1];
+    for (int j = 0; j < sortedHyperEdges.size(); j++) {
+      columnOffsets[j + 1] = columnOffsets[j] + sortedHyperEdges.get(j).getVertices().size();
+    }
+
+    int[] rowIndices = new int[columnOffsets[sortedHyperEdges.size()]];
+    for (int j = 0; j < sortedHyperEdges.size(); j++) {
+      int position = columnOffsets[j];
+      for (Vertex vertex : sortedHyperEdges.get(j).getVertices()) {
+        rowIndices[position++] = rows.get(vertex);
       }
+      Arrays.sort(rowIndices, columnOffsets[j], position);
     }
+    return new SparsePlacementMatrix(sortedVertices.size(), columnOffsets, rowIndices);
+  }
 
-    return placementMatrix;
+  /**
+   * Generates the placement matrix of the hypergraph in bit-packed form, with the vertices as rows
+   * and the hyperedges as columns, both in ascending order of ID.
+   *
+   * @return the bit-packed placement matrix
+   */
+  public BitPackedPlacementMatrix getBitPackedPlacementMatrix() {
+    return getSparsePlacementMatrix().toBitPacked();
   }
 
   /**
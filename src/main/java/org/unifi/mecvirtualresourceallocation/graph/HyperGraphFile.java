@@ -0,0 +1,257 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * This class reads and writes hypergraphs in a versioned binary format designed to be
+ * memory-mapped. All values are little-endian. The file starts with a 32-byte header holding the
+ * magic number, the format version, the number of vertices {@code n}, the number of hyperedges
+ * {@code m} and the number of incidences {@code k}, followed by the columns of a {@link
+ * CompactHyperGraph}:
+ *
+ * <ol>
+ *   <li>the vertex weights, {@code n} doubles;
+ *   <li>the hyperedge weights, {@code m} doubles;
+ *   <li>the vertex IDs, {@code n} ints, in ascending order;
+ *   <li>the hyperedge IDs, {@code m} ints, in ascending order;
+ *   <li>the hyperedge offsets, {@code m + 1} ints;
+ *   <li>the hyperedge members, {@code k} ints;
+ *   <li>the vertex offsets, {@code n + 1} ints;
+ *   <li>the vertex members, {@code k} ints.
+ * </ol>
+ *
+ * <p>Both directions of the incidences are stored, so that opening a file does not need to
+ * transpose them. {@link #map(Path)} maps each column separately with {@link FileChannel#map}, so a
+ * file can exceed 2 GiB as long as every column fits in a single mapping, and the operating system
+ * pages the columns in as they are first read.
+ */
+public final class HyperGraphFile {
+
+  /** The magic number at the start of every file, the ASCII characters "MECH". */
+  static final int MAGIC = 0x4843454D;
+
+  /** The version of the format written by this class. */
+  static final int VERSION = 1;
+
+  /** The size of the header in bytes, which keeps the double columns 8-byte aligned. */
+  static final int HEADER_SIZE = 32;
+
+  private static final int CHUNK_SIZE = 1 << 16;
+
+  private HyperGraphFile() {}
+
+  /**
+   * Writes the given hypergraph to a file, replacing it if it exists.
+   *
+   * @param hyperGraph the hypergraph to be written
+   * @param path the path of the file
+   * @throws IOException if an I/O error occurs
+   */
+  public static void write(HyperGraph hyperGraph, Path path) throws IOException {
+    write(CompactHyperGraph.of(hyperGraph), path);
+  }
+
+  /**
+   * Writes the given compact hypergraph to a file, replacing it if it exists.
+   *
+   * @param hyperGraph the compact hypergraph to be written
+   * @param path the path of the file
+   * @throws IOException if an I/O error occurs
+   */
+  public static void write(CompactHyperGraph hyperGraph, Path path) throws IOException {
+    try (FileChannel channel =
+        FileChannel.open(
+            path,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      ByteBuffer buffer = ByteBuffer.allocate(CHUNK_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.putInt(MAGIC);
+      buffer.putInt(VERSION);
+      buffer.putInt(hyperGraph.getNumVertices());
+      buffer.putInt(hyperGraph.getNumHyperEdges());
+      buffer.putInt(hyperGraph.getNumIncidences());
+      buffer.position(HEADER_SIZE).flip();
+      writeFully(channel, buffer);
+
+      hyperGraph.writeColumns(
+          new CompactHyperGraph.ColumnSink() {
+            @Override
+            public void writeInts(IntBuffer column) throws IOException {
+              while (column.hasRemaining()) {
+                buffer.clear();
+                IntBuffer view = buffer.asIntBuffer();
+                int count = Math.min(view.remaining(), column.remaining());
+                view.put(column.slice().limit(count));
+                column.position(column.position() + count);
+                buffer.limit(count * Integer.BYTES);
+                writeFully(channel, buffer);
+              }
+            }
+
+            @Override
+            public void writeDoubles(DoubleBuffer column) throws IOException {
+              while (column.hasRemaining()) {
+                buffer.clear();
+                DoubleBuffer view = buffer.asDoubleBuffer();
+                int count = Math.min(view.remaining(), column.remaining());
+                view.put(column.slice().limit(count));
+                column.position(column.position() + count);
+                buffer.limit(count * Double.BYTES);
+                writeFully(channel, buffer);
+              }
+            }
+          });
+    }
+  }
+
+  /**
+   * Opens a hypergraph file as a compact hypergraph backed by read-only memory mappings. Only the
+   * header and the bounds of the offset columns are read; the columns themselves are neither copied
+   * nor validated, and are paged in lazily. The mappings stay valid after this method returns,
+   * until the compact hypergraph is garbage collected.
+   *
+   * @param path the path of the file
+   * @return the compact hypergraph backed by the file
+   * @throws IOException if an I/O error occurs, if the file is not a hypergraph file of a supported
+   *     version, or if a column is too large to be mapped
+   */
+  public static CompactHyperGraph map(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_SIZE) {
+        throw new IOException("File too short to be a hypergraph file: " + path);
+      }
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+      while (header.hasRemaining()) {
+        if (channel.read(header, header.position()) < 0) {
+          throw new IOException("Unexpected end of file: " + path);
+        }
+      }
+      header.flip();
+      if (header.getInt() != MAGIC) {
+        throw new IOException("Not a hypergraph file: " + path);
+      }
+      int version = header.getInt();
+      if (version != VERSION) {
+        throw new IOException("Unsupported hypergraph file version " + version + ": " + path);
+      }
+      int numVertices = header.getInt();
+      int numHyperEdges = header.getInt();
+      int numIncidences = header.getInt();
+      if (numVertices < 0 || numHyperEdges < 0 || numIncidences < 0) {
+        throw new IOException("Invalid hypergraph file header: " + path);
+      }
+
+      long expectedSize =
+          HEADER_SIZE
+              + (long) Double.BYTES * (numVertices + numHyperEdges)
+              + (long) Integer.BYTES
+                  * (2L * numVertices + 2L * numHyperEdges + 2L + 2L * numIncidences);
+      if (channel.size() != expectedSize) {
+        throw new IOException(
+            "Hypergraph file size " + channel.size() + " does not match header: " + path);
+      }
+
+      Mapper mapper = new Mapper(channel);
+      DoubleBuffer vertexWeights = mapper.mapDoubles(numVertices);
+      DoubleBuffer hyperEdgeWeights = mapper.mapDoubles(numHyperEdges);
+      IntBuffer vertexIds = mapper.mapInts(numVertices);
+      IntBuffer hyperEdgeIds = mapper.mapInts(numHyperEdges);
+      IntBuffer hyperEdgeOffsets = mapper.mapInts(numHyperEdges + 1);
+      IntBuffer hyperEdgeMembers = mapper.mapInts(numIncidences);
+      IntBuffer vertexOffsets = mapper.mapInts(numVertices + 1);
+      IntBuffer vertexMembers = mapper.mapInts(numIncidences);
+      if (hyperEdgeOffsets.get(0) != 0
+          || hyperEdgeOffsets.get(numHyperEdges) != numIncidences
+          || vertexOffsets.get(0) != 0
+          || vertexOffsets.get(numVertices) != numIncidences) {
+        throw new IOException("Invalid incidence offsets in hypergraph file: " + path);
+      }
+
+      return new CompactHyperGraph(
+          vertexIds,
+          vertexWeights,
+          hyperEdgeIds,
+          hyperEdgeWeights,
+          hyperEdgeOffsets,
+          hyperEdgeMembers,
+          vertexOffsets,
+          vertexMembers);
+    }
+  }
+
+  /**
+   * Writes the remaining bytes of the buffer to the channel.
+   *
+   * @param channel the channel
+   * @param buffer the buffer
+   * @throws IOException if an I/O error occurs
+   */
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /** Maps the columns of a hypergraph file one after the other. */
+  private static final class Mapper {
+
+    private final FileChannel channel;
+    private long position = HEADER_SIZE;
+
+    /**
+     * Constructs a mapper starting at the first column.
+     *
+     * @param channel the channel of the file
+     */
+    private Mapper(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    /**
+     * Maps the next column as integers.
+     *
+     * @param length the number of elements of the column
+     * @return the read-only view of the column
+     * @throws IOException if an I/O error occurs or the column is too large to be mapped
+     */
+    private IntBuffer mapInts(int length) throws IOException {
+      return map((long) length * Integer.BYTES).asIntBuffer();
+    }
+
+    /**
+     * Maps the next column as doubles.
+     *
+     * @param length the number of elements of the column
+     * @return the read-only view of the column
+     * @throws IOException if an I/O error occurs or the column is too large to be mapped
+     */
+    private DoubleBuffer mapDoubles(int length) throws IOException {
+      return map((long) length * Double.BYTES).asDoubleBuffer();
+    }
+
+    /**
+     * Maps the next bytes of the file.
+     *
+     * @param size the number of bytes
+     * @return the little-endian mapping
+     * @throws IOException if an I/O error occurs or the region is too large to be mapped
+     */
+    private ByteBuffer map(long size) throws IOException {
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException("Hypergraph file column of " + size + " bytes is too large to map");
+      }
+      MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+      position += size;
+      return mapping.order(ByteOrder.LITTLE_ENDIAN);
+    }
+  }
+}
@@ -0,0 +1,390 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.function.IntToDoubleFunction;
+
+/**
+ * This class reads hypergraphs from text files into a {@link CompactHyperGraph}. Two formats are
+ * supported:
+ *
+ * <ul>
+ *   <li>the hMETIS {@code .hgr} format, whose first line holds the number of hyperedges, the number
+ *       of vertices and an optional format code, followed by one line per hyperedge listing its
+ *       vertices from 1, and, when the format code has a tens digit of 1, one line per vertex with
+ *       its weight. Hyperedge weights, present when the format code has a units digit of 1, are
+ *       skipped, since the weight of a hyperedge is always the sum of the weights of its vertices.
+ *       Lines starting with {@code %} are comments;
+ *   <li>an edge list with one {@code vm,pm} pair per line, giving the ID of a vertex and the ID of
+ *       a hyperedge containing it, that is, the coordinates of a non-zero entry of the placement
+ *       matrix. An optional header line starting with a letter and lines starting with {@code #}
+ *       are skipped.
+ * </ul>
+ *
+ * <p>The files are read through a {@link FileChannel} into a fixed-size buffer and parsed without
+ * creating a string per line or per token. The incidences are accumulated directly in primitive
+ * arrays, so the intermediate memory stays within a small factor of the footprint of the resulting
+ * compact hypergraph: about 1.5 times for an edge list, see {@link #readEdgeList(Path,
+ * IntToDoubleFunction)}.
+ */
+public final class HyperGraphReader {
+
+  /** The number of pairs in each chunk read from an edge list. */
+  static final int CHUNK_SIZE = 1 << 16;
+
+  private HyperGraphReader() {}
+
+  /**
+   * Reads a hypergraph in hMETIS format. Vertex {@code i} of the file becomes the vertex with ID
+   * {@code i} and the j-th hyperedge becomes the hyperedge with ID {@code j}, as in {@link
+   * CompactHyperGraph#fromPlacementMatrix(int[][], double[])}. Vertices have weight 1 when the file
+   * has no vertex weights.
+   *
+   * @param path the path of the file
+   * @return the compact hypergraph read from the file
+   * @throws IOException if an I/O error occurs or the file is malformed
+   */
+  public static CompactHyperGraph readHMetis(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return readHMetis(channel);
+    }
+  }
+
+  /**
+   * Reads a hypergraph in hMETIS format from a channel.
+   *
+   * @param channel the channel to read from
+   * @return the compact hypergraph read from the channel
+   * @throws IOException if an I/O error occurs or the input is malformed
+   */
+  static CompactHyperGraph readHMetis(ReadableByteChannel channel) throws IOException {
+    TextScanner scanner = new TextScanner(channel);
+    if (!scanner.nextLine()) {
+      throw new IOException("Missing hMETIS header");
+    }
+    int numHyperEdges = scanner.nextInt();
+    int numVertices = scanner.nextInt();
+    int format = scanner.hasNext() ? scanner.nextInt() : 0;
+    scanner.endLine();
+    if (numHyperEdges < 0
+        || numVertices < 0
+        || (format != 0 && format != 1 && format != 10 && format != 11)) {
+      throw scanner.error("Invalid hMETIS header");
+    }
+    boolean hyperEdgeWeights = format % 10 == 1;
+    boolean vertexWeights = format / 10 == 1;
+
+    int[] hyperEdgeOffsets = new int[numHyperEdges + 1];
+    int[] hyperEdgeMembers = new int[Math.max(16, numHyperEdges)];
+    int position = 0;
+    for (int j = 0; j < numHyperEdges; j++) {
+      if (!scanner.nextLine()) {
+        throw scanner.error("Expected " + numHyperEdges + " hyperedges");
+      }
+      if (hyperEdgeWeights) {
+        scanner.nextDouble();
+      }
+      while (scanner.hasNext()) {
+        int vertex = scanner.nextInt();
+        if (vertex < 1 || vertex > numVertices) {
+          throw scanner.error("Vertex " + vertex + " out of range");
+        }
+        if (position == hyperEdgeMembers.length) {
+          hyperEdgeMembers = grow(hyperEdgeMembers);
+        }
+        hyperEdgeMembers[position++] = vertex - 1;
+      }
+      if (position == hyperEdgeOffsets[j]) {
+        throw scanner.error("Cannot add a HyperEdge with no vertices.");
+      }
+      Arrays.sort(hyperEdgeMembers, hyperEdgeOffsets[j], position);
+      for (int k = hyperEdgeOffsets[j] + 1; k < position; k++) {
+        if (hyperEdgeMembers[k] == hyperEdgeMembers[k - 1]) {
+          throw scanner.error("Vertex " + (hyperEdgeMembers[k] + 1) + " is repeated");
+        }
+      }
+      hyperEdgeOffsets[j + 1] = position;
+    }
+
+    double[] weights = new double[numVertices];
+    for (int i = 0; i < numVertices; i++) {
+      if (vertexWeights) {
+        if (!scanner.nextLine()) {
+          throw scanner.error("Expected " + numVertices + " vertex weights");
+        }
+        weights[i] = Math.abs(scanner.nextDouble());
+        scanner.endLine();
+      } else {
+        weights[i] = 1.0;
+      }
+    }
+    if (scanner.nextLine()) {
+      throw scanner.error("Unexpected content after the last hMETIS section");
+    }
+
+    int[] vertexIds = new int[numVertices];
+    for (int i = 0; i < numVertices; i++) {
+      vertexIds[i] = i + 1;
+    }
+    int[] hyperEdgeIds = new int[numHyperEdges];
+    for (int j = 0; j < numHyperEdges; j++) {
+      hyperEdgeIds[j] = j + 1;
+    }
+    hyperEdgeMembers = Arrays.copyOf(hyperEdgeMembers, position);
+    return new CompactHyperGraph(
+        vertexIds,
+        weights,
+        hyperEdgeIds,
+        hyperEdgeWeights(weights, hyperEdgeOffsets, hyperEdgeMembers),
+        hyperEdgeOffsets,
+        hyperEdgeMembers);
+  }
+
+  /**
+   * Reads a hypergraph from a {@code vm,pm} edge list. The IDs found in the file are kept as the
+   * IDs of the vertices and hyperedges.
+   *
+   * @param path the path of the file
+   * @param vertexWeights the weight of each vertex, by vertex ID
+   * @return the compact hypergraph read from the file
+   * @throws IOException if an I/O error occurs or the file is malformed
+   */
+  public static CompactHyperGraph readEdgeList(Path path, IntToDoubleFunction vertexWeights)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return readEdgeList(channel, vertexWeights);
+    }
+  }
+
+  /**
+   * Reads a hypergraph from a {@code vm,pm} edge list on a channel. Each pair is packed into a
+   * single {@code long} with the hyperedge ID in the high half, so that sorting the pairs groups
+   * the incidences by hyperedge and orders the vertices within each hyperedge.
+   *
+   * <p>The number of pairs is not known in advance, so they are read into chunks of {@link
+   * #CHUNK_SIZE} pairs instead of an array grown by copying. Each chunk is sorted on its own and
+   * the chunks are then merged straight into the members array of the hypergraph, releasing each
+   * chunk as soon as it is consumed. The peak memory is therefore about 12 bytes per incidence, the
+   * 8-byte pairs plus the 4-byte members, against about 8 bytes per incidence for the resulting
+   * compact hypergraph, which also stores the vertex-to-hyperedge incidences.
+   *
+   * @param channel the channel to read from
+   * @param vertexWeights the weight of each vertex, by vertex ID
+   * @return the compact hypergraph read from the channel
+   * @throws IOException if an I/O error occurs or the input is malformed
+   */
+  static CompactHyperGraph readEdgeList(
+      ReadableByteChannel channel, IntToDoubleFunction vertexWeights) throws IOException {
+    TextScanner scanner = new TextScanner(channel);
+    long[][] chunks = new long[16][];
+    int numChunks = 0;
+    long[] chunk = null;
+    int chunkSize = CHUNK_SIZE;
+    long numPairs = 0;
+    boolean first = true;
+    while (scanner.nextLine()) {
+      if (first && Character.isLetter(scanner.peek())) {
+        scanner.skipLine();
+        first = false;
+        continue;
+      }
+      first = false;
+      int vertexId = scanner.nextInt();
+      int hyperEdgeId = scanner.nextInt();
+      if (vertexId <= 0 || hyperEdgeId <= 0) {
+        throw scanner.error("ID must be a positive integer");
+      }
+      scanner.endLine();
+      if (chunkSize == CHUNK_SIZE) {
+        if (numChunks == chunks.length) {
+          chunks = Arrays.copyOf(chunks, numChunks * 2);
+        }
+        chunk = new long[CHUNK_SIZE];
+        chunks[numChunks++] = chunk;
+        chunkSize = 0;
+      }
+      chunk[chunkSize++] = ((long) hyperEdgeId << 32) | vertexId;
+      numPairs++;
+    }
+    if (numPairs > Integer.MAX_VALUE - 8) {
+      throw new IOException("Too many incidences: " + numPairs);
+    }
+    if (numChunks > 0) {
+      chunks[numChunks - 1] = Arrays.copyOf(chunk, chunkSize);
+    }
+    for (int c = 0; c < numChunks; c++) {
+      Arrays.sort(chunks[c]);
+    }
+
+    ChunkMerge merge = new ChunkMerge(chunks, numChunks);
+    int[] hyperEdgeMembers = new int[(int) numPairs];
+    int[] hyperEdgeIds = new int[16];
+    int[] hyperEdgeOffsets = new int[17];
+    int numHyperEdges = 0;
+    long previous = 0;
+    for (int k = 0; k < hyperEdgeMembers.length; k++) {
+      long pair = merge.next();
+      if (k > 0 && pair == previous) {
+        throw new IOException(
+            "Vertex " + (int) pair + " is repeated in hyperedge " + (int) (pair >>> 32));
+      }
+      if (k == 0 || (pair >>> 32) != (previous >>> 32)) {
+        if (numHyperEdges == hyperEdgeIds.length) {
+          hyperEdgeIds = grow(hyperEdgeIds);
+          hyperEdgeOffsets = Arrays.copyOf(hyperEdgeOffsets, hyperEdgeIds.length + 1);
+        }
+        hyperEdgeIds[numHyperEdges] = (int) (pair >>> 32);
+        hyperEdgeOffsets[numHyperEdges++] = k;
+      }
+      hyperEdgeMembers[k] = (int) pair;
+      previous = pair;
+    }
+    hyperEdgeIds = Arrays.copyOf(hyperEdgeIds, numHyperEdges);
+    hyperEdgeOffsets = Arrays.copyOf(hyperEdgeOffsets, numHyperEdges + 1);
+    hyperEdgeOffsets[numHyperEdges] = hyperEdgeMembers.length;
+
+    int[] sortedMembers = hyperEdgeMembers.clone();
+    Arrays.sort(sortedMembers);
+    int numVertices = 0;
+    for (int k = 0; k < sortedMembers.length; k++) {
+      if (k == 0 || sortedMembers[k] != sortedMembers[k - 1]) {
+        sortedMembers[numVertices++] = sortedMembers[k];
+      }
+    }
+    int[] vertexIds = Arrays.copyOf(sortedMembers, numVertices);
+    sortedMembers = null;
+    double[] weights = new double[numVertices];
+    for (int i = 0; i < numVertices; i++) {
+      weights[i] = Math.abs(vertexWeights.applyAsDouble(vertexIds[i]));
+    }
+    for (int k = 0; k < hyperEdgeMembers.length; k++) {
+      hyperEdgeMembers[k] = Arrays.binarySearch(vertexIds, hyperEdgeMembers[k]);
+    }
+
+    return new CompactHyperGraph(
+        vertexIds,
+        weights,
+        hyperEdgeIds,
+        hyperEdgeWeights(weights, hyperEdgeOffsets, hyperEdgeMembers),
+        hyperEdgeOffsets,
+        hyperEdgeMembers);
+  }
+
+  /**
+   * Computes the weight of each hyperedge as the sum of the weights of its vertices.
+   *
+   * @param vertexWeights the weights of the vertices
+   * @param hyperEdgeOffsets the offsets of each hyperedge in the members array
+   * @param hyperEdgeMembers the vertex indices of all hyperedges
+   * @return the weights of the hyperedges
+   */
+  private static double[] hyperEdgeWeights(
+      double[] vertexWeights, int[] hyperEdgeOffsets, int[] hyperEdgeMembers) {
+    double[] hyperEdgeWeights = new double[hyperEdgeOffsets.length - 1];
+    for (int j = 0; j < hyperEdgeWeights.length; j++) {
+      for (int k = hyperEdgeOffsets[j]; k < hyperEdgeOffsets[j + 1]; k++) {
+        hyperEdgeWeights[j] += vertexWeights[hyperEdgeMembers[k]];
+      }
+    }
+    return hyperEdgeWeights;
+  }
+
+  /**
+   * Grows an array by half of its length.
+   *
+   * @param array the array
+   * @return a larger copy of the array
+   */
+  private static int[] grow(int[] array) {
+    return Arrays.copyOf(array, array.length + (array.length >> 1));
+  }
+
+  /**
+   * A k-way merge of sorted chunks through a binary heap of the chunks, ordered by their next pair.
+   * A chunk is released as soon as all its pairs have been returned.
+   */
+  private static final class ChunkMerge {
+
+    private final long[][] chunks;
+    private final int[] positions;
+    private final int[] heap;
+    private int size;
+
+    /**
+     * Constructs a merge of the given sorted chunks.
+     *
+     * @param chunks the chunks, each sorted in ascending order and released while merging
+     * @param numChunks the number of chunks
+     */
+    private ChunkMerge(long[][] chunks, int numChunks) {
+      this.chunks = chunks;
+      this.positions = new int[numChunks];
+      this.heap = new int[numChunks];
+      for (int c = 0; c < numChunks; c++) {
+        if (chunks[c].length > 0) {
+          heap[size++] = c;
+        }
+      }
+      for (int i = size / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+    }
+
+    /**
+     * Returns the smallest pair not returned yet. The caller must not ask for more pairs than the
+     * chunks hold.
+     *
+     * @return the next pair in ascending order
+     */
+    private long next() {
+      int c = heap[0];
+      long pair = chunks[c][positions[c]++];
+      if (positions[c] == chunks[c].length) {
+        chunks[c] = null;
+        heap[0] = heap[--size];
+      }
+      siftDown(0);
+      return pair;
+    }
+
+    /**
+     * Moves the chunk at the given heap position down until the heap is ordered again.
+     *
+     * @param i the heap position
+     */
+    private void siftDown(int i) {
+      while (true) {
+        int smallest = i;
+        int left = 2 * i + 1;
+        int right = left + 1;
+        if (left < size && head(heap[left]) < head(heap[smallest])) {
+          smallest = left;
+        }
+        if (right < size && head(heap[right]) < head(heap[smallest])) {
+          smallest = right;
+        }
+        if (smallest == i) {
+          return;
+        }
+        int swap = heap[i];
+        heap[i] = heap[smallest];
+        heap[smallest] = swap;
+        i = smallest;
+      }
+    }
+
+    /**
+     * Gets the next pair of a chunk.
+     *
+     * @param c the chunk
+     * @return the smallest pair of the chunk not returned yet
+     */
+    private long head(int c) {
+      return chunks[c][positions[c]];
+    }
+  }
+}
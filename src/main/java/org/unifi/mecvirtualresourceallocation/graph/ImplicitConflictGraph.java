@@ -0,0 +1,256 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This class represents the conflict graph of a hypergraph without storing its edges. Every vertex
+ * of the hypergraph induces a clique in the conflict graph among the hyperedges that contain it, so
+ * the conflict graph is fully described by the list of hyperedges of each vertex, which is the dual
+ * of the hypergraph. Adjacency queries are answered by walking these cliques, and the memory used
+ * is linear in the number of non-zero entries of the placement matrix rather than in the number of
+ * conflicting pairs.
+ *
+ * <p>The view is read-only: vertices and edges cannot be added or removed. {@link #getEdges()}
+ * materialises the edge set on each call and should be avoided on large graphs.
+ */
+public final class ImplicitConflictGraph extends ConflictGraph {
+
+  private final Vertex[] conflictVertices;
+  private final int[] ids;
+  private final int[] memberOffsets;
+  private final int[] members;
+  private final int[] cliqueOffsets;
+  private final int[] cliques;
+  private volatile AdjacencyIndex adjacencyIndex;
+
+  /**
+   * Constructs the implicit conflict graph of the given hypergraph.
+   *
+   * @param hyperGraph the hypergraph from which the conflict graph is derived
+   */
+  public ImplicitConflictGraph(HyperGraph hyperGraph) {
+    List<HyperEdge> hyperEdgeList = new ArrayList<>(hyperGraph.getHyperEdges());
+    hyperEdgeList.sort(Comparator.comparingInt(HyperEdge::getIntId));
+    int numHyperEdges = hyperEdgeList.size();
+
+    conflictVertices = new Vertex[numHyperEdges];
+    ids = new int[numHyperEdges];
+    memberOffsets = new int[numHyperEdges + 1];
+    for (int i = 0; i < numHyperEdges; i++) {
+      HyperEdge hyperEdge = hyperEdgeList.get(i);
+      conflictVertices[i] = new Vertex(hyperEdge.getIntId(), hyperEdge.getNegativeWeight());
+      ids[i] = hyperEdge.getIntId();
+      memberOffsets[i + 1] = memberOffsets[i] + hyperEdge.getVertices().size();
+    }
+
+    Map<Vertex, Integer> vertexIndices = new HashMap<>();
+    members = new int[memberOffsets[numHyperEdges]];
+    for (int i = 0; i < numHyperEdges; i++) {
+      int position = memberOffsets[i];
+      for (Vertex vertex : hyperEdgeList.get(i).getVertices()) {
+        members[position++] = vertexIndices.computeIfAbsent(vertex, v -> vertexIndices.size());
+      }
+    }
+
+    cliqueOffsets = new int[vertexIndices.size() + 1];
+    for (int member : members) {
+      cliqueOffsets[member + 1]++;
+    }
+    for (int v = 0; v < vertexIndices.size(); v++) {
+      cliqueOffsets[v + 1] += cliqueOffsets[v];
+    }
+    cliques = new int[members.length];
+    int[] fill = Arrays.copyOf(cliqueOffsets, vertexIndices.size());
+    for (int i = 0; i < numHyperEdges; i++) {
+      for (int k = memberOffsets[i]; k < memberOffsets[i + 1]; k++) {
+        cliques[fill[members[k]]++] = i;
+      }
+    }
+  }
+
+  /**
+   * Gets the vertices of the conflict graph.
+   *
+   * @return the vertices
+   */
+  @Override
+  public Set<Vertex> getVertices() {
+    return new HashSet<>(Arrays.asList(conflictVertices));
+  }
+
+  /**
+   * Retrieves a vertex from the conflict graph by its integer ID.
+   *
+   * @param id the ID of the vertex to retrieve
+   * @return the vertex with the specified ID, or null if not found
+   */
+  @Override
+  public Vertex getVertexFromId(int id) {
+    int index = Arrays.binarySearch(ids, id);
+    return index < 0 ? null : conflictVertices[index];
+  }
+
+  /**
+   * Not supported, since the implicit conflict graph is a read-only view of a hypergraph.
+   *
+   * @param vertex the vertex to be added
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void addVertex(Vertex vertex) {
+    throw new UnsupportedOperationException("An implicit conflict graph cannot be modified.");
+  }
+
+  /**
+   * Not supported, since the implicit conflict graph is a read-only view of a hypergraph.
+   *
+   * @param vertex1 the first vertex
+   * @param vertex2 the second vertex
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void addEdge(Vertex vertex1, Vertex vertex2) {
+    throw new UnsupportedOperationException("An implicit conflict graph cannot be modified.");
+  }
+
+  /**
+   * Not supported, since the implicit conflict graph is a read-only view of a hypergraph.
+   *
+   * @param vertex the vertex to be removed
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  public void removeVertex(Vertex vertex) {
+    throw new UnsupportedOperationException("An implicit conflict graph cannot be modified.");
+  }
+
+  /**
+   * Gets the edges of the conflict graph. The edges are not stored, so a new set is materialised
+   * from the cliques on each call.
+   *
+   * @return the edges
+   */
+  @Override
+  public Set<Edge> getEdges() {
+    Set<Edge> edges = new HashSet<>();
+    for (int i = 0; i < conflictVertices.length; i++) {
+      for (int j : neighbours(i)) {
+        if (j > i) {
+          edges.add(new Edge(conflictVertices[i], conflictVertices[j]));
+        }
+      }
+    }
+    return edges;
+  }
+
+  /**
+   * Checks if two vertices are connected, that is, if the corresponding hyperedges share a vertex.
+   * The cliques of the members of one hyperedge are searched for the other.
+   *
+   * @param vertex1 the first vertex
+   * @param vertex2 the second vertex
+   * @return true if the vertices are connected, false otherwise
+   */
+  @Override
+  public boolean areVerticesConnected(Vertex vertex1, Vertex vertex2) {
+    int index1 = Arrays.binarySearch(ids, vertex1.getIntId());
+    int index2 = Arrays.binarySearch(ids, vertex2.getIntId());
+    if (index1 < 0 || index2 < 0 || index1 == index2) {
+      return false;
+    }
+    int size1 = memberOffsets[index1 + 1] - memberOffsets[index1];
+    int size2 = memberOffsets[index2 + 1] - memberOffsets[index2];
+    int from = size1 <= size2 ? index1 : index2;
+    int target = size1 <= size2 ? index2 : index1;
+    for (int k = memberOffsets[from]; k < memberOffsets[from + 1]; k++) {
+      int member = members[k];
+      if (Arrays.binarySearch(cliques, cliqueOffsets[member], cliqueOffsets[member + 1], target)
+          >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Retrieves the adjacent vertices for a given vertex, collecting the cliques of the members of
+   * the corresponding hyperedge.
+   *
+   * @param vertex the vertex for which to find adjacent vertices
+   * @return a new set of adjacent vertices
+   */
+  @Override
+  public Set<Vertex> getAdjacentVertices(Vertex vertex) {
+    Set<Vertex> adjacentVertices = new HashSet<>();
+    int index = Arrays.binarySearch(ids, vertex.getIntId());
+    if (index >= 0) {
+      for (int j : neighbours(index)) {
+        adjacentVertices.add(conflictVertices[j]);
+      }
+    }
+    return adjacentVertices;
+  }
+
+  /**
+   * Gets the adjacency index of the conflict graph. The index is built from the cliques on first
+   * use and, unlike the view itself, stores every conflicting pair.
+   *
+   * @return the adjacency index of the conflict graph
+   */
+  @Override
+  public AdjacencyIndex getAdjacencyIndex() {
+    AdjacencyIndex index = adjacencyIndex;
+    if (index == null) {
+      synchronized (this) {
+        index = adjacencyIndex;
+        if (index == null) {
+          int[][] rows = new int[conflictVertices.length][];
+          for (int i = 0; i < conflictVertices.length; i++) {
+            rows[i] = neighbours(i);
+          }
+          index = AdjacencyIndex.of(conflictVertices, rows);
+          adjacencyIndex = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  /**
+   * Collects the neighbours of the vertex at the given index from the cliques of the members of the
+   * corresponding hyperedge.
+   *
+   * @param index the index of the vertex
+   * @return the sorted indices of the neighbours
+   */
+  private int[] neighbours(int index) {
+    int count = 0;
+    for (int k = memberOffsets[index]; k < memberOffsets[index + 1]; k++) {
+      count += cliqueOffsets[members[k] + 1] - cliqueOffsets[members[k]];
+    }
+    int[] buffer = new int[count];
+    count = 0;
+    for (int k = memberOffsets[index]; k < memberOffsets[index + 1]; k++) {
+      for (int c = cliqueOffsets[members[k]]; c < cliqueOffsets[members[k] + 1]; c++) {
+        if (cliques[c] != index) {
+          buffer[count++] = cliques[c];
+        }
+      }
+    }
+    Arrays.sort(buffer, 0, count);
+    int unique = 0;
+    for (int i = 0; i < count; i++) {
+      if (unique == 0 || buffer[unique - 1] != buffer[i]) {
+        buffer[unique++] = buffer[i];
+      }
+    }
+    return Arrays.copyOf(buffer, unique);
+  }
+}
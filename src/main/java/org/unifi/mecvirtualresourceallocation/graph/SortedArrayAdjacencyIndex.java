@@ -0,0 +1,78 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.Arrays;
+
+/**
+ * An adjacency index backed by sorted {@code int[]} neighbour lists stored in a compressed sparse
+ * row layout. Connectivity checks are binary searches and neighbourhood intersections are linear
+ * merges.
+ */
+final class SortedArrayAdjacencyIndex extends AdjacencyIndex {
+
+  private final int[] offsets;
+  private final int[] neighbours;
+
+  /**
+   * Constructs a sorted list adjacency index from sorted neighbour lists.
+   *
+   * @param vertices the vertices, in index order
+   * @param neighbours the sorted neighbour indices of each vertex
+   */
+  SortedArrayAdjacencyIndex(Vertex[] vertices, int[][] neighbours) {
+    super(vertices);
+    this.offsets = new int[vertices.length + 1];
+    for (int i = 0; i < vertices.length; i++) {
+      offsets[i + 1] = offsets[i] + neighbours[i].length;
+    }
+    this.neighbours = new int[offsets[vertices.length]];
+    for (int i = 0; i < vertices.length; i++) {
+      System.arraycopy(neighbours[i], 0, this.neighbours, offsets[i], neighbours[i].length);
+    }
+  }
+
+  @Override
+  public boolean isDense() {
+    return false;
+  }
+
+  @Override
+  public boolean areConnected(int index1, int index2) {
+    if (getDegree(index1) > getDegree(index2)) {
+      return Arrays.binarySearch(neighbours, offsets[index2], offsets[index2 + 1], index1) >= 0;
+    }
+    return Arrays.binarySearch(neighbours, offsets[index1], offsets[index1 + 1], index2) >= 0;
+  }
+
+  @Override
+  public int getDegree(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+  @Override
+  public int[] getNeighbours(int index) {
+    return Arrays.copyOfRange(neighbours, offsets[index], offsets[index + 1]);
+  }
+
+  @Override
+  public int countCommonNeighbours(int index1, int index2) {
+    int position1 = offsets[index1];
+    int end1 = offsets[index1 + 1];
+    int position2 = offsets[index2];
+    int end2 = offsets[index2 + 1];
+    int count = 0;
+    while (position1 < end1 && position2 < end2) {
+      int neighbour1 = neighbours[position1];
+      int neighbour2 = neighbours[position2];
+      if (neighbour1 == neighbour2) {
+        count++;
+        position1++;
+        position2++;
+      } else if (neighbour1 < neighbour2) {
+        position1++;
+      } else {
+        position2++;
+      }
+    }
+    return count;
+  }
+}
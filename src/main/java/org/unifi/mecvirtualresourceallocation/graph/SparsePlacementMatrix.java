@@ -0,0 +1,297 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.util.Arrays;
+
+/**
+ * This class represents a placement matrix in compressed sparse column (CSC) form. Rows represent
+ * vertices and columns represent hyperedges, as in the dense placement matrix of a {@link
+ * HyperGraph}, but only the positions of the ones are stored: for each column, the sorted indices
+ * of the rows it contains. The memory used is therefore proportional to the number of non-zero
+ * entries rather than to the product of the dimensions.
+ *
+ * <p>The matrix can also be built from and exported to coordinate (COO) form, that is, two parallel
+ * arrays with the row and the column of each non-zero entry.
+ */
+public final class SparsePlacementMatrix {
+
+  private final int numRows;
+  private final int[] columnOffsets;
+  private final int[] rowIndices;
+
+  /**
+   * Constructs a sparse placement matrix from its CSC arrays, which must already be valid.
+   *
+   * @param numRows the number of rows
+   * @param columnOffsets the offsets of the columns into the row indices, with one extra entry
+   * @param rowIndices the sorted row indices of each column, concatenated
+   */
+  SparsePlacementMatrix(int numRows, int[] columnOffsets, int[] rowIndices) {
+    this.numRows = numRows;
+    this.columnOffsets = columnOffsets;
+    this.rowIndices = rowIndices;
+  }
+
+  /**
+   * Creates a sparse placement matrix from its CSC arrays.
+   *
+   * @param numRows the number of rows
+   * @param columnOffsets the offsets of the columns into the row indices; column {@code j} spans
+   *     positions {@code columnOffsets[j]} to {@code columnOffsets[j + 1]}
+   * @param rowIndices the row indices of each column, concatenated, strictly increasing within a
+   *     column
+   * @return the sparse placement matrix
+   * @throws IllegalArgumentException if the arrays are not a valid CSC matrix
+   */
+  public static SparsePlacementMatrix fromColumns(
+      int numRows, int[] columnOffsets, int[] rowIndices) {
+    if (numRows < 0 || columnOffsets.length == 0 || columnOffsets[0] != 0) {
+      throw new IllegalArgumentException("Invalid column offsets of the placement matrix");
+    }
+    int numColumns = columnOffsets.length - 1;
+    if (columnOffsets[numColumns] != rowIndices.length) {
+      throw new IllegalArgumentException("Invalid column offsets of the placement matrix");
+    }
+    for (int j = 0; j < numColumns; j++) {
+      if (columnOffsets[j] > columnOffsets[j + 1]) {
+        throw new IllegalArgumentException("Invalid column offsets of the placement matrix");
+      }
+      for (int k = columnOffsets[j]; k < columnOffsets[j + 1]; k++) {
+        if (rowIndices[k] < 0
+            || rowIndices[k] >= numRows
+            || (k > columnOffsets[j] && rowIndices[k] <= rowIndices[k - 1])) {
+          throw new IllegalArgumentException(
+              "Row indices of column " + j + " must be distinct, sorted and within bounds");
+        }
+      }
+    }
+    return new SparsePlacementMatrix(numRows, columnOffsets.clone(), rowIndices.clone());
+  }
+
+  /**
+   * Creates a sparse placement matrix from the coordinates of its non-zero entries, given in any
+   * order.
+   *
+   * @param numRows the number of rows
+   * @param numColumns the number of columns
+   * @param rows the row of each non-zero entry
+   * @param columns the column of each non-zero entry
+   * @return the sparse placement matrix
+   * @throws IllegalArgumentException if the arrays have different lengths, if a coordinate is out
+   *     of bounds or if an entry is repeated
+   */
+  public static SparsePlacementMatrix fromCoordinates(
+      int numRows, int numColumns, int[] rows, int[] columns) {
+    if (rows.length != columns.length) {
+      throw new IllegalArgumentException("Mismatch between number of rows and columns");
+    }
+    if (numRows < 0 || numColumns < 0) {
+      throw new IllegalArgumentException("Placement matrix dimensions must not be negative");
+    }
+    int[] columnOffsets = new int[numColumns + 1];
+    for (int k = 0; k < rows.length; k++) {
+      if (rows[k] < 0 || rows[k] >= numRows || columns[k] < 0 || columns[k] >= numColumns) {
+        throw new IllegalArgumentException(
+            "Entry (" + rows[k] + ", " + columns[k] + ") is outside the placement matrix");
+      }
+      columnOffsets[columns[k] + 1]++;
+    }
+    for (int j = 0; j < numColumns; j++) {
+      columnOffsets[j + 1] += columnOffsets[j];
+    }
+    int[] rowIndices = new int[rows.length];
+    int[] positions = Arrays.copyOf(columnOffsets, numColumns);
+    for (int k = 0; k < rows.length; k++) {
+      rowIndices[positions[columns[k]]++] = rows[k];
+    }
+    for (int j = 0; j < numColumns; j++) {
+      Arrays.sort(rowIndices, columnOffsets[j], columnOffsets[j + 1]);
+      for (int k = columnOffsets[j] + 1; k < columnOffsets[j + 1]; k++) {
+        if (rowIndices[k] == rowIndices[k - 1]) {
+          throw new IllegalArgumentException(
+              "Entry (" + rowIndices[k] + ", " + j + ") is repeated in the placement matrix");
+        }
+      }
+    }
+    return new SparsePlacementMatrix(numRows, columnOffsets, rowIndices);
+  }
+
+  /**
+   * Creates a sparse placement matrix from a dense one.
+   *
+   * @param placementMatrix the dense placement matrix, containing only 0s and 1s
+   * @return the sparse placement matrix
+   * @throws IllegalArgumentException if the matrix contains values other than 0 and 1 or if its
+   *     rows have different lengths
+   */
+  public static SparsePlacementMatrix fromDense(int[][] placementMatrix) {
+    int numRows = placementMatrix.length;
+    int numColumns = numRows == 0 ? 0 : placementMatrix[0].length;
+    int[] columnOffsets = new int[numColumns + 1];
+    for (int[] row : placementMatrix) {
+      if (row.length != numColumns) {
+        throw new IllegalArgumentException("Placement matrix rows must have the same length");
+      }
+      for (int j = 0; j < numColumns; j++) {
+        if (row[j] != 0 && row[j] != 1) {
+          throw new IllegalArgumentException("Placement matrix must contain only 0 or 1 values");
+        }
+        columnOffsets[j + 1] += row[j];
+      }
+    }
+    for (int j = 0; j < numColumns; j++) {
+      columnOffsets[j + 1] += columnOffsets[j];
+    }
+    int[] rowIndices = new int[columnOffsets[numColumns]];
+    int[] positions = Arrays.copyOf(columnOffsets, numColumns);
+    for (int i = 0; i < numRows; i++) {
+      for (int j = 0; j < numColumns; j++) {
+        if (placementMatrix[i][j] == 1) {
+          rowIndices[positions[j]++] = i;
+        }
+      }
+    }
+    return new SparsePlacementMatrix(numRows, columnOffsets, rowIndices);
+  }
+
+  /**
+   * Gets the number of rows, which is the number of vertices.
+   *
+   * @return the number of rows
+   */
+  public int getNumRows() {
+    return numRows;
+  }
+
+  /**
+   * Gets the number of columns, which is the number of hyperedges.
+   *
+   * @return the number of columns
+   */
+  public int getNumColumns() {
+    return columnOffsets.length - 1;
+  }
+
+  /**
+   * Gets the number of non-zero entries.
+   *
+   * @return the number of non-zero entries
+   */
+  public int getNumNonZeros() {
+    return rowIndices.length;
+  }
+
+  /**
+   * Gets the number of non-zero entries of the given column.
+   *
+   * @param column the column
+   * @return the number of rows in the column
+   */
+  public int getColumnSize(int column) {
+    return columnOffsets[column + 1] - columnOffsets[column];
+  }
+
+  /**
+   * Gets the row index of the k-th non-zero entry of the given column.
+   *
+   * @param column the column
+   * @param k the position of the entry within the column
+   * @return the row index of the entry
+   */
+  public int getRowIndex(int column, int k) {
+    return rowIndices[columnOffsets[column] + k];
+  }
+
+  /**
+   * Checks whether the entry at the given position is one.
+   *
+   * @param row the row
+   * @param column the column
+   * @return true if the entry is one, false otherwise
+   */
+  public boolean get(int row, int column) {
+    return Arrays.binarySearch(rowIndices, columnOffsets[column], columnOffsets[column + 1], row)
+        >= 0;
+  }
+
+  /**
+   * Gets the column offsets of the CSC form.
+   *
+   * @return a copy of the column offsets, with one extra entry holding the number of non-zeros
+   */
+  public int[] getColumnOffsets() {
+    return columnOffsets.clone();
+  }
+
+  /**
+   * Gets the row indices of the CSC form.
+   *
+   * @return a copy of the row indices of each column, concatenated
+   */
+  public int[] getRowIndices() {
+    return rowIndices.clone();
+  }
+
+  /**
+   * Gets the column coordinates of the non-zero entries, in column-major order. Together with
+   * {@link #getRowIndices()}, which lists the rows in the same order, this is the COO form of the
+   * matrix.
+   *
+   * @return the column of each non-zero entry
+   */
+  public int[] getColumnCoordinates() {
+    int[] columns = new int[rowIndices.length];
+    for (int j = 0; j < getNumColumns(); j++) {
+      Arrays.fill(columns, columnOffsets[j], columnOffsets[j + 1], j);
+    }
+    return columns;
+  }
+
+  /**
+   * Converts this matrix to the bit-packed form.
+   *
+   * @return the bit-packed placement matrix
+   */
+  public BitPackedPlacementMatrix toBitPacked() {
+    BitPackedPlacementMatrix matrix = new BitPackedPlacementMatrix(numRows, getNumColumns());
+    for (int j = 0; j < getNumColumns(); j++) {
+      for (int k = columnOffsets[j]; k < columnOffsets[j + 1]; k++) {
+        matrix.set(rowIndices[k], j);
+      }
+    }
+    return matrix;
+  }
+
+  /**
+   * Converts this matrix to the dense form.
+   *
+   * @return the dense placement matrix
+   */
+  public int[][] toDense() {
+    int[][] placementMatrix = new int[numRows][getNumColumns()];
+    for (int j = 0; j < getNumColumns(); j++) {
+      for (int k = columnOffsets[j]; k < columnOffsets[j + 1]; k++) {
+        placementMatrix[rowIndices[k]][j] = 1;
+      }
+    }
+    return placementMatrix;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    SparsePlacementMatrix matrix = (SparsePlacementMatrix) o;
+    return numRows == matrix.numRows
+        && Arrays.equals(columnOffsets, matrix.columnOffsets)
+        && Arrays.equals(rowIndices, matrix.rowIndices);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * numRows + Arrays.hashCode(columnOffsets)) + Arrays.hashCode(rowIndices);
+  }
+}
@@ -0,0 +1,214 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * A line-oriented scanner of numeric tokens over a byte channel. Tokens are separated by spaces,
+ * tabs or commas, and lines starting with {@code %} or {@code #} are skipped as comments.
+ */
+final class TextScanner {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private final ReadableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+  private final StringBuilder token = new StringBuilder();
+  private boolean endOfInput;
+  private int lineNumber = 1;
+
+  /**
+   * Constructs a scanner over the given channel.
+   *
+   * @param channel the channel to read from
+   */
+  TextScanner(ReadableByteChannel channel) {
+    this.channel = channel;
+    buffer.flip();
+  }
+
+  /**
+   * Gets the next byte without consuming it.
+   *
+   * @return the next byte, or -1 at the end of the input
+   * @throws IOException if an I/O error occurs
+   */
+  int peek() throws IOException {
+    while (!buffer.hasRemaining()) {
+      if (endOfInput) {
+        return -1;
+      }
+      buffer.clear();
+      endOfInput = channel.read(buffer) < 0;
+      buffer.flip();
+    }
+    return buffer.get(buffer.position()) & 0xFF;
+  }
+
+  /**
+   * Moves to the first token of the next line that is neither blank nor a comment. The rest of the
+   * current line must have been consumed.
+   *
+   * @return true if such a line exists, false at the end of the input
+   * @throws IOException if an I/O error occurs
+   */
+  boolean nextLine() throws IOException {
+    while (true) {
+      skipSeparators();
+      int c = peek();
+      if (c == -1) {
+        return false;
+      }
+      if (c == '\n' || c == '\r') {
+        consumeNewline();
+      } else if (c == '%' || c == '#') {
+        skipLine();
+      } else {
+        return true;
+      }
+    }
+  }
+
+  /**
+   * Checks if the current line has another token.
+   *
+   * @return true if a token follows on the current line, false otherwise
+   * @throws IOException if an I/O error occurs
+   */
+  boolean hasNext() throws IOException {
+    skipSeparators();
+    int c = peek();
+    return c != -1 && c != '\n' && c != '\r';
+  }
+
+  /**
+   * Parses the next token of the current line as an integer.
+   *
+   * @return the integer
+   * @throws IOException if an I/O error occurs or the token is not an integer
+   */
+  int nextInt() throws IOException {
+    if (!hasNext()) {
+      throw error("Expected an integer");
+    }
+    boolean negative = peek() == '-';
+    if (negative) {
+      buffer.get();
+    }
+    long value = 0;
+    int digits = 0;
+    for (int c = peek(); c >= '0' && c <= '9'; c = peek()) {
+      buffer.get();
+      value = value * 10 + (c - '0');
+      if (value > Integer.MAX_VALUE + 1L) {
+        throw error("Integer out of range");
+      }
+      digits++;
+    }
+    if (digits == 0 || !isTokenEnd(peek())) {
+      throw error("Expected an integer");
+    }
+    value = negative ? -value : value;
+    if (value > Integer.MAX_VALUE) {
+      throw error("Integer out of range");
+    }
+    return (int) value;
+  }
+
+  /**
+   * Parses the next token of the current line as a double.
+   *
+   * @return the double
+   * @throws IOException if an I/O error occurs or the token is not a number
+   */
+  double nextDouble() throws IOException {
+    if (!hasNext()) {
+      throw error("Expected a number");
+    }
+    token.setLength(0);
+    for (int c = peek(); !isTokenEnd(c); c = peek()) {
+      token.append((char) buffer.get());
+    }
+    try {
+      return Double.parseDouble(token.toString());
+    } catch (NumberFormatException e) {
+      throw error("Expected a number but found " + token);
+    }
+  }
+
+  /**
+   * Consumes the end of the current line, which must not contain further tokens.
+   *
+   * @throws IOException if an I/O error occurs or the line has further tokens
+   */
+  void endLine() throws IOException {
+    if (hasNext()) {
+      throw error("Unexpected token");
+    }
+    consumeNewline();
+  }
+
+  /**
+   * Consumes the rest of the current line, including the line terminator.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  void skipLine() throws IOException {
+    for (int c = peek(); c != -1 && c != '\n' && c != '\r'; c = peek()) {
+      buffer.get();
+    }
+    consumeNewline();
+  }
+
+  /**
+   * Consumes a line terminator, if there is one.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  private void consumeNewline() throws IOException {
+    boolean consumed = false;
+    if (peek() == '\r') {
+      buffer.get();
+      consumed = true;
+    }
+    if (peek() == '\n') {
+      buffer.get();
+      consumed = true;
+    }
+    if (consumed) {
+      lineNumber++;
+    }
+  }
+
+  /**
+   * Consumes the separators before the next token.
+   *
+   * @throws IOException if an I/O error occurs
+   */
+  private void skipSeparators() throws IOException {
+    for (int c = peek(); c == ' ' || c == '\t' || c == ','; c = peek()) {
+      buffer.get();
+    }
+  }
+
+  /**
+   * Checks if a byte ends a token.
+   *
+   * @param c the byte, or -1 at the end of the input
+   * @return true if the byte is a separator, a line terminator or the end of the input
+   */
+  private static boolean isTokenEnd(int c) {
+    return c == -1 || c == ' ' || c == '\t' || c == ',' || c == '\n' || c == '\r';
+  }
+
+  /**
+   * Creates an exception for a parse error on the current line.
+   *
+   * @param message the description of the error
+   * @return the exception
+   */
+  IOException error(String message) {
+    return new IOException("Line " + lineNumber + ": " + message);
+  }
+}
@@ -1,15 +1,19 @@
 package org.unifi.mecvirtualresourceallocation.graph;
 
 import java.math.BigDecimal;
-import java.util.Objects;
 
 /**
  * This class represents a vertex in a hypergraph or in a conflict graph. Each vertex is
  * characterized by a unique identifier and a weight. The identifier is used to distinguish between
  * different vertices, while the weight represents the energy consumption.
+ *
+ * <p>The identifier is a positive integer. It is stored and compared as an {@code int}, and the
+ * string form returned by {@link #getId()} is always the canonical decimal form of that integer, so
+ * an identifier given with leading zeros, such as {@code "007"}, is normalized to {@code "7"}.
  */
 public final class Vertex {
 
+  private int intId;
   private String id;
   private BigDecimal weight;
 
@@ -20,10 +24,17 @@ public final class Vertex {
    * @param weight the weight associated with the vertex
    */
   public Vertex(String id, double weight) {
-    if (!id.matches("\\d+") || Integer.parseInt(id) <= 0) {
-      throw new IllegalArgumentException("ID must be a positive integer");
-    }
-    this.id = id;
+    this(parseId(id), weight);
+  }
+
+  /**
+   * Constructs a new vertex with the specified integer identifier and weight.
+   *
+   * @param id the unique identifier of the vertex, which must be positive
+   * @param weight the weight associated with the vertex
+   */
+  public Vertex(int id, double weight) {
+    this.intId = checkId(id);
     if (weight > 0) {
       this.weight = BigDecimal.valueOf(-weight);
     } else {
@@ -38,29 +49,97 @@ public final class Vertex {
    * @param weight the weight associated with the vertex
    */
   public Vertex(String id, BigDecimal weight) {
-    if (!id.matches("\\d+") || Integer.parseInt(id) <= 0) {
+    this(parseId(id), weight);
+  }
+
+  /**
+   * Constructs a new vertex with the specified integer identifier and weight.
+   *
+   * @param id the unique identifier of the vertex, which must be positive
+   * @param weight the weight associated with the vertex
+   */
+  public Vertex(int id, BigDecimal weight) {
+    this.intId = checkId(id);
+    this.weight = weight.compareTo(BigDecimal.ZERO) > 0 ? weight.negate() : weight;
+  }
+
+  /**
+   * Parses an identifier made only of decimal digits, without going through a regular expression.
+   * Leading zeros are allowed and ignored.
+   *
+   * @param id the identifier to be parsed
+   * @return the identifier as a positive integer
+   * @throws IllegalArgumentException if the identifier is not a positive integer
+   */
+  static int parseId(String id) {
+    if (id == null || id.isEmpty()) {
       throw new IllegalArgumentException("ID must be a positive integer");
     }
-    this.id = id;
-    this.weight = weight.compareTo(BigDecimal.ZERO) > 0 ? weight.negate() : weight;
+    int start = 0;
+    while (start < id.length() - 1 && id.charAt(start) == '0') {
+      start++;
+    }
+    if (id.length() - start > 10) {
+      throw new IllegalArgumentException("ID must be a positive integer");
+    }
+    long value = 0;
+    for (int i = start; i < id.length(); i++) {
+      char c = id.charAt(i);
+      if (c < '0' || c > '9') {
+        throw new IllegalArgumentException("ID must be a positive integer");
+      }
+      value = value * 10 + (c - '0');
+    }
+    if (value > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("ID must be a positive integer");
+    }
+    return checkId((int) value);
   }
 
   /**
-   * Returns the identifier of this vertex.
+   * Checks that an identifier is positive.
+   *
+   * @param id the identifier to be checked
+   * @return the identifier
+   * @throws IllegalArgumentException if the identifier is not positive
+   */
+  static int checkId(int id) {
+    if (id <= 0) {
+      throw new IllegalArgumentException("ID must be a positive integer");
+    }
+    return id;
+  }
+
+  /**
+   * Returns the identifier of this vertex, in its canonical decimal form.
    *
    * @return the identifier of the vertex
    */
   public String getId() {
+    if (id == null) {
+      id = Integer.toString(intId);
+    }
     return id;
   }
 
   /**
-   * Sets the identifier of this vertex.
+   * Returns the identifier of this vertex as an integer.
+   *
+   * @return the identifier of the vertex
+   */
+  public int getIntId() {
+    return intId;
+  }
+
+  /**
+   * Sets the identifier of this vertex. The identifier is normalized to its canonical decimal form.
    *
    * @param id the new identifier of the vertex
+   * @throws IllegalArgumentException if the identifier is not a positive integer
    */
   public void setId(String id) {
-    this.id = id;
+    this.intId = parseId(id);
+    this.id = null;
   }
 
   /**
@@ -89,7 +168,7 @@ public final class Vertex {
    */
   @Override
   public String toString() {
-    return "Vertex{id=" + id + ", weight=" + weight.negate() + "}";
+    return "Vertex{id=" + getId() + ", weight=" + weight.negate() + "}";
   }
 
   @Override
@@ -101,11 +180,11 @@ public final class Vertex {
       return false;
     }
     Vertex vertex = (Vertex) o;
-    return Objects.equals(id, vertex.id);
+    return intId == vertex.intId;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(id);
+    return Integer.hashCode(intId);
   }
 }
@@ -0,0 +1,75 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class AllocationResultTest {
+
+  @Test
+  void testAccessors() {
+    Vertex v1 = new Vertex("1", 1.5);
+    Vertex v2 = new Vertex("2", 2.0);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Arrays.asList(v1, v2)));
+    Vertex conflictVertex = new Vertex(e1.getIntId(), e1.getNegativeWeight());
+
+    AllocationResult result =
+        new AllocationResult(
+            new HashSet<>(Set.of(conflictVertex)),
+            new Placement(Set.of(e1)),
+            10,
+            20,
+            30,
+            70,
+            4,
+            1,
+            2,
+            false);
+    assertEquals(Set.of(conflictVertex), result.getVertices());
+    assertEquals(Set.of(e1), result.getHyperEdges());
+    assertEquals(3.5, result.getTotalWeight(), 1e-12);
+    assertEquals(10, result.getBuildNanos());
+    assertEquals(20, result.getGreedyNanos());
+    assertEquals(30, result.getLocalSearchNanos());
+    assertEquals(70, result.getTotalNanos());
+    assertEquals(4, result.getExaminedClaws());
+    assertEquals(1, result.getAppliedSwaps());
+    assertEquals(2, result.getPeakWorkingSetSize());
+    assertFalse(result.isComplete());
+    assertThrows(UnsupportedOperationException.class, () -> result.getVertices().clear());
+  }
+
+  @Test
+  void testDefaultSolve() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(60, 3, new Random(Evaluator.SEED));
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      AllocationStrategy strategy =
+          graph ->
+              new DecompositionStrategy(SequentialSearchStrategy::new, executor).allocate(graph);
+      AllocationResult result = strategy.solve(hyperGraph);
+      assertEquals(new SequentialSearchStrategy().allocate(hyperGraph), result.getVertices());
+      assertEquals(0, result.getBuildNanos());
+      assertEquals(0, result.getAppliedSwaps());
+      assertTrue(result.getTotalNanos() > 0);
+      assertTrue(result.isComplete());
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
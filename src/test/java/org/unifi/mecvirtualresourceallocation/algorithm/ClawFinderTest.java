@@ -0,0 +1,59 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class ClawFinderTest {
+
+  private ClawFinder clawFinderOf(
+      double centreWeight, double[] leafWeights, boolean connectLeaves, int delta) {
+    ConflictGraph conflictGraph = new ConflictGraph();
+    Vertex centre = new Vertex("1", centreWeight);
+    conflictGraph.addVertex(centre);
+    Vertex[] leaves = new Vertex[leafWeights.length];
+    for (int i = 0; i < leaves.length; i++) {
+      leaves[i] = new Vertex(Integer.toString(i + 2), leafWeights[i]);
+      conflictGraph.addVertex(leaves[i]);
+      conflictGraph.addEdge(centre, leaves[i]);
+    }
+    if (connectLeaves) {
+      conflictGraph.addEdge(leaves[0], leaves[1]);
+    }
+    AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+    int[] order = LocalSearchStrategy.orderByWeight(index);
+    boolean[] independent = new boolean[index.size()];
+    independent[0] = true;
+    return new ClawFinder(
+        index,
+        LocalSearchStrategy.sortNeighbours(index, order),
+        WeightColumn.of(WeightMode.FIXED_POINT, index),
+        independent,
+        delta);
+  }
+
+  @Test
+  public void testFindImprovingClaw() {
+    ClawFinder clawFinder = clawFinderOf(-10, new double[] {-6, -3, -3}, false, 3);
+    assertTrue(clawFinder.find(0));
+    int[] claw = Arrays.copyOf(clawFinder.getClaw(), clawFinder.getClawSize());
+    Arrays.sort(claw);
+    assertArrayEquals(new int[] {2, 3}, claw);
+    assertEquals(1, clawFinder.getRemovedSize());
+    assertEquals(0, clawFinder.getRemoved()[0]);
+  }
+
+  @Test
+  public void testNoClawWhenNotImproving() {
+    assertFalse(clawFinderOf(-10, new double[] {-6, -5, -7}, false, 3).find(0));
+    assertFalse(clawFinderOf(-10, new double[] {-3, -3, -12}, true, 3).find(0));
+    assertFalse(clawFinderOf(-10, new double[] {-3, -3}, false, 1).find(0));
+  }
+}
@@ -0,0 +1,147 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.CompactHyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class ColouredLocalSearchStrategyTest {
+
+  @Test
+  void testColouringSeparatesBalls() {
+    // A path 0 - 1 - ... - 9: centres in the same class must be at distance at least five.
+    int[][] path = new int[10][];
+    for (int i = 0; i < path.length; i++) {
+      if (i == 0) {
+        path[i] = new int[] {1};
+      } else if (i == path.length - 1) {
+        path[i] = new int[] {i - 1};
+      } else {
+        path[i] = new int[] {i - 1, i + 1};
+      }
+    }
+    int[] centres = {0, 2, 4, 5, 9};
+    int[] classEnds = new ColouredLocalSearchStrategy.Colouring(path).colour(centres, 5);
+    assertArrayEquals(new int[] {0, 5, 2, 9, 4}, centres);
+    assertArrayEquals(new int[] {2, 4, 5}, classEnds);
+  }
+
+  @Test
+  void testColouringBeyondSixtyFourClasses() {
+    // A star around vertex 0: every ball contains the hub, so each centre needs a class of its own.
+    int numLeaves = 150;
+    int[][] star = new int[numLeaves + 1][];
+    star[0] = new int[numLeaves];
+    for (int i = 1; i <= numLeaves; i++) {
+      star[0][i - 1] = i;
+      star[i] = new int[] {0};
+    }
+    int[] centres = new int[numLeaves];
+    int[] classEnds = new int[numLeaves];
+    for (int k = 0; k < numLeaves; k++) {
+      centres[k] = numLeaves - k;
+      classEnds[k] = k + 1;
+    }
+    int[] expected = centres.clone();
+    ColouredLocalSearchStrategy.Colouring colouring =
+        new ColouredLocalSearchStrategy.Colouring(star);
+    assertArrayEquals(classEnds, colouring.colour(centres, numLeaves));
+    assertArrayEquals(expected, centres);
+  }
+
+  @Test
+  void testSolveSplitsColourClassesAcrossPool() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(200, 3, new Random(Evaluator.SEED));
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ColouredLocalSearchStrategy strategy =
+          new ColouredLocalSearchStrategy(WeightMode.BIG_DECIMAL, pool);
+      AllocationResult result = strategy.solve(hyperGraph);
+      assertEquals(strategy.allocate(hyperGraph), result.getVertices());
+      assertEquals(
+          strategy.allocate(hyperGraph), strategy.allocate(CompactHyperGraph.of(hyperGraph)));
+      assertTrue(strategy.getSearchTasks() > strategy.getColourClasses());
+      assertTrue(result.getExaminedClaws() > 0);
+      assertEquals(strategy.getImprovedVertices(), result.getAppliedSwaps());
+      assertTrue(result.getAppliedSwaps() > 0);
+      assertTrue(result.getPeakWorkingSetSize() > 0);
+      assertTrue(result.getLocalSearchNanos() > 0);
+      assertTrue(result.isComplete());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testAllocateReachesLocalOptimum() {
+    Random rand = new Random(Evaluator.SEED);
+    ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(2), new ForkJoinPool(4)};
+    try {
+      for (int numVertices = 20; numVertices <= 200; numVertices += 60) {
+        HyperGraph randomHyperGraph =
+            HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+        ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+        ColouredLocalSearchStrategy strategy =
+            new ColouredLocalSearchStrategy(WeightMode.BIG_DECIMAL, pools[0]);
+        Set<Vertex> independentSet = strategy.allocate(randomHyperGraph);
+        assertTrue(strategy.getColourClasses() > 0);
+        assertTrue(strategy.getExaminedVertices() >= independentSet.size());
+        for (ForkJoinPool pool : pools) {
+          assertEquals(
+              independentSet,
+              new ColouredLocalSearchStrategy(WeightMode.BIG_DECIMAL, pool)
+                  .allocate(randomHyperGraph));
+        }
+
+        AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+        boolean[] independent = new boolean[adjacencyIndex.size()];
+        for (Vertex vertex : independentSet) {
+          for (Vertex other : independentSet) {
+            assertFalse(conflictGraph.areVerticesConnected(vertex, other));
+          }
+          independent[adjacencyIndex.indexOf(vertex)] = true;
+        }
+        int[] order = LocalSearchStrategy.orderByWeight(adjacencyIndex);
+        ClawFinder clawFinder =
+            new ClawFinder(
+                adjacencyIndex,
+                LocalSearchStrategy.sortNeighbours(adjacencyIndex, order),
+                WeightColumn.of(WeightMode.BIG_DECIMAL, adjacencyIndex),
+                independent,
+                3);
+        for (int i = 0; i < independent.length; i++) {
+          if (independent[i]) {
+            assertFalse(clawFinder.find(i));
+          }
+        }
+
+        double greedyWeight = 0;
+        for (Vertex vertex : new SequentialSearchStrategy().allocate(randomHyperGraph)) {
+          greedyWeight += vertex.getWeight().doubleValue();
+        }
+        double weight = 0;
+        for (Vertex vertex : independentSet) {
+          weight += vertex.getWeight().doubleValue();
+        }
+        assertTrue(weight <= greedyWeight + 1e-9);
+      }
+    } finally {
+      for (ForkJoinPool pool : pools) {
+        pool.shutdown();
+      }
+    }
+  }
+}
@@ -0,0 +1,171 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class DecompositionStrategyTest {
+
+  @Test
+  public void testDecompose() {
+    HyperGraph hyperGraph = disjointUnion(new Random(Evaluator.SEED), 20, 35, 50);
+    List<HyperGraph> subGraphs = DecompositionStrategy.decompose(hyperGraph);
+
+    assertTrue(subGraphs.size() >= 3);
+    Set<HyperEdge> hyperEdges = new HashSet<>();
+    Set<Vertex> vertices = new HashSet<>();
+    for (HyperGraph subGraph : subGraphs) {
+      for (HyperEdge hyperEdge : subGraph.getHyperEdges()) {
+        assertTrue(hyperEdges.add(hyperEdge));
+      }
+      for (Vertex vertex : subGraph.getVertices()) {
+        assertTrue(vertices.add(vertex));
+      }
+      assertEquals(1, DecompositionStrategy.decompose(subGraph).size());
+    }
+    assertEquals(hyperGraph.getHyperEdges(), hyperEdges);
+    assertEquals(hyperGraph.getVertices(), vertices);
+  }
+
+  @Test
+  public void testAllocateMatchesWrappedStrategy() {
+    HyperGraph hyperGraph = disjointUnion(new Random(Evaluator.SEED), 20, 35, 50);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      assertEquals(
+          new SequentialSearchStrategy().allocate(hyperGraph),
+          new DecompositionStrategy(SequentialSearchStrategy::new, executor).allocate(hyperGraph));
+      assertEquals(
+          new LocalSearchStrategy().allocate(hyperGraph),
+          new DecompositionStrategy(LocalSearchStrategy::new, executor).allocate(hyperGraph));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testSolveAggregatesComponentResults() {
+    HyperGraph hyperGraph = disjointUnion(new Random(Evaluator.SEED), 20, 35, 50);
+    ExecutorService executor = Executors.newFixedThreadPool(3);
+    try {
+      AllocationResult result =
+          new DecompositionStrategy(LocalSearchStrategy::new, executor).solve(hyperGraph);
+      assertEquals(new LocalSearchStrategy().allocate(hyperGraph), result.getVertices());
+
+      long examinedClaws = 0;
+      long appliedSwaps = 0;
+      int peakWorkingSetSize = 0;
+      for (HyperGraph subGraph : DecompositionStrategy.decompose(hyperGraph)) {
+        if (subGraph.getHyperEdges().size() > 1) {
+          AllocationResult componentResult = new LocalSearchStrategy().solve(subGraph);
+          examinedClaws += componentResult.getExaminedClaws();
+          appliedSwaps += componentResult.getAppliedSwaps();
+          peakWorkingSetSize =
+              Math.max(peakWorkingSetSize, componentResult.getPeakWorkingSetSize());
+        }
+      }
+      assertTrue(appliedSwaps > 0);
+      assertEquals(examinedClaws, result.getExaminedClaws());
+      assertEquals(appliedSwaps, result.getAppliedSwaps());
+      assertEquals(peakWorkingSetSize, result.getPeakWorkingSetSize());
+      assertTrue(result.getBuildNanos() > 0);
+      assertTrue(result.getGreedyNanos() > 0);
+      assertTrue(result.getLocalSearchNanos() > 0);
+      assertTrue(result.getTotalNanos() >= result.getLocalSearchNanos());
+      assertTrue(result.isComplete());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void testCliqueComponentsSkipWrappedStrategy() {
+    Vertex v1 = new Vertex("1", 1.0);
+    Vertex v2 = new Vertex("2", 2.0);
+    Vertex v3 = new Vertex("3", 3.0);
+    Vertex v4 = new Vertex("4", 4.0);
+    Vertex v5 = new Vertex("5", 5.0);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Arrays.asList(v1, v2)));
+    HyperEdge e2 = new HyperEdge("2", new HashSet<>(Arrays.asList(v1, v3)));
+    HyperEdge e3 = new HyperEdge("3", new HashSet<>(Arrays.asList(v1)));
+    HyperEdge e4 = new HyperEdge("4", new HashSet<>(Arrays.asList(v4)));
+    HyperEdge e5 = new HyperEdge("5", new HashSet<>(Arrays.asList(v5)));
+    HyperGraph hyperGraph =
+        new HyperGraph(
+            new HashSet<>(Arrays.asList(v1, v2, v3, v4, v5)),
+            new HashSet<>(Arrays.asList(e1, e2, e3, e4, e5)));
+
+    DecompositionStrategy strategy =
+        new DecompositionStrategy(
+            () ->
+                h -> {
+                  throw new IllegalStateException("Wrapped strategy should not run.");
+                });
+    Set<Vertex> result = strategy.allocate(hyperGraph);
+
+    assertEquals(3, strategy.getComponents());
+    assertEquals(3, strategy.getGreedyComponents());
+    assertEquals(new SequentialSearchStrategy().allocate(hyperGraph), result);
+  }
+
+  @Test
+  public void testWrappedStrategyExceptionIsRethrown() {
+    HyperGraph hyperGraph = disjointUnion(new Random(Evaluator.SEED), 20);
+    DecompositionStrategy strategy =
+        new DecompositionStrategy(
+            () ->
+                h -> {
+                  throw new IllegalStateException("failure");
+                });
+    assertThrows(IllegalStateException.class, () -> strategy.allocate(hyperGraph));
+    assertThrows(IllegalArgumentException.class, () -> new DecompositionStrategy(null));
+  }
+
+  private HyperGraph disjointUnion(Random rand, int... sizes) {
+    Set<Vertex> vertices = new HashSet<>();
+    Set<HyperEdge> hyperEdges = new HashSet<>();
+    int vertexOffset = 0;
+    int hyperEdgeOffset = 0;
+    for (int size : sizes) {
+      HyperGraph part = HyperGraphGenerator.generateRandomHyperGraph(size, 3, rand);
+      Map<Vertex, Vertex> renamed = new HashMap<>();
+      for (Vertex vertex : part.getVertices()) {
+        Vertex copy =
+            new Vertex(
+                Integer.toString(Integer.parseInt(vertex.getId()) + vertexOffset),
+                vertex.getNegativeWeight());
+        renamed.put(vertex, copy);
+        vertices.add(copy);
+      }
+      int maxHyperEdgeId = 0;
+      for (HyperEdge hyperEdge : part.getHyperEdges()) {
+        Set<Vertex> members = new HashSet<>();
+        for (Vertex vertex : hyperEdge.getVertices()) {
+          members.add(renamed.get(vertex));
+        }
+        int id = Integer.parseInt(hyperEdge.getId());
+        maxHyperEdgeId = Math.max(maxHyperEdgeId, id);
+        hyperEdges.add(new HyperEdge(Integer.toString(id + hyperEdgeOffset), members));
+      }
+      vertexOffset += part.getVertices().size();
+      hyperEdgeOffset += maxHyperEdgeId;
+    }
+    return new HyperGraph(vertices, hyperEdges);
+  }
+}
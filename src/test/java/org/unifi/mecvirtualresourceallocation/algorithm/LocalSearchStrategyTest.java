@@ -1,14 +1,30 @@
 package org.unifi.mecvirtualresourceallocation.algorithm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
 import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
 import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.Vertex;
@@ -82,4 +98,269 @@ public class LocalSearchStrategyTest {
     }
     assertEquals(0, totalWeight.compareTo(BigDecimal.valueOf(15.0)));
   }
+
+  @Test
+  void testAllocateWithWeightModes() {
+    Set<Vertex> expected = strategy.allocate(hyperGraph);
+    for (WeightMode mode : WeightMode.values()) {
+      assertEquals(expected, new LocalSearchStrategy(mode).allocate(hyperGraph), mode.toString());
+    }
+  }
+
+  @Test
+  void testFixedPointRoundedOnGeneratedInstance() {
+    HyperGraph randomHyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(200, 3, new Random(Evaluator.SEED));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new LocalSearchStrategy(WeightMode.FIXED_POINT).allocate(randomHyperGraph));
+
+    ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+    Set<Vertex> independentSet =
+        new LocalSearchStrategy(WeightMode.FIXED_POINT_ROUNDED).allocate(randomHyperGraph);
+    for (Vertex vertex : independentSet) {
+      for (Vertex other : independentSet) {
+        assertFalse(conflictGraph.areVerticesConnected(vertex, other));
+      }
+    }
+    BigDecimal weight = BigDecimal.ZERO;
+    for (Vertex vertex : independentSet) {
+      weight = weight.add(vertex.getWeight());
+    }
+    BigDecimal exactWeight = BigDecimal.ZERO;
+    for (Vertex vertex : new LocalSearchStrategy().allocate(randomHyperGraph)) {
+      exactWeight = exactWeight.add(vertex.getWeight());
+    }
+    assertEquals(exactWeight.doubleValue(), weight.doubleValue(), 1e-3);
+  }
+
+  @Test
+  void testAllocateReachesLocalOptimum() {
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices = 5; numVertices <= 80; numVertices += 15) {
+      HyperGraph randomHyperGraph =
+          HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+      ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+      Set<Vertex> independentSet = new LocalSearchStrategy().allocate(randomHyperGraph, 3);
+
+      for (Vertex vertex : independentSet) {
+        for (Vertex other : independentSet) {
+          assertFalse(conflictGraph.areVerticesConnected(vertex, other));
+        }
+        List<Vertex> candidates = new ArrayList<>(conflictGraph.getAdjacentVertices(vertex));
+        assertFalse(
+            hasImprovingClaw(conflictGraph, independentSet, candidates, new ArrayList<>(), 0, 3));
+      }
+    }
+  }
+
+  @Test
+  void testParallelAllocateReachesLocalOptimum() {
+    Random rand = new Random(Evaluator.SEED);
+    ForkJoinPool[] pools = {new ForkJoinPool(1), new ForkJoinPool(2), new ForkJoinPool(4)};
+    try {
+      for (int numVertices = 20; numVertices <= 200; numVertices += 60) {
+        HyperGraph randomHyperGraph =
+            HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+        ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+        Set<Vertex> independentSet =
+            new LocalSearchStrategy(WeightMode.BIG_DECIMAL, pools[0]).allocate(randomHyperGraph);
+        for (ForkJoinPool pool : pools) {
+          assertEquals(
+              independentSet,
+              new LocalSearchStrategy(WeightMode.BIG_DECIMAL, pool).allocate(randomHyperGraph));
+        }
+
+        for (Vertex vertex : independentSet) {
+          for (Vertex other : independentSet) {
+            assertFalse(conflictGraph.areVerticesConnected(vertex, other));
+          }
+          List<Vertex> candidates = new ArrayList<>(conflictGraph.getAdjacentVertices(vertex));
+          assertFalse(
+              hasImprovingClaw(conflictGraph, independentSet, candidates, new ArrayList<>(), 0, 3));
+        }
+      }
+    } finally {
+      for (ForkJoinPool pool : pools) {
+        pool.shutdown();
+      }
+    }
+  }
+
+  @Test
+  void testSharedStrategyKeepsStatisticsPerRun() throws Exception {
+    Random rand = new Random(Evaluator.SEED);
+    List<HyperGraph> hyperGraphs = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      hyperGraphs.add(HyperGraphGenerator.generateRandomHyperGraph(150, 3, rand));
+    }
+    LocalSearchStrategy sharedStrategy = new LocalSearchStrategy();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<AllocationResult>> futures = new ArrayList<>();
+      for (int i = 0; i < hyperGraphs.size(); i++) {
+        HyperGraph randomHyperGraph = hyperGraphs.get(i);
+        Duration timeBudget = i % 2 == 0 ? Duration.ZERO : ChronoUnit.FOREVER.getDuration();
+        futures.add(executor.submit(() -> sharedStrategy.solve(randomHyperGraph, 3, timeBudget)));
+      }
+      for (int i = 0; i < hyperGraphs.size(); i++) {
+        AllocationResult result = futures.get(i).get();
+        if (i % 2 == 0) {
+          assertFalse(result.isComplete());
+          continue;
+        }
+        AllocationResult expected = new LocalSearchStrategy().solve(hyperGraphs.get(i));
+        assertTrue(result.isComplete());
+        assertEquals(expected.getVertices(), result.getVertices());
+        assertEquals(expected.getExaminedClaws(), result.getExaminedClaws());
+        assertEquals(expected.getAppliedSwaps(), result.getAppliedSwaps());
+        assertEquals(expected.getPeakWorkingSetSize(), result.getPeakWorkingSetSize());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testParallelSolve() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      LocalSearchStrategy parallelStrategy = new LocalSearchStrategy(WeightMode.DOUBLE, pool);
+      AllocationResult result = parallelStrategy.solve(hyperGraph);
+      assertTrue(result.isComplete());
+      assertTrue(result.getAppliedSwaps() > 0);
+      assertTrue(result.getExaminedClaws() >= result.getAppliedSwaps());
+      assertTrue(
+          result.getTotalWeight()
+              <= new SequentialSearchStrategy().solve(hyperGraph).getTotalWeight());
+      assertFalse(parallelStrategy.solve(hyperGraph, 3, Duration.ZERO).isComplete());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void testCounters() {
+    LocalSearchStrategy localSearchStrategy = new LocalSearchStrategy();
+    localSearchStrategy.allocate(hyperGraph);
+    assertTrue(localSearchStrategy.getImprovedVertices() > 0);
+    assertTrue(
+        localSearchStrategy.getExaminedVertices() > localSearchStrategy.getImprovedVertices());
+  }
+
+  @Test
+  void testSolve() {
+    LocalSearchStrategy localSearchStrategy = new LocalSearchStrategy();
+    Set<Vertex> expected = localSearchStrategy.allocate(hyperGraph);
+    AllocationResult result = localSearchStrategy.solve(hyperGraph);
+
+    assertEquals(expected, result.getVertices());
+    assertEquals(localSearchStrategy.getHyperEdges(hyperGraph, expected), result.getHyperEdges());
+    double totalWeight = 0;
+    for (Vertex vertex : expected) {
+      totalWeight += vertex.getWeight().doubleValue();
+    }
+    assertEquals(totalWeight, result.getTotalWeight(), 1e-9);
+    assertEquals(localSearchStrategy.getImprovedVertices(), result.getAppliedSwaps());
+    assertTrue(result.getAppliedSwaps() > 0);
+    assertTrue(result.getExaminedClaws() >= result.getAppliedSwaps());
+    assertTrue(result.getPeakWorkingSetSize() > 0);
+    assertTrue(result.getBuildNanos() >= 0);
+    assertTrue(result.getGreedyNanos() >= 0);
+    assertTrue(result.getLocalSearchNanos() > 0);
+    assertTrue(
+        result.getTotalNanos()
+            >= result.getBuildNanos() + result.getGreedyNanos() + result.getLocalSearchNanos());
+  }
+
+  @Test
+  void testAllocateWithTimeBudget() {
+    LocalSearchStrategy localSearchStrategy = new LocalSearchStrategy();
+    Set<Vertex> greedy = new SequentialSearchStrategy().allocate(hyperGraph);
+    Set<Vertex> optimum = localSearchStrategy.allocate(hyperGraph, 3);
+    assertFalse(greedy.equals(optimum));
+
+    assertEquals(greedy, localSearchStrategy.allocate(hyperGraph, 3, Duration.ZERO));
+    assertTrue(localSearchStrategy.isStopped());
+    AllocationResult stoppedResult = localSearchStrategy.solve(hyperGraph, 3, Duration.ZERO);
+    assertFalse(stoppedResult.isComplete());
+    assertEquals(greedy, stoppedResult.getVertices());
+
+    assertEquals(optimum, localSearchStrategy.allocate(hyperGraph, 3, Duration.ofHours(1)));
+    assertFalse(localSearchStrategy.isStopped());
+    assertTrue(
+        localSearchStrategy.solve(hyperGraph, 3, ChronoUnit.FOREVER.getDuration()).isComplete());
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> localSearchStrategy.allocate(hyperGraph, 3, Duration.ofMillis(-1)));
+  }
+
+  @Test
+  void testAllocateHonoursInterruption() {
+    LocalSearchStrategy localSearchStrategy = new LocalSearchStrategy();
+    Set<Vertex> greedy = new SequentialSearchStrategy().allocate(hyperGraph);
+    Thread.currentThread().interrupt();
+    try {
+      assertEquals(greedy, localSearchStrategy.allocate(hyperGraph, 3, Duration.ofHours(1)));
+      assertTrue(localSearchStrategy.isStopped());
+    } finally {
+      assertTrue(Thread.interrupted());
+    }
+  }
+
+  @Test
+  void testAllocateReusesCachedConflictGraph() {
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    Set<Vertex> first = strategy.allocate(hyperGraph);
+    assertEquals(first, strategy.allocate(hyperGraph));
+    new SequentialSearchStrategy().allocate(hyperGraph);
+    assertSame(conflictGraph, hyperGraph.getConflictGraph());
+    assertSame(adjacencyIndex, conflictGraph.getAdjacencyIndex());
+  }
+
+  private boolean hasImprovingClaw(
+      ConflictGraph conflictGraph,
+      Set<Vertex> independentSet,
+      List<Vertex> candidates,
+      List<Vertex> claw,
+      int start,
+      int delta) {
+    if (claw.size() >= 2) {
+      Set<Vertex> removed = new HashSet<>();
+      for (Vertex vertex : claw) {
+        for (Vertex neighbour : conflictGraph.getAdjacentVertices(vertex)) {
+          if (independentSet.contains(neighbour)) {
+            removed.add(neighbour);
+          }
+        }
+      }
+      BigDecimal change = BigDecimal.ZERO;
+      for (Vertex vertex : claw) {
+        change = change.add(vertex.getWeight());
+      }
+      for (Vertex vertex : removed) {
+        change = change.subtract(vertex.getWeight());
+      }
+      if (change.signum() < 0) {
+        return true;
+      }
+    }
+    if (claw.size() == delta) {
+      return false;
+    }
+    for (int i = start; i < candidates.size(); i++) {
+      Vertex candidate = candidates.get(i);
+      if (claw.stream().noneMatch(v -> conflictGraph.areVerticesConnected(v, candidate))) {
+        claw.add(candidate);
+        boolean found =
+            hasImprovingClaw(conflictGraph, independentSet, candidates, claw, i + 1, delta);
+        claw.remove(claw.size() - 1);
+        if (found) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,111 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+
+public class ParallelClawSearchTest {
+
+  @Test
+  public void testSearchMatchesClawFinder() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(300, 3, new Random(Evaluator.SEED));
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+    int[] greedy = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    boolean[] independent = new boolean[index.size()];
+    for (int vertex : greedy) {
+      independent[vertex] = true;
+    }
+    assertTrue(greedy.length > ParallelClawSearch.MIN_CENTRES_PER_TASK);
+    int[][] sortedNeighbours =
+        LocalSearchStrategy.sortNeighbours(index, LocalSearchStrategy.orderByWeight(index));
+    WeightColumn weights = WeightColumn.of(WeightMode.BIG_DECIMAL, index);
+
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      ParallelClawSearch clawSearch =
+          new ParallelClawSearch(pool, index, sortedNeighbours, weights, independent, 3);
+      clawSearch.search(greedy, greedy.length);
+      ClawFinder clawFinder =
+          new ClawFinder(index, sortedNeighbours, weights.fork(), independent, 3);
+      int found = 0;
+      for (int k = 0; k < greedy.length; k++) {
+        if (clawFinder.find(greedy[k])) {
+          found++;
+          assertArrayEquals(
+              Arrays.copyOf(clawFinder.getClaw(), clawFinder.getClawSize()), clawSearch.getClaw(k));
+          assertArrayEquals(
+              Arrays.copyOf(clawFinder.getRemoved(), clawFinder.getRemovedSize()),
+              clawSearch.getRemoved(k));
+        } else {
+          assertNull(clawSearch.getClaw(k));
+        }
+      }
+      assertTrue(found > 0);
+      assertEquals(clawFinder.getExaminedClaws(), clawSearch.getExaminedClaws());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testSmallGrainSplitsSmallRounds() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(100, 3, new Random(Evaluator.SEED));
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+    int[] greedy = new SequentialSearchStrategy().selectIndices(conflictGraph);
+    boolean[] independent = new boolean[index.size()];
+    for (int vertex : greedy) {
+      independent[vertex] = true;
+    }
+    int count = 8;
+    assertTrue(greedy.length >= count);
+    int[][] sortedNeighbours =
+        LocalSearchStrategy.sortNeighbours(index, LocalSearchStrategy.orderByWeight(index));
+    WeightColumn weights = WeightColumn.of(WeightMode.BIG_DECIMAL, index);
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ParallelClawSearch inline =
+          new ParallelClawSearch(pool, index, sortedNeighbours, weights, independent, 3);
+      inline.search(greedy, count);
+      assertEquals(1, inline.getSearchedRanges());
+
+      ParallelClawSearch split =
+          new ParallelClawSearch(
+              pool,
+              index,
+              sortedNeighbours,
+              weights,
+              independent,
+              3,
+              ColouredLocalSearchStrategy.CENTRES_PER_TASK);
+      split.search(greedy, count);
+      assertEquals(count, split.getSearchedRanges());
+      for (int k = 0; k < count; k++) {
+        assertArrayEquals(inline.getClaw(k), split.getClaw(k));
+        assertArrayEquals(inline.getRemoved(k), split.getRemoved(k));
+      }
+      assertEquals(inline.getExaminedClaws(), split.getExaminedClaws());
+    } finally {
+      pool.shutdown();
+    }
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new ParallelClawSearch(pool, index, sortedNeighbours, weights, independent, 3, 0));
+  }
+}
@@ -0,0 +1,53 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
+import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class PlacementTest {
+
+  @Test
+  void testGetHyperEdge() {
+    Vertex v1 = new Vertex("1", 1.0);
+    Vertex v2 = new Vertex("2", 2.0);
+    Vertex v3 = new Vertex("3", 3.0);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Arrays.asList(v1, v2)));
+    HyperEdge e2 = new HyperEdge("2", new HashSet<>(Arrays.asList(v3)));
+
+    Placement placement = new Placement(Set.of(e1, e2));
+    assertEquals(Set.of(e1, e2), placement.getHyperEdges());
+    assertEquals(3, placement.getNumPlacedVertices());
+    assertSame(e1, placement.getHyperEdge(new Vertex("2", 2.0)));
+    assertSame(e2, placement.getHyperEdge(v3));
+    assertNull(placement.getHyperEdge(new Vertex("4", 4.0)));
+  }
+
+  @Test
+  void testRejectsOverlappingHyperEdges() {
+    Vertex v1 = new Vertex("1", 1.0);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Arrays.asList(v1)));
+    HyperEdge e2 = new HyperEdge("2", new HashSet<>(Arrays.asList(v1, new Vertex("2", 2.0))));
+    assertThrows(IllegalArgumentException.class, () -> new Placement(Set.of(e1, e2)));
+  }
+
+  @Test
+  void testPlaceMatchesAllocate() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(150, 3, new Random(Evaluator.SEED));
+    LocalSearchStrategy strategy = new LocalSearchStrategy();
+    Set<HyperEdge> expected = strategy.getHyperEdges(hyperGraph, strategy.allocate(hyperGraph));
+    assertEquals(expected, strategy.place(hyperGraph).getHyperEdges());
+  }
+}
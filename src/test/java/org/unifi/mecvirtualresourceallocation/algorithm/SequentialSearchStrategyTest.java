@@ -1,17 +1,19 @@
 package org.unifi.mecvirtualresourceallocation.algorithm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.Random;
 import java.util.Set;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
 import org.unifi.mecvirtualresourceallocation.graph.HyperEdge;
 import org.unifi.mecvirtualresourceallocation.graph.HyperGraph;
 import org.unifi.mecvirtualresourceallocation.graph.Vertex;
@@ -61,6 +63,27 @@ public class SequentialSearchStrategyTest {
     assertEquals(0, totalWeight.compareTo(BigDecimal.valueOf(14.0)));
   }
 
+  @Test
+  void testSolve() {
+    AllocationResult result = strategy.solve(hyperGraph);
+    assertEquals(Set.of(p3, p6), result.getHyperEdges());
+    assertEquals(14.0, result.getTotalWeight(), 1e-9);
+    assertEquals(0, result.getLocalSearchNanos());
+    assertEquals(0, result.getExaminedClaws());
+    assertTrue(result.getTotalNanos() >= result.getBuildNanos() + result.getGreedyNanos());
+  }
+
+  @Test
+  void testPlace() {
+    Placement placement = strategy.place(hyperGraph);
+    assertEquals(Set.of(p3, p6), placement.getHyperEdges());
+    assertEquals(
+        p3.getVertices().size() + p6.getVertices().size(), placement.getNumPlacedVertices());
+    for (Vertex vertex : p3.getVertices()) {
+      assertTrue(placement.getHyperEdge(vertex) == p3);
+    }
+  }
+
   @Test
   void testGetHyperEdgesFromIndependentSet() {
 
@@ -77,13 +100,44 @@ public class SequentialSearchStrategyTest {
   }
 
   @Test
-  void testFindMaxWeightVertex() throws Exception {
-    Method method =
-        SequentialSearchStrategy.class.getDeclaredMethod("findMaxWeightVertex", Set.class);
-    Set<Vertex> vertices = new HashSet<>();
-    method.setAccessible(true);
-    InvocationTargetException thrown =
-        assertThrows(InvocationTargetException.class, () -> method.invoke(strategy, vertices));
-    assertEquals(IllegalArgumentException.class, thrown.getCause().getClass());
+  void testAllocateMatchesLinearScan() {
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices = 2; numVertices <= 120; numVertices += 17) {
+      HyperGraph randomHyperGraph =
+          HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+      assertEquals(linearScan(randomHyperGraph), strategy.allocate(randomHyperGraph));
+    }
+  }
+
+  @Test
+  void testAllocateTieBreaking() {
+    int[][] placementMatrix = new int[12][12];
+    for (int j = 0; j < 12; j++) {
+      placementMatrix[j][j] = 1;
+      placementMatrix[(j + 1) % 12][j] = 1;
+    }
+    double[] weights = new double[12];
+    Arrays.fill(weights, 1.0);
+    HyperGraph ringHyperGraph = new HyperGraph(placementMatrix, weights);
+    assertEquals(linearScan(ringHyperGraph), strategy.allocate(ringHyperGraph));
+  }
+
+  @Test
+  void testAllocateEmptyHyperGraph() {
+    assertTrue(strategy.allocate(new HyperGraph(new HashSet<>(), new HashSet<>())).isEmpty());
+  }
+
+  private Set<Vertex> linearScan(HyperGraph hyperGraph) {
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    Set<Vertex> selectedVertices = new HashSet<>();
+    Set<Vertex> vertices = new HashSet<>(conflictGraph.getVertices());
+    while (!vertices.isEmpty()) {
+      Vertex maxWeightVertex =
+          vertices.stream().max(Comparator.comparing(Vertex::getNegativeWeight)).orElseThrow();
+      selectedVertices.add(maxWeightVertex);
+      vertices.remove(maxWeightVertex);
+      vertices.removeAll(conflictGraph.getAdjacentVertices(maxWeightVertex));
+    }
+    return selectedVertices;
   }
 }
@@ -0,0 +1,88 @@
+package org.unifi.mecvirtualresourceallocation.algorithm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.graph.AdjacencyIndex;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraph;
+import org.unifi.mecvirtualresourceallocation.graph.Vertex;
+
+public class WeightColumnTest {
+
+  private AdjacencyIndex indexOf(double... weights) {
+    ConflictGraph conflictGraph = new ConflictGraph();
+    for (int i = 0; i < weights.length; i++) {
+      conflictGraph.addVertex(new Vertex(Integer.toString(i + 1), weights[i]));
+    }
+    return conflictGraph.getAdjacencyIndex();
+  }
+
+  @Test
+  public void testSignumInAllModes() {
+    AdjacencyIndex index = indexOf(0.1, 0.2, 0.3);
+    for (WeightMode mode : WeightMode.values()) {
+      WeightColumn weights = WeightColumn.of(mode, index);
+      weights.clear(1);
+      weights.add(1, 0);
+      weights.add(1, 1);
+      weights.subtract(1, 2);
+      assertEquals(0, weights.signum(1), "0.1 + 0.2 - 0.3 in " + mode);
+      weights.subtract(1, 0);
+      assertEquals(-1, weights.signum(1), mode.toString());
+      weights.clear(1);
+      assertEquals(0, weights.signum(1), mode.toString());
+    }
+  }
+
+  @Test
+  public void testDoubleToleratesRoundingInBothDirections() {
+    // 0.3 - 0.1 - 0.2 rounds to a tiny negative and 0.1 + 0.2 - 0.3 to a tiny positive value, so
+    // without a tolerance both a swap and its reverse would look improving.
+    WeightColumn weights = WeightColumn.of(WeightMode.DOUBLE, indexOf(0.1, 0.2, 0.3));
+    weights.clear(0);
+    weights.add(0, 2);
+    weights.subtract(0, 0);
+    weights.subtract(0, 1);
+    assertEquals(0, weights.signum(0));
+    weights.copy(0, 1);
+    assertEquals(0, weights.signum(1));
+    weights.subtract(1, 0);
+    assertEquals(-1, weights.signum(1));
+  }
+
+  @Test
+  public void testForkHasOwnRegisters() {
+    AdjacencyIndex index = indexOf(1, 2);
+    for (WeightMode mode : WeightMode.values()) {
+      WeightColumn weights = WeightColumn.of(mode, index);
+      weights.clear(0);
+      weights.add(0, 1);
+      WeightColumn fork = weights.fork();
+      assertEquals(0, fork.signum(0), mode.toString());
+      fork.subtract(0, 0);
+      assertEquals(-1, fork.signum(0), mode.toString());
+      assertEquals(1, weights.signum(0), mode.toString());
+      fork.add(0, 1);
+      assertEquals(1, fork.signum(0), mode.toString());
+    }
+  }
+
+  @Test
+  public void testFixedPointRejectsInexactWeights() {
+    AdjacencyIndex index = indexOf(1.0, 0.1234567);
+    assertThrows(
+        IllegalArgumentException.class, () -> WeightColumn.of(WeightMode.FIXED_POINT, index));
+    WeightColumn.of(WeightMode.DOUBLE, index);
+    WeightColumn.of(WeightMode.BIG_DECIMAL, index);
+  }
+
+  @Test
+  public void testFixedPointDetectsOverflow() {
+    AdjacencyIndex index = indexOf(9.0e12, 9.0e12);
+    WeightColumn weights = WeightColumn.of(WeightMode.FIXED_POINT, index);
+    weights.clear(0);
+    weights.add(0, 0);
+    assertThrows(ArithmeticException.class, () -> weights.add(0, 1));
+  }
+}
@@ -0,0 +1,128 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class AdjacencyIndexTest {
+
+  @Test
+  public void testIndexMatchesConflictGraph() {
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices : new int[] {4, 20, 200}) {
+      ConflictGraph conflictGraph =
+          HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand).getConflictGraph();
+      AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+      assertIndexMatches(conflictGraph, index);
+    }
+  }
+
+  @Test
+  public void testBackendSelection() {
+    ConflictGraph denseGraph = new ConflictGraph();
+    ConflictGraph sparseGraph = new ConflictGraph();
+    Vertex[] vertices = new Vertex[200];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = new Vertex(Integer.toString(i + 1), i + 1);
+      denseGraph.addVertex(vertices[i]);
+      sparseGraph.addVertex(vertices[i]);
+    }
+    for (int i = 0; i < vertices.length; i++) {
+      for (int j = i + 1; j < vertices.length; j += 3) {
+        denseGraph.addEdge(vertices[i], vertices[j]);
+      }
+      if (i + 1 < vertices.length) {
+        sparseGraph.addEdge(vertices[i], vertices[i + 1]);
+      }
+    }
+
+    assertTrue(denseGraph.getAdjacencyIndex().isDense());
+    assertFalse(sparseGraph.getAdjacencyIndex().isDense());
+    assertIndexMatches(denseGraph, denseGraph.getAdjacencyIndex());
+    assertIndexMatches(sparseGraph, sparseGraph.getAdjacencyIndex());
+  }
+
+  @Test
+  public void testCommonNeighbours() {
+    ConflictGraph conflictGraph = new ConflictGraph();
+    Vertex[] vertices = new Vertex[5];
+    for (int i = 0; i < vertices.length; i++) {
+      vertices[i] = new Vertex(Integer.toString(i + 1), i + 1);
+      conflictGraph.addVertex(vertices[i]);
+    }
+    conflictGraph.addEdge(vertices[0], vertices[2]);
+    conflictGraph.addEdge(vertices[0], vertices[3]);
+    conflictGraph.addEdge(vertices[1], vertices[2]);
+    conflictGraph.addEdge(vertices[1], vertices[3]);
+    conflictGraph.addEdge(vertices[1], vertices[4]);
+
+    AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+    assertEquals(2, index.countCommonNeighbours(0, 1));
+    assertEquals(0, index.countCommonNeighbours(0, 4));
+    assertArrayEquals(new int[] {2, 3, 4}, index.getNeighbours(1));
+    assertEquals(-1, index.indexOf(new Vertex("6", 6)));
+  }
+
+  @Test
+  public void testIndexIsRebuiltAfterModification() {
+    ConflictGraph conflictGraph = new ConflictGraph();
+    Vertex vertex1 = new Vertex("1", 1);
+    Vertex vertex2 = new Vertex("2", 2);
+    conflictGraph.addVertex(vertex1);
+    conflictGraph.addVertex(vertex2);
+    AdjacencyIndex index = conflictGraph.getAdjacencyIndex();
+    assertSame(index, conflictGraph.getAdjacencyIndex());
+    assertFalse(index.areConnected(0, 1));
+
+    conflictGraph.addEdge(vertex1, vertex2);
+    AdjacencyIndex rebuiltIndex = conflictGraph.getAdjacencyIndex();
+    assertNotSame(index, rebuiltIndex);
+    assertTrue(rebuiltIndex.areConnected(0, 1));
+  }
+
+  @Test
+  public void testIndexOfCompactHyperGraph() {
+    Random rand = new Random(Evaluator.SEED);
+    HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(100, 3, rand);
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+    AdjacencyIndex expected = conflictGraph.getAdjacencyIndex();
+    AdjacencyIndex actual = AdjacencyIndex.of(CompactHyperGraph.of(hyperGraph));
+
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getVertex(i), actual.getVertex(i));
+      assertEquals(
+          expected.getVertex(i).getNegativeWeight().doubleValue(),
+          actual.getVertex(i).getNegativeWeight().doubleValue());
+      assertArrayEquals(expected.getNeighbours(i), actual.getNeighbours(i));
+    }
+  }
+
+  private void assertIndexMatches(ConflictGraph conflictGraph, AdjacencyIndex index) {
+    assertEquals(conflictGraph.getVertices().size(), index.size());
+    for (int i = 0; i < index.size(); i++) {
+      Vertex vertex = index.getVertex(i);
+      assertEquals(i, index.indexOf(vertex));
+      Set<Vertex> adjacentVertices = conflictGraph.getAdjacentVertices(vertex);
+      assertEquals(adjacentVertices.size(), index.getDegree(i));
+      int[] neighbours = index.getNeighbours(i);
+      assertEquals(adjacentVertices.size(), neighbours.length);
+      for (int j = 0; j < index.size(); j++) {
+        assertEquals(
+            adjacentVertices.contains(index.getVertex(j)), index.areConnected(i, j), i + "-" + j);
+      }
+      for (int neighbour : neighbours) {
+        assertTrue(adjacentVertices.contains(index.getVertex(neighbour)));
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class BitPackedPlacementMatrixTest {
+
+  @Test
+  public void testSetAndClearAcrossWords() {
+    BitPackedPlacementMatrix matrix = new BitPackedPlacementMatrix(2, 130);
+    matrix.set(0, 0);
+    matrix.set(0, 63);
+    matrix.set(0, 64);
+    matrix.set(1, 129);
+    assertTrue(matrix.get(0, 63));
+    assertTrue(matrix.get(0, 64));
+    assertFalse(matrix.get(1, 64));
+    assertEquals(4, matrix.getNumNonZeros());
+    assertEquals(3, matrix.getRow(0).length);
+    assertArrayEquals(new int[] {0, 0, 0, 1}, matrix.toSparse().getRowIndices());
+    assertArrayEquals(new int[] {0, 63, 64, 129}, matrix.toSparse().getColumnCoordinates());
+
+    matrix.clear(0, 63);
+    assertFalse(matrix.get(0, 63));
+    assertEquals(3, matrix.getNumNonZeros());
+    assertThrows(IndexOutOfBoundsException.class, () -> matrix.set(0, 130));
+    assertThrows(IllegalArgumentException.class, () -> new BitPackedPlacementMatrix(-1, 2));
+  }
+}
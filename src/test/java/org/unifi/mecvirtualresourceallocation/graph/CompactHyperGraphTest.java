@@ -0,0 +1,160 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.algorithm.LocalSearchStrategy;
+import org.unifi.mecvirtualresourceallocation.algorithm.SequentialSearchStrategy;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class CompactHyperGraphTest {
+
+  private final int[][] placementMatrix = {
+    {1, 0, 0, 1, 0, 1},
+    {1, 1, 0, 0, 0, 0},
+    {1, 0, 1, 0, 1, 0},
+    {0, 1, 0, 0, 0, 1},
+    {0, 0, 0, 1, 1, 0},
+    {0, 0, 1, 0, 1, 0}
+  };
+  private final double[] weights = {1.0, 2.0, 3.0, 4.0, 5.0, 6.0};
+
+  @Test
+  public void testFromPlacementMatrix() {
+    CompactHyperGraph compact = CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights);
+
+    assertEquals(6, compact.getNumVertices());
+    assertEquals(6, compact.getNumHyperEdges());
+    assertEquals(14, compact.getNumIncidences());
+    assertArrayEquals(new int[] {0, 1, 2}, toArray(compact.getHyperEdgeVertices(0)));
+    assertArrayEquals(new int[] {2, 4, 5}, toArray(compact.getHyperEdgeVertices(4)));
+    assertArrayEquals(new int[] {0, 3, 5}, toArray(compact.getVertexHyperEdges(0)));
+    assertEquals(3, compact.getVertexDegree(2));
+    assertEquals(2, compact.getHyperEdgeSize(1));
+    assertEquals(6.0, compact.getHyperEdgeWeight(0));
+    assertEquals(4.0, compact.getVertexWeight(3));
+    assertEquals(5, compact.getHyperEdgeId(4));
+    assertEquals(3, compact.indexOfVertex(4));
+    assertEquals(5, compact.indexOfHyperEdge(6));
+    assertTrue(compact.indexOfHyperEdge(7) < 0);
+  }
+
+  @Test
+  public void testFromPlacementMatrixMatchesHyperGraph() {
+    CompactHyperGraph compact = CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights);
+    HyperGraph hyperGraph = new HyperGraph(placementMatrix, weights);
+
+    assertEquals(hyperGraph.getVertices(), compact.toHyperGraph().getVertices());
+    assertEquals(
+        hyperEdgeSets(hyperGraph), hyperEdgeSets(CompactHyperGraph.of(hyperGraph).toHyperGraph()));
+    assertEquals(hyperEdgeSets(hyperGraph), hyperEdgeSets(compact.toHyperGraph()));
+  }
+
+  @Test
+  public void testOfRandomHyperGraph() {
+    Random rand = new Random(Evaluator.SEED);
+    HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(50, 3, rand);
+    CompactHyperGraph compact = CompactHyperGraph.of(hyperGraph);
+
+    assertEquals(hyperGraph.getVertices().size(), compact.getNumVertices());
+    assertEquals(hyperGraph.getHyperEdges().size(), compact.getNumHyperEdges());
+    for (HyperEdge hyperEdge : hyperGraph.getHyperEdges()) {
+      int index = compact.indexOfHyperEdge(Integer.parseInt(hyperEdge.getId()));
+      assertEquals(hyperEdge.getWeight().doubleValue(), compact.getHyperEdgeWeight(index));
+      Set<String> ids = new HashSet<>();
+      PrimitiveIterator.OfInt iterator = compact.getHyperEdgeVertices(index);
+      while (iterator.hasNext()) {
+        ids.add(Integer.toString(compact.getVertexId(iterator.nextInt())));
+      }
+      assertEquals(
+          hyperEdge.getVertices().stream().map(Vertex::getId).collect(Collectors.toSet()), ids);
+    }
+  }
+
+  @Test
+  public void testCompactPathSelectsSameSet() {
+    // Hyperedges 1 and 2 conflict on vertex 4 and both weigh exactly 0.3, although the double sum
+    // 0.1 + 0.2 rounds above 0.3; the tie must be broken the same way on both paths.
+    int[][] tiedMatrix = {
+      {1, 0},
+      {1, 0},
+      {0, 1},
+      {1, 1}
+    };
+    double[] tiedWeights = {0.1, 0.2, 0.3, 0.0};
+    CompactHyperGraph tied = CompactHyperGraph.fromPlacementMatrix(tiedMatrix, tiedWeights);
+    assertEquals(tied.getHyperEdgeWeight(0), tied.getHyperEdgeWeight(1));
+    assertSameSelection(new HyperGraph(tiedMatrix, tiedWeights), tied);
+
+    assertSameSelection(
+        new HyperGraph(placementMatrix, weights),
+        CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights));
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices = 10; numVertices <= 160; numVertices += 50) {
+      HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+      assertSameSelection(hyperGraph, CompactHyperGraph.of(hyperGraph));
+    }
+  }
+
+  private static void assertSameSelection(HyperGraph hyperGraph, CompactHyperGraph compact) {
+    assertEquals(
+        new SequentialSearchStrategy().allocate(hyperGraph),
+        new SequentialSearchStrategy().allocate(compact));
+    assertEquals(
+        new LocalSearchStrategy().allocate(hyperGraph),
+        new LocalSearchStrategy().allocate(compact));
+  }
+
+  @Test
+  public void testInvalidPlacementMatrix() {
+    int[][] invalidMatrix = {{1, 2}, {1, 0}};
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CompactHyperGraph.fromPlacementMatrix(invalidMatrix, new double[] {1.0, 2.0}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CompactHyperGraph.fromPlacementMatrix(placementMatrix, new double[] {1.0}));
+    int[][] emptyColumnMatrix = {{1, 0}, {1, 0}};
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> CompactHyperGraph.fromPlacementMatrix(emptyColumnMatrix, new double[] {1.0, 2.0}));
+  }
+
+  @Test
+  public void testIteratorExhausted() {
+    CompactHyperGraph compact = CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights);
+    PrimitiveIterator.OfInt iterator = compact.getHyperEdgeVertices(1);
+    iterator.nextInt();
+    iterator.nextInt();
+    assertFalse(iterator.hasNext());
+    assertThrows(java.util.NoSuchElementException.class, iterator::nextInt);
+  }
+
+  private int[] toArray(PrimitiveIterator.OfInt iterator) {
+    int[] values = new int[0];
+    while (iterator.hasNext()) {
+      values = Arrays.copyOf(values, values.length + 1);
+      values[values.length - 1] = iterator.nextInt();
+    }
+    return values;
+  }
+
+  private Set<Set<String>> hyperEdgeSets(HyperGraph hyperGraph) {
+    return hyperGraph.getHyperEdges().stream()
+        .map(
+            hyperEdge ->
+                hyperEdge.getVertices().stream().map(Vertex::getId).collect(Collectors.toSet()))
+        .collect(Collectors.toSet());
+  }
+}
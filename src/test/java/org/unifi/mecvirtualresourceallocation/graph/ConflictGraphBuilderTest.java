@@ -0,0 +1,130 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class ConflictGraphBuilderTest {
+
+  @Test
+  public void testBuildMatchesPairwiseComparison() {
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices = 1; numVertices <= 60; numVertices += 7) {
+      HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+      ConflictGraph conflictGraph = new ConflictGraphBuilder().build(hyperGraph);
+
+      assertEquals(hyperGraph.getHyperEdges().size(), conflictGraph.getVertices().size());
+      assertEquals(pairwiseEdges(hyperGraph), conflictGraph.getEdges());
+    }
+  }
+
+  @Test
+  public void testBuildCounters() {
+    Vertex v1 = new Vertex("1", 1.0);
+    Vertex v2 = new Vertex("2", 2.0);
+    Vertex v3 = new Vertex("3", 3.0);
+    Vertex v4 = new Vertex("4", 4.0);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Arrays.asList(v1, v2)));
+    HyperEdge e2 = new HyperEdge("2", new HashSet<>(Arrays.asList(v1, v2, v3)));
+    HyperEdge e3 = new HyperEdge("3", new HashSet<>(Collections.singletonList(v4)));
+    HyperEdge e4 = new HyperEdge("4", new HashSet<>(Collections.singletonList(v3)));
+    HyperGraph hyperGraph =
+        new HyperGraph(
+            new HashSet<>(Arrays.asList(v1, v2, v3, v4)),
+            new HashSet<>(Arrays.asList(e1, e2, e3, e4)));
+
+    ConflictGraphBuilder builder = new ConflictGraphBuilder();
+    ConflictGraph conflictGraph = builder.build(hyperGraph);
+
+    assertEquals(2, conflictGraph.getEdges().size());
+    assertEquals(2, builder.getConflictPairs());
+    assertEquals(3, builder.getCandidatePairs());
+    assertEquals(4, builder.getSkippedPairs());
+    assertTrue(
+        conflictGraph.areVerticesConnected(
+            conflictGraph.getVertexFromId("1"), conflictGraph.getVertexFromId("2")));
+    assertTrue(
+        conflictGraph.areVerticesConnected(
+            conflictGraph.getVertexFromId("2"), conflictGraph.getVertexFromId("4")));
+  }
+
+  @Test
+  public void testParallelBuildMatchesSequentialBuild() {
+    Random rand = new Random(Evaluator.SEED);
+    HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(1500, 3, rand);
+    assertTrue(hyperGraph.getHyperEdges().size() > ConflictGraphBuilder.MIN_ROWS_PER_TASK);
+
+    ConflictGraphBuilder sequentialBuilder = new ConflictGraphBuilder();
+    ConflictGraph expected = sequentialBuilder.build(hyperGraph);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      ConflictGraphBuilder parallelBuilder = new ConflictGraphBuilder();
+      ConflictGraph actual = parallelBuilder.build(hyperGraph, pool);
+
+      assertEquals(expected.getVertices(), actual.getVertices());
+      assertEquals(expected.getEdges(), actual.getEdges());
+      for (Vertex vertex : expected.getVertices()) {
+        assertEquals(expected.getAdjacentVertices(vertex), actual.getAdjacentVertices(vertex));
+      }
+      AdjacencyIndex expectedIndex = expected.getAdjacencyIndex();
+      AdjacencyIndex actualIndex = actual.getAdjacencyIndex();
+      for (int i = 0; i < expectedIndex.size(); i++) {
+        assertEquals(expectedIndex.getVertex(i), actualIndex.getVertex(i));
+        assertArrayEquals(expectedIndex.getNeighbours(i), actualIndex.getNeighbours(i));
+      }
+      assertEquals(sequentialBuilder.getCandidatePairs(), parallelBuilder.getCandidatePairs());
+      assertEquals(sequentialBuilder.getConflictPairs(), parallelBuilder.getConflictPairs());
+      assertEquals(expected.getEdges(), hyperGraph.getConflictGraph(pool).getEdges());
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void testEdgesAfterBulkBuild() {
+    Random rand = new Random(Evaluator.SEED);
+    HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(30, 3, rand);
+    ConflictGraph conflictGraph = new ConflictGraphBuilder().build(hyperGraph);
+    Vertex vertex = new Vertex("100000", -1.0);
+    conflictGraph.addVertex(vertex);
+    Vertex other =
+        conflictGraph.getVertexFromId(hyperGraph.getHyperEdges().iterator().next().getId());
+    conflictGraph.addEdge(vertex, other);
+
+    Set<Edge> expected = pairwiseEdges(hyperGraph);
+    expected.add(new Edge(vertex, other));
+    assertEquals(expected, conflictGraph.getEdges());
+    assertThrows(IllegalArgumentException.class, () -> conflictGraph.addEdge(other, vertex));
+  }
+
+  private Set<Edge> pairwiseEdges(HyperGraph hyperGraph) {
+    Set<Edge> edges = new HashSet<>();
+    List<HyperEdge> hyperEdges = new ArrayList<>(hyperGraph.getHyperEdges());
+    for (int i = 0; i < hyperEdges.size(); i++) {
+      for (int j = i + 1; j < hyperEdges.size(); j++) {
+        HyperEdge hyperEdge1 = hyperEdges.get(i);
+        HyperEdge hyperEdge2 = hyperEdges.get(j);
+        if (!Collections.disjoint(hyperEdge1.getVertices(), hyperEdge2.getVertices())) {
+          edges.add(
+              new Edge(
+                  new Vertex(hyperEdge1.getId(), hyperEdge1.getNegativeWeight()),
+                  new Vertex(hyperEdge2.getId(), hyperEdge2.getNegativeWeight())));
+        }
+      }
+    }
+    return edges;
+  }
+}
@@ -0,0 +1,147 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unifi.mecvirtualresourceallocation.algorithm.LocalSearchStrategy;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+import org.unifi.mecvirtualresourceallocation.graph.ConflictGraphFormats.WeightTransform;
+
+public class ConflictGraphFormatsTest {
+
+  @TempDir Path directory;
+
+  private ConflictGraph conflictGraph;
+  private Vertex vertex1;
+  private Vertex vertex2;
+  private Vertex vertex3;
+  private Vertex vertex10;
+
+  @BeforeEach
+  public void setUp() {
+    conflictGraph = new ConflictGraph();
+    vertex1 = new Vertex(1, 1.5);
+    vertex2 = new Vertex(2, 2.25);
+    vertex3 = new Vertex(3, 3.0);
+    vertex10 = new Vertex(10, 0.125);
+    conflictGraph.addVertex(vertex10);
+    conflictGraph.addVertex(vertex2);
+    conflictGraph.addVertex(vertex1);
+    conflictGraph.addVertex(vertex3);
+    conflictGraph.addEdge(vertex1, vertex2);
+    conflictGraph.addEdge(vertex2, vertex10);
+    conflictGraph.addEdge(vertex1, vertex10);
+  }
+
+  @Test
+  public void testWriteMetis() throws IOException {
+    Path path = directory.resolve("graph.metis");
+    ConflictGraphFormats.writeMetis(conflictGraph, path, 2);
+    assertEquals(
+        List.of("4 3 10", "151 2 4", "76 1 4", "1", "289 1 2"),
+        Files.readAllLines(path, StandardCharsets.US_ASCII));
+
+    ConflictGraphFormats.writeMetis(conflictGraph, path, 2, WeightTransform.ENERGY);
+    assertEquals(
+        List.of("4 3 10", "150 2 4", "225 1 4", "300", "12 1 2"),
+        Files.readAllLines(path, StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void testWriteDimacs() throws IOException {
+    Path path = directory.resolve("graph.dimacs");
+    ConflictGraphFormats.writeDimacs(conflictGraph, path, 1, WeightTransform.ENERGY);
+    assertEquals(
+        List.of("p edge 4 3", "n 1 15", "n 2 22", "n 3 30", "n 4 1", "e 1 2", "e 1 4", "e 2 4"),
+        Files.readAllLines(path, StandardCharsets.US_ASCII));
+
+    ConflictGraphFormats.writeDimacs(conflictGraph, path, 1);
+    assertEquals(
+        List.of("p edge 4 3", "n 1 16", "n 2 9", "n 3 1", "n 4 30", "e 1 2", "e 1 4", "e 2 4"),
+        Files.readAllLines(path, StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  public void testComplementPreservesObjective() {
+    AdjacencyIndex adjacencyIndex = conflictGraph.getAdjacencyIndex();
+    // Vertices 1, 2 and 10 form a triangle, so the maximal independent sets are {3} with one of
+    // them; the heaviest under the complement is {3, 10}, which has the lowest energy.
+    assertArrayEquals(
+        new long[] {151, 76, 1, 289},
+        ConflictGraphFormats.weights(adjacencyIndex, 2, WeightTransform.COMPLEMENT));
+    assertArrayEquals(
+        new long[] {150, 225, 300, 12},
+        ConflictGraphFormats.weights(adjacencyIndex, 2, WeightTransform.ENERGY));
+  }
+
+  @Test
+  public void testScaledWeight() {
+    assertEquals(3, ConflictGraphFormats.scaledWeight(vertex3, 0));
+    assertEquals(12, ConflictGraphFormats.scaledWeight(vertex10, 2));
+    assertThrows(
+        IllegalArgumentException.class, () -> ConflictGraphFormats.scaledWeight(vertex3, 30));
+  }
+
+  @Test
+  public void testReadSolution() throws IOException {
+    Path indicator = directory.resolve("indicator.sol");
+    Files.writeString(indicator, "0\n0\n1\n1\n");
+    assertEquals(
+        Set.of(vertex3, vertex10), ConflictGraphFormats.readSolution(conflictGraph, indicator));
+
+    Path list = directory.resolve("list.sol");
+    Files.writeString(list, "c selected vertices\n2 3\n");
+    assertEquals(Set.of(vertex2, vertex3), ConflictGraphFormats.readSolution(conflictGraph, list));
+
+    Path outOfRange = directory.resolve("range.sol");
+    Files.writeString(outOfRange, "5\n");
+    assertThrows(
+        IOException.class, () -> ConflictGraphFormats.readSolution(conflictGraph, outOfRange));
+
+    Path repeated = directory.resolve("repeated.sol");
+    Files.writeString(repeated, "2\n2\n");
+    assertThrows(
+        IOException.class, () -> ConflictGraphFormats.readSolution(conflictGraph, repeated));
+
+    Path conflicting = directory.resolve("conflicting.sol");
+    Files.writeString(conflicting, "1\n1\n0\n0\n");
+    assertThrows(
+        IOException.class, () -> ConflictGraphFormats.readSolution(conflictGraph, conflicting));
+    Files.writeString(conflicting, "3 1 4\n");
+    assertThrows(
+        IOException.class, () -> ConflictGraphFormats.readSolution(conflictGraph, conflicting));
+  }
+
+  @Test
+  public void testRoundTripOfLocalSearchSolution() throws IOException {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(60, 3, new Random(Evaluator.SEED));
+    ConflictGraph graph = hyperGraph.getConflictGraph();
+    Set<Vertex> solution = new LocalSearchStrategy().allocate(hyperGraph);
+
+    AdjacencyIndex adjacencyIndex = graph.getAdjacencyIndex();
+    StringBuilder indicator = new StringBuilder();
+    for (int i = 0; i < adjacencyIndex.size(); i++) {
+      indicator.append(solution.contains(adjacencyIndex.getVertex(i)) ? "1\n" : "0\n");
+    }
+    Path path = directory.resolve("solution.sol");
+    Files.writeString(path, indicator);
+    assertEquals(solution, ConflictGraphFormats.readSolution(graph, path));
+
+    Path metis = directory.resolve("graph.metis");
+    ConflictGraphFormats.writeMetis(graph, metis, 3);
+    assertEquals(adjacencyIndex.size() + 1, Files.readAllLines(metis).size());
+  }
+}
@@ -40,6 +40,15 @@ public class ConflictGraphTest {
     }
   }
 
+  @Test
+  public void testGetVertexFromIntId() {
+    conflictGraph.addVertex(vertex1);
+    assertEquals(vertex1, conflictGraph.getVertexFromId(1));
+    assertEquals(vertex1, conflictGraph.getVertexFromId("1"));
+    assertNull(conflictGraph.getVertexFromId(2));
+    assertNull(conflictGraph.getVertexFromId("x"));
+  }
+
   @Test
   public void testAddVertex() {
     conflictGraph.addVertex(vertex1);
@@ -72,6 +81,26 @@ public class ConflictGraphTest {
     assertEquals(vertex2, edge.getVertex2(), "Edge should connect vertex2");
   }
 
+  @Test
+  public void testRemoveVertex() {
+    Vertex vertex3 = new Vertex(3, 3.0);
+    conflictGraph.addVertex(vertex1);
+    conflictGraph.addVertex(vertex2);
+    conflictGraph.addVertex(vertex3);
+    conflictGraph.addEdge(vertex1, vertex2);
+    conflictGraph.addEdge(vertex2, vertex3);
+    assertEquals(2, conflictGraph.getEdges().size());
+    assertEquals(3, conflictGraph.getAdjacencyIndex().size());
+
+    conflictGraph.removeVertex(vertex2);
+    assertEquals(Set.of(vertex1, vertex3), conflictGraph.getVertices());
+    assertTrue(conflictGraph.getEdges().isEmpty());
+    assertTrue(conflictGraph.getAdjacentVertices(vertex1).isEmpty());
+    assertFalse(conflictGraph.areVerticesConnected(vertex3, vertex2));
+    assertEquals(2, conflictGraph.getAdjacencyIndex().size());
+    assertThrows(IllegalArgumentException.class, () -> conflictGraph.removeVertex(vertex2));
+  }
+
   @Test
   public void testAddEdgeNullVertex1() {
     assertThrows(IllegalArgumentException.class, () -> conflictGraph.addEdge(null, vertex2));
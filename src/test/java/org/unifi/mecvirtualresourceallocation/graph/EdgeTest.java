@@ -30,6 +30,17 @@ public class EdgeTest {
         "Vertex2 should be the same as the one provided in the constructor");
   }
 
+  @Test
+  public void testNumericOrder() {
+    Vertex vertex9 = new Vertex("9", 9.0);
+    Vertex vertex10 = new Vertex("10", 10.0);
+    Edge numericEdge = new Edge(vertex10, vertex9);
+    assertEquals(vertex9, numericEdge.getVertex1());
+    assertEquals(vertex10, numericEdge.getVertex2());
+    assertEquals(new Edge(vertex9, vertex10), numericEdge);
+    assertEquals(new Edge(vertex9, vertex10).hashCode(), numericEdge.hashCode());
+  }
+
   @Test
   public void testEquals() {
     assertTrue(edge.equals(edge));
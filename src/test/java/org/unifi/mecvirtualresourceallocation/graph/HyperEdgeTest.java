@@ -1,6 +1,9 @@
 package org.unifi.mecvirtualresourceallocation.graph;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -42,6 +45,44 @@ public class HyperEdgeTest {
     assertEquals(BigDecimal.valueOf(6.0), hyperEdge.getWeight());
   }
 
+  @Test
+  public void testIntId() {
+    HyperEdge intHyperEdge = new HyperEdge(7, vertices);
+    assertEquals(7, intHyperEdge.getIntId());
+    assertEquals("7", intHyperEdge.getId());
+    assertEquals(hyperEdge.getNegativeWeight(), intHyperEdge.getNegativeWeight());
+    assertThrows(IllegalArgumentException.class, () -> new HyperEdge("e1"));
+    assertThrows(IllegalArgumentException.class, () -> new HyperEdge(0));
+  }
+
+  @Test
+  public void testFingerprint() {
+    Vertex v3 = new Vertex("3", 3.0);
+    HyperEdge sameVertices = new HyperEdge(2);
+    sameVertices.addVertex(v2);
+    sameVertices.addVertex(new Vertex("1", 1.0));
+    assertEquals(hyperEdge.getFingerprint(), sameVertices.getFingerprint());
+    assertTrue(hyperEdge.hasSameVertices(sameVertices));
+    assertArrayEquals(new int[] {1, 2}, sameVertices.getMemberIds());
+
+    sameVertices.addVertex(v3);
+    assertNotEquals(hyperEdge.getFingerprint(), sameVertices.getFingerprint());
+    assertFalse(hyperEdge.hasSameVertices(sameVertices));
+    assertArrayEquals(new int[] {1, 2, 3}, sameVertices.getMemberIds());
+
+    sameVertices.removeVertex(v3);
+    assertEquals(hyperEdge.getFingerprint(), sameVertices.getFingerprint());
+    assertEquals(hyperEdge.getNegativeWeight(), sameVertices.getNegativeWeight());
+    assertThrows(IllegalArgumentException.class, () -> sameVertices.removeVertex(v3));
+  }
+
+  @Test
+  public void testGetVerticesIsUnmodifiable() {
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> hyperEdge.getVertices().add(new Vertex("3", 3.0)));
+  }
+
   @Test
   public void testUninitializedVertex() {
     assertThrows(IllegalArgumentException.class, () -> new HyperEdge("1", null));
@@ -52,6 +93,44 @@ public class HyperEdgeTest {
     assertThrows(IllegalArgumentException.class, () -> hyperEdge.addVertex(null));
   }
 
+  @Test
+  public void testIndexedHyperEdgeCannotBeModified() {
+    new HyperGraph(new HashSet<>(vertices), new HashSet<>(Set.of(hyperEdge)));
+    Vertex v3 = new Vertex("3", 3.0);
+    assertThrows(IllegalStateException.class, () -> hyperEdge.addVertex(v3));
+    assertThrows(IllegalStateException.class, () -> hyperEdge.removeVertex(v2));
+    assertThrows(UnsupportedOperationException.class, () -> hyperEdge.getVertices().add(v3));
+    assertEquals(vertices, hyperEdge.getVertices());
+  }
+
+  @Test
+  public void testFailedConstructionLeavesHyperEdgesModifiable() {
+    Vertex v1 = new Vertex("1", 1.0);
+    Vertex v3 = new Vertex("3", 3.0);
+    HyperEdge duplicate = new HyperEdge("1", Set.of(v3));
+    Set<HyperEdge> duplicateIds = new HashSet<>(Set.of(hyperEdge, duplicate));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HyperGraph(new HashSet<>(Set.of(v1, v2, v3)), duplicateIds));
+    Set<HyperEdge> missingVertex = new HashSet<>(Set.of(hyperEdge));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HyperGraph(new HashSet<>(Set.of(v1, v2, v3)), missingVertex));
+
+    hyperEdge.addVertex(v3);
+    hyperEdge.removeVertex(v3);
+    duplicate.addVertex(v1);
+    assertEquals(vertices, hyperEdge.getVertices());
+  }
+
+  @Test
+  public void testLeadingZerosAreNormalized() {
+    HyperEdge padded = new HyperEdge("0012", vertices);
+    assertEquals(12, padded.getIntId());
+    assertEquals("12", padded.getId());
+    assertEquals("12", new HyperEdge("012").getId());
+  }
+
   @Test
   public void testAddDuplicateVertex() {
     assertThrows(IllegalArgumentException.class, () -> hyperEdge.addVertex(v2));
@@ -0,0 +1,120 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unifi.mecvirtualresourceallocation.algorithm.LocalSearchStrategy;
+import org.unifi.mecvirtualresourceallocation.algorithm.SequentialSearchStrategy;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class HyperGraphFileTest {
+
+  @TempDir Path directory;
+
+  @Test
+  public void testWriteAndMap() throws IOException {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(120, 3, new Random(Evaluator.SEED));
+    CompactHyperGraph expected = CompactHyperGraph.of(hyperGraph);
+    Path path = directory.resolve("instance.hg");
+    HyperGraphFile.write(hyperGraph, path);
+
+    long numVertices = expected.getNumVertices();
+    long numHyperEdges = expected.getNumHyperEdges();
+    long numIncidences = expected.getNumIncidences();
+    assertEquals(
+        HyperGraphFile.HEADER_SIZE
+            + 8 * (numVertices + numHyperEdges)
+            + 4 * (2 * numVertices + 2 * numHyperEdges + 2 + 2 * numIncidences),
+        Files.size(path));
+
+    CompactHyperGraph mapped = HyperGraphFile.map(path);
+    assertEquals(expected.getNumVertices(), mapped.getNumVertices());
+    assertEquals(expected.getNumHyperEdges(), mapped.getNumHyperEdges());
+    assertEquals(expected.getNumIncidences(), mapped.getNumIncidences());
+    for (int i = 0; i < expected.getNumVertices(); i++) {
+      assertEquals(expected.getVertexId(i), mapped.getVertexId(i));
+      assertEquals(expected.getVertexWeight(i), mapped.getVertexWeight(i));
+      assertArrayEquals(
+          toArray(expected.getVertexHyperEdges(i)), toArray(mapped.getVertexHyperEdges(i)));
+    }
+    for (int j = 0; j < expected.getNumHyperEdges(); j++) {
+      assertEquals(expected.getHyperEdgeId(j), mapped.getHyperEdgeId(j));
+      assertEquals(expected.getHyperEdgeWeight(j), mapped.getHyperEdgeWeight(j));
+      assertArrayEquals(
+          toArray(expected.getHyperEdgeVertices(j)), toArray(mapped.getHyperEdgeVertices(j)));
+    }
+    assertEquals(
+        expected.indexOfHyperEdge(expected.getHyperEdgeId(7)),
+        mapped.indexOfHyperEdge(expected.getHyperEdgeId(7)));
+    assertEquals(
+        hyperGraph.getConflictGraph().getEdges(),
+        mapped.toHyperGraph().getConflictGraph().getEdges());
+  }
+
+  @Test
+  public void testAllocateOnMappedFile() throws IOException {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(80, 3, new Random(Evaluator.SEED));
+    Path path = directory.resolve("instance.hg");
+    HyperGraphFile.write(hyperGraph, path);
+    CompactHyperGraph mapped = HyperGraphFile.map(path);
+
+    assertEquals(
+        ids(new SequentialSearchStrategy().allocate(CompactHyperGraph.of(hyperGraph))),
+        ids(new SequentialSearchStrategy().allocate(mapped)));
+    assertEquals(
+        ids(new LocalSearchStrategy().allocate(CompactHyperGraph.of(hyperGraph))),
+        ids(new LocalSearchStrategy().allocate(mapped)));
+  }
+
+  @Test
+  public void testMapRejectsInvalidFiles() throws IOException {
+    Path shortFile = directory.resolve("short.hg");
+    Files.write(shortFile, new byte[8]);
+    assertThrows(IOException.class, () -> HyperGraphFile.map(shortFile));
+
+    Path wrongMagic = directory.resolve("magic.hg");
+    Files.write(wrongMagic, new byte[HyperGraphFile.HEADER_SIZE]);
+    assertThrows(IOException.class, () -> HyperGraphFile.map(wrongMagic));
+
+    ByteBuffer header =
+        ByteBuffer.allocate(HyperGraphFile.HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    header.putInt(HyperGraphFile.MAGIC).putInt(HyperGraphFile.VERSION + 1);
+    Path wrongVersion = directory.resolve("version.hg");
+    Files.write(wrongVersion, header.array());
+    assertThrows(IOException.class, () -> HyperGraphFile.map(wrongVersion));
+
+    HyperGraph hyperGraph = new HyperGraph(new int[][] {{1, 0}, {1, 1}}, new double[] {1.0, 2.0});
+    Path truncated = directory.resolve("truncated.hg");
+    HyperGraphFile.write(hyperGraph, truncated);
+    byte[] bytes = Files.readAllBytes(truncated);
+    Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+    assertThrows(IOException.class, () -> HyperGraphFile.map(truncated));
+  }
+
+  private static int[] toArray(PrimitiveIterator.OfInt iterator) {
+    IntStream.Builder builder = IntStream.builder();
+    iterator.forEachRemaining((int value) -> builder.add(value));
+    return builder.build().toArray();
+  }
+
+  private static Set<Integer> ids(Set<Vertex> vertices) {
+    return vertices.stream().map(Vertex::getIntId).collect(Collectors.toSet());
+  }
+}
@@ -0,0 +1,170 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.PrimitiveIterator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class HyperGraphReaderTest {
+
+  @TempDir Path directory;
+
+  private final int[][] placementMatrix = {
+    {1, 0, 0, 1},
+    {1, 1, 0, 0},
+    {0, 1, 1, 0},
+    {0, 0, 1, 1},
+    {0, 0, 0, 1}
+  };
+  private final double[] weights = {1.5, 2.0, 3.0, 4.0, 5.0};
+
+  @Test
+  public void testReadHMetis() throws IOException {
+    Path path =
+        write(
+            "% four hyperedges, five vertices, vertex weights\n"
+                + "4 5 10\n"
+                + "2 1\n"
+                + "2 3\n"
+                + "3\t4\n"
+                + "\n"
+                + "1 5 4\n"
+                + "1.5\n2\n3\n4\n5\n");
+    CompactHyperGraph compact = HyperGraphReader.readHMetis(path);
+    assertSame(CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights), compact);
+  }
+
+  @Test
+  public void testReadHMetisWithHyperEdgeWeights() throws IOException {
+    Path path = write("2 3 1\n7 1 2\r\n9 2 3\r\n");
+    CompactHyperGraph compact = HyperGraphReader.readHMetis(path);
+    assertEquals(2, compact.getNumHyperEdges());
+    assertEquals(2.0, compact.getHyperEdgeWeight(0));
+    assertArrayEquals(new int[] {1, 2}, toArray(compact.getHyperEdgeVertices(1)));
+  }
+
+  @Test
+  public void testReadHMetisErrors() throws IOException {
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("")));
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("1 2 5\n1\n")));
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("2 2\n1 2\n")));
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("1 2\n1 3\n")));
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("1 2\n2 2\n")));
+    assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("1 2 10\n1 2\n1\n")));
+    IOException exception =
+        assertThrows(IOException.class, () -> HyperGraphReader.readHMetis(write("1 2\n1 x\n")));
+    assertTrue(exception.getMessage().startsWith("Line 2"));
+  }
+
+  @Test
+  public void testReadEdgeList() throws IOException {
+    StringBuilder csv = new StringBuilder("vm,pm\n# shuffled entries\n");
+    int[][] entries = {{5, 4}, {1, 1}, {2, 2}, {4, 4}, {3, 3}, {1, 4}, {2, 1}, {3, 2}, {4, 3}};
+    for (int[] entry : entries) {
+      csv.append(entry[0]).append(',').append(entry[1]).append('\n');
+    }
+    CompactHyperGraph compact =
+        HyperGraphReader.readEdgeList(write(csv.toString()), id -> weights[id - 1]);
+    assertSame(CompactHyperGraph.fromPlacementMatrix(placementMatrix, weights), compact);
+
+    assertThrows(
+        IOException.class, () -> HyperGraphReader.readEdgeList(write("1,1\n1,1\n"), id -> 1.0));
+    assertThrows(IOException.class, () -> HyperGraphReader.readEdgeList(write("0,1\n"), id -> 1.0));
+    assertThrows(
+        IOException.class, () -> HyperGraphReader.readEdgeList(write("1,1,1\n"), id -> 1.0));
+  }
+
+  @Test
+  public void testReadLargeEdgeList() throws IOException {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(200, 3, new Random(Evaluator.SEED));
+    CompactHyperGraph expected = CompactHyperGraph.of(hyperGraph);
+    StringBuilder csv = new StringBuilder();
+    for (int j = 0; j < expected.getNumHyperEdges(); j++) {
+      PrimitiveIterator.OfInt members = expected.getHyperEdgeVertices(j);
+      while (members.hasNext()) {
+        csv.append(expected.getVertexId(members.nextInt()))
+            .append(',')
+            .append(expected.getHyperEdgeId(j))
+            .append('\n');
+      }
+    }
+    CompactHyperGraph compact =
+        HyperGraphReader.readEdgeList(
+            write(csv.toString()), id -> expected.getVertexWeight(expected.indexOfVertex(id)));
+    assertSame(expected, compact);
+  }
+
+  @Test
+  public void testReadEdgeListAcrossChunks() throws IOException {
+    int numHyperEdges = HyperGraphReader.CHUNK_SIZE + 1000;
+    int[] order = IntStream.rangeClosed(1, numHyperEdges).toArray();
+    Random random = new Random(Evaluator.SEED);
+    for (int i = order.length - 1; i > 0; i--) {
+      int k = random.nextInt(i + 1);
+      int swap = order[i];
+      order[i] = order[k];
+      order[k] = swap;
+    }
+    StringBuilder csv = new StringBuilder();
+    for (int j : order) {
+      csv.append(j + 1).append(',').append(j).append('\n');
+      csv.append(j).append(',').append(j).append('\n');
+    }
+    CompactHyperGraph compact = HyperGraphReader.readEdgeList(write(csv.toString()), id -> id);
+    assertEquals(numHyperEdges + 1, compact.getNumVertices());
+    assertEquals(numHyperEdges, compact.getNumHyperEdges());
+    assertEquals(2 * numHyperEdges, compact.getNumIncidences());
+    for (int j = 0; j < numHyperEdges; j++) {
+      assertEquals(j + 1, compact.getHyperEdgeId(j));
+      assertEquals(2.0 * j + 3, compact.getHyperEdgeWeight(j), 1e-9);
+      PrimitiveIterator.OfInt members = compact.getHyperEdgeVertices(j);
+      assertEquals(j + 1, compact.getVertexId(members.nextInt()));
+      assertEquals(j + 2, compact.getVertexId(members.nextInt()));
+    }
+
+    csv.append("1,1\n");
+    assertThrows(
+        IOException.class, () -> HyperGraphReader.readEdgeList(write(csv.toString()), id -> 1.0));
+  }
+
+  private Path write(String content) throws IOException {
+    Path path = Files.createTempFile(directory, "hypergraph", ".txt");
+    Files.writeString(path, content, StandardCharsets.US_ASCII);
+    return path;
+  }
+
+  private static void assertSame(CompactHyperGraph expected, CompactHyperGraph actual) {
+    assertEquals(expected.getNumVertices(), actual.getNumVertices());
+    assertEquals(expected.getNumHyperEdges(), actual.getNumHyperEdges());
+    assertEquals(expected.getNumIncidences(), actual.getNumIncidences());
+    for (int i = 0; i < expected.getNumVertices(); i++) {
+      assertEquals(expected.getVertexId(i), actual.getVertexId(i));
+      assertEquals(expected.getVertexWeight(i), actual.getVertexWeight(i));
+    }
+    for (int j = 0; j < expected.getNumHyperEdges(); j++) {
+      assertEquals(expected.getHyperEdgeId(j), actual.getHyperEdgeId(j));
+      assertEquals(expected.getHyperEdgeWeight(j), actual.getHyperEdgeWeight(j), 1e-9);
+      assertArrayEquals(
+          toArray(expected.getHyperEdgeVertices(j)), toArray(actual.getHyperEdgeVertices(j)));
+    }
+  }
+
+  private static int[] toArray(PrimitiveIterator.OfInt iterator) {
+    IntStream.Builder builder = IntStream.builder();
+    iterator.forEachRemaining((int value) -> builder.add(value));
+    return builder.build().toArray();
+  }
+}
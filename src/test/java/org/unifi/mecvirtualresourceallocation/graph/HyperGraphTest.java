@@ -2,6 +2,8 @@ package org.unifi.mecvirtualresourceallocation.graph;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -11,17 +13,24 @@ import java.awt.Frame;
 import java.io.File;
 import java.lang.reflect.InvocationTargetException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 import org.fest.swing.fixture.FrameFixture;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
 import org.unifi.mecvirtualresourceallocation.graph.visualization.HyperGraphPanel;
 
 public class HyperGraphTest {
@@ -206,6 +215,214 @@ public class HyperGraphTest {
                 new HashSet<>(List.of(new HyperEdge("2")))));
   }
 
+  @Test
+  void testIncidentHyperEdges() {
+    Vertex v1 = new Vertex("1", 1);
+    Vertex v2 = new Vertex("2", 2);
+    Vertex v3 = new Vertex("3", 3);
+    HyperEdge e1 = hyperGraph.getHyperEdges().iterator().next();
+    assertEquals(List.of(e1), hyperGraph.getIncidentHyperEdges(v1));
+    assertEquals(1, hyperGraph.getDegree(v2));
+    assertEquals(0, hyperGraph.getDegree(v3));
+    assertTrue(hyperGraph.getIncidentHyperEdges(v3).isEmpty());
+
+    HyperEdge e2 = new HyperEdge("2", new HashSet<>(Arrays.asList(v2, v3)));
+    hyperGraph.addHyperEdge(e2);
+    assertEquals(List.of(e1), hyperGraph.getIncidentHyperEdges(v1));
+    assertEquals(List.of(e1, e2), hyperGraph.getIncidentHyperEdges(v2));
+    assertEquals(List.of(e2), hyperGraph.getIncidentHyperEdges(v3));
+    assertEquals(2, hyperGraph.getDegree(v2));
+    assertThrows(
+        UnsupportedOperationException.class, () -> hyperGraph.getIncidentHyperEdges(v2).clear());
+  }
+
+  @Test
+  void testValidateDuplicateIds() {
+    Vertex v1 = new Vertex("1", 1);
+    Vertex v2 = new Vertex("2", 2);
+    HyperEdge e1 = new HyperEdge("1", new HashSet<>(Collections.singletonList(v1)));
+    HyperEdge e2 = new HyperEdge("1", new HashSet<>(Collections.singletonList(v2)));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new HyperGraph(new HashSet<>(Arrays.asList(v1, v2)), Set.of(e1, e2)));
+  }
+
+  @Test
+  void testAddManyHyperEdges() {
+    Set<Vertex> manyVertices = new HashSet<>();
+    HyperGraph manyHyperEdges = new HyperGraph(manyVertices, new HashSet<>());
+    for (int i = 1; i <= 20000; i++) {
+      Vertex vertex = new Vertex(i, i);
+      Vertex next = new Vertex(i + 1, i + 1);
+      manyHyperEdges.addHyperEdge(new HyperEdge(i, new HashSet<>(Arrays.asList(vertex, next))));
+    }
+    assertEquals(20000, manyHyperEdges.getHyperEdges().size());
+    assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            manyHyperEdges.addHyperEdge(
+                new HyperEdge(
+                    20001, new HashSet<>(Arrays.asList(new Vertex(2, 2), new Vertex(3, 3))))));
+  }
+
+  @Test
+  void testRemoveHyperEdge() {
+    Vertex v3 = new Vertex(3, 3);
+    HyperEdge e2 = new HyperEdge(2, new HashSet<>(Arrays.asList(getVertex(2), v3)));
+    hyperGraph.addHyperEdge(e2);
+    HyperEdge e1 =
+        hyperGraph.getHyperEdges().stream().filter(e -> e.getIntId() == 1).findFirst().get();
+    assertEquals(2, hyperGraph.getConflictGraph().getVertices().size());
+
+    hyperGraph.removeHyperEdge(e1);
+    assertEquals(Set.of(e2), hyperGraph.getHyperEdges());
+    assertEquals(Set.of(getVertex(2), v3), hyperGraph.getVertices());
+    assertEquals(0, hyperGraph.getDegree(new Vertex(1, 1)));
+    assertEquals(List.of(e2), hyperGraph.getIncidentHyperEdges(v3));
+    assertEquals(Set.of(new Vertex(2, 5)), hyperGraph.getConflictGraph().getVertices());
+    assertThrows(IllegalArgumentException.class, () -> hyperGraph.removeHyperEdge(e1));
+
+    hyperGraph.addHyperEdge(new HyperEdge(3, new HashSet<>(Arrays.asList(new Vertex(1, 1), v3))));
+    assertEquals(3, hyperGraph.getVertices().size());
+  }
+
+  @Test
+  void testGetHyperEdgeFromId() {
+    HyperEdge e1 = edges.iterator().next();
+    assertSame(e1, hyperGraph.getHyperEdgeFromId(1));
+    assertNull(hyperGraph.getHyperEdgeFromId(2));
+    hyperGraph.removeHyperEdge(e1);
+    assertNull(hyperGraph.getHyperEdgeFromId(1));
+  }
+
+  @Test
+  void testRemoveVertex() {
+    Vertex v1 = getVertex(1);
+    Vertex v2 = getVertex(2);
+    Vertex v3 = new Vertex(3, 3);
+    HyperEdge e1 = edges.iterator().next();
+    HyperEdge e2 = new HyperEdge(2, new HashSet<>(Arrays.asList(v2, v3)));
+    HyperEdge e3 = new HyperEdge(3, new HashSet<>(Arrays.asList(v3)));
+    HyperEdge e4 = new HyperEdge(4, new HashSet<>(Arrays.asList(v1, v3)));
+    hyperGraph.addHyperEdge(e2);
+    hyperGraph.addHyperEdge(e3);
+    hyperGraph.addHyperEdge(e4);
+    ConflictGraph conflictGraph = hyperGraph.getConflictGraph();
+
+    assertEquals(List.of(e2), hyperGraph.removeVertex(new Vertex(2, 2)));
+    HyperEdge replacement = hyperGraph.getHyperEdgeFromId(1);
+    assertEquals(Set.of(v1, v3), hyperGraph.getVertices());
+    assertEquals(Set.of(replacement, e3, e4), hyperGraph.getHyperEdges());
+    assertEquals(Set.of(v1), replacement.getVertices());
+    assertEquals(new BigDecimal("1.0"), replacement.getWeight());
+    assertEquals(Set.of(v1, v2), e1.getVertices());
+    assertEquals(new BigDecimal("3.0"), e1.getWeight());
+    assertEquals(0, hyperGraph.getDegree(v2));
+
+    ConflictGraph expected = new ConflictGraphBuilder().build(hyperGraph);
+    assertTrue(conflictGraph == hyperGraph.getConflictGraph());
+    assertEquals(expected.getVertices(), conflictGraph.getVertices());
+    assertEquals(expected.getEdges(), conflictGraph.getEdges());
+    assertEquals(new BigDecimal("-1.0"), conflictGraph.getVertexFromId(1).getNegativeWeight());
+
+    assertEquals(Set.of(replacement, e4), new HashSet<>(hyperGraph.removeVertex(v1)));
+    assertEquals(Set.of(e3), hyperGraph.getHyperEdges());
+    assertEquals(Set.of(v3), hyperGraph.getVertices());
+    assertEquals(Set.of(new Vertex(3, 3)), conflictGraph.getVertices());
+    assertTrue(conflictGraph.getEdges().isEmpty());
+    assertThrows(IllegalArgumentException.class, () -> hyperGraph.removeVertex(v1));
+  }
+
+  @Test
+  void testRemovalsMatchRebuiltConflictGraph() {
+    Random random = new Random(42);
+    HyperGraph randomHyperGraph = HyperGraphGenerator.generateRandomHyperGraph(80, 3, random);
+    ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+    for (int round = 0; round < 20; round++) {
+      List<Vertex> vertexList = new ArrayList<>(randomHyperGraph.getVertices());
+      vertexList.sort(Comparator.comparingInt(Vertex::getIntId));
+      randomHyperGraph.removeVertex(vertexList.get(random.nextInt(vertexList.size())));
+      List<HyperEdge> hyperEdgeList = new ArrayList<>(randomHyperGraph.getHyperEdges());
+      hyperEdgeList.sort(Comparator.comparingInt(HyperEdge::getIntId));
+      randomHyperGraph.removeHyperEdge(hyperEdgeList.get(random.nextInt(hyperEdgeList.size())));
+
+      ConflictGraph expected = new ConflictGraphBuilder().build(randomHyperGraph);
+      assertEquals(expected.getEdges(), conflictGraph.getEdges());
+      for (Vertex vertex : expected.getVertices()) {
+        assertEquals(
+            vertex.getNegativeWeight(),
+            conflictGraph.getVertexFromId(vertex.getIntId()).getNegativeWeight());
+      }
+      assertEquals(expected.getVertices().size(), conflictGraph.getVertices().size());
+    }
+  }
+
+  @Test
+  void testAddHyperEdgePatchesConflictGraph() {
+    Random random = new Random(7);
+    HyperGraph randomHyperGraph = HyperGraphGenerator.generateRandomHyperGraph(60, 3, random);
+    ConflictGraph conflictGraph = randomHyperGraph.getConflictGraph();
+    List<Vertex> vertexList = new ArrayList<>(randomHyperGraph.getVertices());
+    vertexList.sort(Comparator.comparingInt(Vertex::getIntId));
+    for (int round = 0; round < 10; round++) {
+      Vertex newVertex = new Vertex(1000 + round, random.nextInt(10) + 1);
+      Vertex existing = vertexList.get(random.nextInt(vertexList.size()));
+      randomHyperGraph.addHyperEdge(
+          new HyperEdge(1000 + round, new HashSet<>(Arrays.asList(newVertex, existing))));
+    }
+
+    assertSame(conflictGraph, randomHyperGraph.getConflictGraph());
+    ConflictGraph expected = new ConflictGraphBuilder().build(randomHyperGraph);
+    assertEquals(expected.getVertices(), conflictGraph.getVertices());
+    assertEquals(expected.getEdges(), conflictGraph.getEdges());
+    assertEquals(expected.getAdjacencyIndex().size(), conflictGraph.getAdjacencyIndex().size());
+  }
+
+  @Test
+  void testConflictGraphIsReadOnly() throws Exception {
+    HyperGraph randomHyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(60, 3, new Random(11));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<ConflictGraph>> futures = new ArrayList<>();
+    try {
+      for (int i = 0; i < 8; i++) {
+        futures.add(executor.submit(() -> randomHyperGraph.getConflictGraph()));
+      }
+      ConflictGraph conflictGraph = futures.get(0).get();
+      for (Future<ConflictGraph> future : futures) {
+        assertSame(conflictGraph, future.get());
+      }
+
+      Vertex vertex = conflictGraph.getVertices().iterator().next();
+      assertThrows(
+          UnsupportedOperationException.class, () -> conflictGraph.addVertex(new Vertex(9999, 1)));
+      assertThrows(
+          UnsupportedOperationException.class, () -> conflictGraph.addEdge(vertex, vertex));
+      assertThrows(UnsupportedOperationException.class, () -> conflictGraph.removeVertex(vertex));
+      assertThrows(
+          UnsupportedOperationException.class,
+          () -> conflictGraph.getAdjacentVertices(vertex).clear());
+      assertThrows(UnsupportedOperationException.class, () -> conflictGraph.getEdges().clear());
+
+      ConflictGraph copy = new ConflictGraph(conflictGraph);
+      assertEquals(conflictGraph.getEdges(), copy.getEdges());
+      copy.removeVertex(copy.getVertexFromId(vertex.getIntId()));
+      assertEquals(conflictGraph.getVertices().size() - 1, copy.getVertices().size());
+      assertNotNull(conflictGraph.getVertexFromId(vertex.getIntId()));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private Vertex getVertex(int id) {
+    for (Vertex vertex : hyperGraph.getVertices()) {
+      if (vertex.getIntId() == id) {
+        return vertex;
+      }
+    }
+    return null;
+  }
+
   @Test
   void testValidateHyperEdgesWithSameVertices() {
     Vertex v3 = new Vertex("3", 3);
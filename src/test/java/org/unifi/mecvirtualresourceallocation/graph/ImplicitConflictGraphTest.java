@@ -0,0 +1,59 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class ImplicitConflictGraphTest {
+
+  @Test
+  public void testImplicitGraphMatchesMaterialisedGraph() {
+    Random rand = new Random(Evaluator.SEED);
+    for (int numVertices : new int[] {1, 5, 30, 120}) {
+      HyperGraph hyperGraph = HyperGraphGenerator.generateRandomHyperGraph(numVertices, 3, rand);
+      ConflictGraph expected = hyperGraph.getConflictGraph();
+      ImplicitConflictGraph actual = hyperGraph.getImplicitConflictGraph();
+
+      assertEquals(expected.getVertices(), actual.getVertices());
+      assertEquals(expected.getEdges(), actual.getEdges());
+      for (Vertex vertex1 : expected.getVertices()) {
+        assertEquals(vertex1, actual.getVertexFromId(vertex1.getId()));
+        assertEquals(expected.getAdjacentVertices(vertex1), actual.getAdjacentVertices(vertex1));
+        for (Vertex vertex2 : expected.getVertices()) {
+          assertEquals(
+              expected.areVerticesConnected(vertex1, vertex2),
+              actual.areVerticesConnected(vertex1, vertex2));
+        }
+      }
+
+      AdjacencyIndex expectedIndex = expected.getAdjacencyIndex();
+      AdjacencyIndex actualIndex = actual.getAdjacencyIndex();
+      assertEquals(expectedIndex.size(), actualIndex.size());
+      for (int i = 0; i < expectedIndex.size(); i++) {
+        assertEquals(expectedIndex.getVertex(i), actualIndex.getVertex(i));
+        assertArrayEquals(expectedIndex.getNeighbours(i), actualIndex.getNeighbours(i));
+      }
+    }
+  }
+
+  @Test
+  public void testImplicitGraphIsReadOnly() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(5, 3, new Random(Evaluator.SEED));
+    ImplicitConflictGraph conflictGraph = hyperGraph.getImplicitConflictGraph();
+    Vertex vertex = new Vertex("1000", 1.0);
+
+    assertNull(conflictGraph.getVertexFromId("1000"));
+    assertFalse(conflictGraph.areVerticesConnected(vertex, vertex));
+    assertEquals(0, conflictGraph.getAdjacentVertices(vertex).size());
+    assertThrows(UnsupportedOperationException.class, () -> conflictGraph.addVertex(vertex));
+    assertThrows(UnsupportedOperationException.class, () -> conflictGraph.addEdge(vertex, vertex));
+  }
+}
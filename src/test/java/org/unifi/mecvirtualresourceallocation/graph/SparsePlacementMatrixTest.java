@@ -0,0 +1,100 @@
+package org.unifi.mecvirtualresourceallocation.graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.unifi.mecvirtualresourceallocation.evaluation.Evaluator;
+import org.unifi.mecvirtualresourceallocation.evaluation.util.HyperGraphGenerator;
+
+public class SparsePlacementMatrixTest {
+
+  private final int[][] dense = {
+    {1, 0, 0},
+    {1, 1, 0},
+    {0, 0, 1},
+    {0, 1, 0}
+  };
+
+  @Test
+  public void testFromDense() {
+    SparsePlacementMatrix matrix = SparsePlacementMatrix.fromDense(dense);
+    assertEquals(4, matrix.getNumRows());
+    assertEquals(3, matrix.getNumColumns());
+    assertEquals(5, matrix.getNumNonZeros());
+    assertArrayEquals(new int[] {0, 2, 4, 5}, matrix.getColumnOffsets());
+    assertArrayEquals(new int[] {0, 1, 1, 3, 2}, matrix.getRowIndices());
+    assertArrayEquals(new int[] {0, 0, 1, 1, 2}, matrix.getColumnCoordinates());
+    assertTrue(matrix.get(3, 1));
+    assertFalse(matrix.get(3, 0));
+    assertArrayEquals(dense, matrix.toDense());
+  }
+
+  @Test
+  public void testFromCoordinates() {
+    SparsePlacementMatrix matrix =
+        SparsePlacementMatrix.fromCoordinates(
+            4, 3, new int[] {2, 3, 0, 1, 1}, new int[] {2, 1, 0, 1, 0});
+    assertEquals(SparsePlacementMatrix.fromDense(dense), matrix);
+    assertEquals(
+        matrix,
+        SparsePlacementMatrix.fromColumns(4, matrix.getColumnOffsets(), matrix.getRowIndices()));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SparsePlacementMatrix.fromCoordinates(4, 3, new int[] {1, 1}, new int[] {0, 0}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SparsePlacementMatrix.fromCoordinates(4, 3, new int[] {4}, new int[] {0}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SparsePlacementMatrix.fromColumns(4, new int[] {0, 2}, new int[] {1, 0}));
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> SparsePlacementMatrix.fromDense(new int[][] {{0, 2}}));
+  }
+
+  @Test
+  public void testBitPackedConversion() {
+    SparsePlacementMatrix matrix = SparsePlacementMatrix.fromDense(dense);
+    BitPackedPlacementMatrix bitPacked = matrix.toBitPacked();
+    assertEquals(BitPackedPlacementMatrix.fromDense(dense), bitPacked);
+    assertEquals(5, bitPacked.getNumNonZeros());
+    assertArrayEquals(dense, bitPacked.toDense());
+    assertEquals(matrix, bitPacked.toSparse());
+  }
+
+  @Test
+  public void testHyperGraphRoundTrip() {
+    HyperGraph hyperGraph =
+        HyperGraphGenerator.generateRandomHyperGraph(150, 3, new Random(Evaluator.SEED));
+    SparsePlacementMatrix sparse = hyperGraph.getSparsePlacementMatrix();
+    BitPackedPlacementMatrix bitPacked = hyperGraph.getBitPackedPlacementMatrix();
+    assertArrayEquals(hyperGraph.getPlacementMatrix(), sparse.toDense());
+    assertEquals(sparse, bitPacked.toSparse());
+
+    double[] weights = new double[sparse.getNumRows()];
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = hyperGraph.getVertices().size() - i;
+    }
+    HyperGraph fromDense = new HyperGraph(sparse.toDense(), weights);
+    HyperGraph fromSparse = new HyperGraph(sparse, weights);
+    HyperGraph fromBitPacked = new HyperGraph(bitPacked, weights);
+    assertEquals(sparse, fromSparse.getSparsePlacementMatrix());
+    assertEquals(fromDense.getConflictGraph().getEdges(), fromSparse.getConflictGraph().getEdges());
+    assertEquals(
+        fromDense.getConflictGraph().getEdges(), fromBitPacked.getConflictGraph().getEdges());
+    assertThrows(IllegalArgumentException.class, () -> new HyperGraph(sparse, new double[] {1.0}));
+
+    CompactHyperGraph compact = CompactHyperGraph.fromPlacementMatrix(sparse, weights);
+    CompactHyperGraph expected = CompactHyperGraph.fromPlacementMatrix(sparse.toDense(), weights);
+    assertEquals(expected.getNumIncidences(), compact.getNumIncidences());
+    for (int j = 0; j < expected.getNumHyperEdges(); j++) {
+      assertEquals(expected.getHyperEdgeWeight(j), compact.getHyperEdgeWeight(j));
+      assertEquals(expected.getHyperEdgeSize(j), compact.getHyperEdgeSize(j));
+    }
+  }
+}
@@ -42,6 +42,34 @@ public class VertexTest {
     assertThrows(IllegalArgumentException.class, () -> new Vertex("test", BigDecimal.valueOf(1.0)));
   }
 
+  @Test
+  void testIntId() {
+    Vertex vertex2 = new Vertex(12, 1.0);
+    assertEquals(12, vertex2.getIntId());
+    assertEquals("12", vertex2.getId());
+    assertEquals(new Vertex("12", 2.0), vertex2);
+    assertEquals(new Vertex("12", 2.0).hashCode(), vertex2.hashCode());
+    assertThrows(IllegalArgumentException.class, () -> new Vertex(0, 1.0));
+    assertThrows(IllegalArgumentException.class, () -> new Vertex("", 1.0));
+    assertThrows(IllegalArgumentException.class, () -> new Vertex("2147483648", 1.0));
+    assertThrows(IllegalArgumentException.class, () -> vertex.setId("x"));
+    assertEquals(Integer.MAX_VALUE, new Vertex("2147483647", 1.0).getIntId());
+  }
+
+  @Test
+  void testLeadingZerosAreNormalized() {
+    Vertex padded = new Vertex("007", 1.0);
+    assertEquals(new Vertex("7", 1.0), padded);
+    assertEquals("7", padded.getId());
+    assertEquals(new Vertex("7", 1.0).toString(), padded.toString());
+    assertEquals(1, new Vertex("00000000001", 1.0).getIntId());
+    assertEquals(Integer.MAX_VALUE, new Vertex("0002147483647", 1.0).getIntId());
+    assertThrows(IllegalArgumentException.class, () -> new Vertex("000", 1.0));
+    assertThrows(IllegalArgumentException.class, () -> new Vertex("0002147483648", 1.0));
+    padded.setId("042");
+    assertEquals("42", padded.getId());
+  }
+
   @Test
   public void testGetId() {
     assertEquals(id, vertex.getId());